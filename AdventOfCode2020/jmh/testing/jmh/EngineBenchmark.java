@@ -0,0 +1,78 @@
+package testing.jmh;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import day15.MemoryGame;
+import day17.CubeAutomaton;
+import day23.CupGame;
+import utils.IO;
+
+/**
+ * <p>JMH benchmarks of the puzzle engines behind the solvers, at sizes beyond those of the puzzles: day 15's {@link MemoryGame} for a number of
+ * turns, day 23's {@link CupGame} with a number of cups and ten moves per cup, and day 17's {@link CubeAutomaton} in a number of dimensions. Each
+ * starts from that day's real input. Run with {@code gradle jmh -Pjmh.includes=EngineBenchmark}.</p>
+ * @author Sam Hooper
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineBenchmark {
+
+	@State(Scope.Thread)
+	public static class MemoryGameInput {
+
+		@Param({"2020", "3000000", "30000000"})
+		public int turns;
+
+		final int[] seed = Arrays.stream(day15.Solution.INPUT.split(",")).mapToInt(Integer::parseInt).toArray();
+		/** Reused between invocations, as a solver would, so that the table is only allocated once. */
+		final MemoryGame game = new MemoryGame();
+
+	}
+
+	@State(Scope.Benchmark)
+	public static class CupGameInput {
+
+		@Param({"9", "100000", "1000000"})
+		public int cups;
+
+		final int[] labels = day23.SolutionPart2.INPUT.chars().map(c -> Character.digit(c, 10)).toArray();
+
+	}
+
+	@State(Scope.Benchmark)
+	public static class CubeAutomatonInput {
+
+		@Param({"3", "4", "5"})
+		public int dimensions;
+
+		final char[][] slice = IO.chars("src/day17/input.txt");
+
+	}
+
+	@Benchmark
+	public int memoryGame(final MemoryGameInput input) {
+		return input.game.nth(input.seed, input.turns);
+	}
+
+	@Benchmark
+	public long cupGame(final CupGameInput input) {
+		final CupGame game = new CupGame(input.labels, input.cups);
+		game.play(10L * input.cups);
+		return (long) game.after(1) * game.after(game.after(1));
+	}
+
+	@Benchmark
+	public long cubeAutomaton(final CubeAutomatonInput input) {
+		final CubeAutomaton automaton = CubeAutomaton.fromSlice(input.slice, day17.Solution.ACTIVE, input.dimensions);
+		automaton.run(day17.Solution.ITERATIONS);
+		return automaton.activeCount();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package testing.jmh;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.MatchResult;
+import java.util.stream.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import utils.*;
+import utils.colls.IntList;
+import utils.math.Maths;
+
+/**
+ * <p>JMH benchmarks of the number scanner in {@link Parsing} against the regular-expression implementation it replaced, on a generated text of
+ * numbers mixed with signs, separators, and out-of-range runs. Before a trial, every method is checked to produce exactly the same numbers as its
+ * regular-expression counterpart. Run with {@code gradle jmh -Pjmh.includes=ParsingBenchmark}.</p>
+ * @author Sam Hooper
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParsingBenchmark {
+
+	private static final long SEED = 2020;
+
+	@State(Scope.Benchmark)
+	public static class Text {
+
+		@Param({"10"})
+		public int megabytes;
+
+		String text;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			text = generate(megabytes << 20);
+		}
+
+	}
+
+	@State(Scope.Benchmark)
+	public static class Method {
+
+		@Param({"ints", "positiveints", "longs", "positivelongs"})
+		public String method;
+
+		@Param({"scanner", "regex"})
+		public String implementation;
+
+		Function<String, IntStream> numbers;
+
+		@Setup(Level.Trial)
+		public void setUp(final Text text) {
+			final Function<String, IntStream> scanner, regex;
+			switch(method) {
+				case "ints" -> {
+					scanner = Parsing::ints;
+					regex = ParsingBenchmark::regexInts;
+				}
+				case "positiveints" -> {
+					scanner = Parsing::positiveints;
+					regex = ParsingBenchmark::regexPositiveInts;
+				}
+				case "longs" -> {
+					scanner = s -> hashed(Parsing.longs(s));
+					regex = s -> hashed(regexLongs(s));
+				}
+				case "positivelongs" -> {
+					scanner = s -> hashed(Parsing.positivelongs(s));
+					regex = s -> hashed(regexPositiveLongs(s));
+				}
+				default -> throw new IllegalArgumentException("Unknown method: " + method);
+			}
+			if(summarize(scanner.apply(text.text)) != summarize(regex.apply(text.text)))
+				throw new IllegalStateException("The scanner and the regular expressions disagree on " + method);
+			numbers = implementation.equals("regex") ? regex : scanner;
+		}
+
+	}
+
+	/** Returns roughly {@code length} characters of numbers of every size, separated by spaces, commas, dashes, and letters. */
+	private static String generate(final int length) {
+		final Random random = new Random(SEED);
+		final String[] separators = {" ", ", ", "-", "\n", "x", " -", "--", "abc"};
+		final StringBuilder sb = new StringBuilder(length + 32);
+		while(sb.length() < length) {
+			sb.append(separators[random.nextInt(separators.length)]);
+			switch(random.nextInt(4)) {
+				case 0 -> sb.append(random.nextInt(1000));
+				case 1 -> sb.append(random.nextInt());
+				case 2 -> sb.append(random.nextLong() >>> random.nextInt(64));
+				default -> sb.append(Long.MAX_VALUE).append(random.nextInt(10)); //overflows a long.
+			}
+		}
+		return sb.toString();
+	}
+
+	@Benchmark
+	public long numbers(final Text text, final Method method) {
+		return summarize(method.numbers.apply(text.text));
+	}
+
+	@Benchmark
+	public int intsIntoList(final Text text) {
+		final IntList list = new IntList();
+		Parsing.ints(text.text, list);
+		return list.size();
+	}
+
+	/** Returns the count and a hash of the stream's elements, packed into one {@code long}. */
+	private static long summarize(final IntStream stream) {
+		final int[] result = new int[2];
+		stream.forEachOrdered(i -> {
+			result[0]++;
+			result[1] = 31 * result[1] + i;
+		});
+		return (long) result[0] << 32 | result[1] & 0xFFFFFFFFL;
+	}
+
+	private static IntStream hashed(final LongStream longs) {
+		return longs.mapToInt(l -> (int) (l ^ l >>> 32));
+	}
+
+	private static IntStream regexInts(String input) {
+		return Regex.INTEGERS.matcher(input).results().map(MatchResult::group).filter(Maths::isint).mapToInt(Integer::parseInt);
+	}
+
+	private static IntStream regexPositiveInts(String input) {
+		return Regex.DIGITS.matcher(input).results().map(MatchResult::group).filter(Maths::isint).mapToInt(Integer::parseInt);
+	}
+
+	private static LongStream regexLongs(String input) {
+		return Regex.INTEGERS.matcher(input).results().map(MatchResult::group).filter(Maths::islong).mapToLong(Long::parseLong);
+	}
+
+	private static LongStream regexPositiveLongs(String input) {
+		return Regex.DIGITS.matcher(input).results().map(MatchResult::group).filter(Maths::islong).mapToLong(Long::parseLong);
+	}
+
+}
\ No newline at end of file
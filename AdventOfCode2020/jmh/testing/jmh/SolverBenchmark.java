@@ -0,0 +1,126 @@
+package testing.jmh;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import testing.SolverRunner;
+import testing.generators.Generate;
+import utils.Solver;
+
+/**
+ * <p>JMH benchmarks of every day's {@link Solver}. Constructing a solver (reading and parsing its input), solving Part 1, and solving Part 2 are
+ * measured separately: each part is solved by a fresh solver created, untimed, just before the invocation, and Part 2's solver has already solved
+ * Part 1, just as in {@link Solver#printAnswers(Solver)}. Run with {@code gradle jmh}, which also attaches the GC profiler.</p>
+ * <p>An {@link #input} of {@code "dayN"} uses the real input in {@code src/dayN/input.txt}. Any other input is a {@link Generate} command line,
+ * such as {@code "day20 48 48"}, whose output is written to a temporary file once per trial.</p>
+ * @author Sam Hooper
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+	
+	/** The constructors that read a solver's input from a given file, for the days that {@link Generate} can generate inputs for. */
+	private static final Map<String, Function<String, Solver>> FROM_FILE = Map.of(
+		"day1", day1.Solution::new,
+		"day7", day7.Solution::new,
+		"day8", day8.Solution::new,
+		"day11", day11.Solution::new,
+		"day20", day20.Solution::new,
+		"day24", day24.Solution::new
+	);
+	
+	@State(Scope.Benchmark)
+	public static class Input {
+		
+		@Param({
+			"day1", "day2", "day3", "day4", "day5", "day6", "day7", "day8", "day9", "day10", "day11", "day12", "day13", "day14", "day15", "day16",
+			"day17", "day18", "day19", "day20", "day21", "day22", "day23", "day24", "day25",
+			"day1 1000", "day1 20000",
+			"day7 1000", "day7 20000",
+			"day8 10000", "day8 1000000",
+			"day11 100 100", "day11 400 400",
+			"day20 24 24", "day20 48 48",
+			"day24 1000 10 30", "day24 20000 10 30",
+		})
+		public String input;
+		
+		Supplier<Solver> factory;
+		private Path file;
+		
+		@Setup(Level.Trial)
+		public void setUp() throws IOException {
+			final String[] words = input.split(" ");
+			if(words.length == 1) {
+				factory = SolverRunner.solvers().get(Integer.parseInt(input.substring("day".length())));
+				if(factory == null)
+					throw new IllegalStateException("No solver for " + input);
+				return;
+			}
+			final Function<String, Solver> constructor = FROM_FILE.get(words[0]);
+			if(constructor == null)
+				throw new IllegalArgumentException("No solver reads a generated input for " + words[0]);
+			final String[] lines = Generate.generate(words[0], Arrays.asList(words).subList(1, words.length), Generate.DEFAULT_SEED);
+			file = Files.createTempFile(words[0], ".txt");
+			Files.writeString(file, String.join("\n", lines));
+			final String path = file.toString();
+			factory = () -> constructor.apply(path);
+		}
+		
+		@TearDown(Level.Trial)
+		public void tearDown() throws IOException {
+			if(file != null)
+				Files.delete(file);
+		}
+		
+	}
+	
+	@State(Scope.Thread)
+	public static class Fresh {
+		
+		Solver solver;
+		
+		@Setup(Level.Invocation)
+		public void setUp(final Input input) {
+			solver = input.factory.get();
+		}
+		
+	}
+	
+	@State(Scope.Thread)
+	public static class AfterPart1 {
+		
+		Solver solver;
+		
+		@Setup(Level.Invocation)
+		public void setUp(final Input input) {
+			solver = input.factory.get();
+			solver.part1();
+		}
+		
+	}
+	
+	@Benchmark
+	public Solver construct(final Input input) {
+		return input.factory.get();
+	}
+	
+	@Benchmark
+	public Object part1(final Fresh fresh) {
+		return fresh.solver.part1();
+	}
+	
+	@Benchmark
+	public Object part2(final AfterPart1 afterPart1) {
+		return afterPart1.solver.part2();
+	}
+	
+}
\ No newline at end of file
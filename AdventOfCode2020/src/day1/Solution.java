@@ -7,22 +7,45 @@ import utils.*;
  * @author Sam Hooper
  *
  */
-public class Solution {
+public class Solution implements Solver {
 	
+	static final String INPUT = "src/day1/input.txt";
 	private static final int SUM_TARGET = 2020;
 
 	public static void main(String[] args) {
-		int[] expenses = IO.lines("src/day1/input.txt").mapToInt(Integer::parseInt).toArray();
-		solvePart1(expenses);
-		solvePart2(expenses);
+		Solver.printAnswers(new Solution());
 	}
-
-	private static void solvePart1(int[] expenses) {
-		System.out.println(Arrs.sum2ToTarget(expenses, SUM_TARGET).productAsLong());
+	
+	private final int[] expenses;
+	
+	public Solution() {
+		this(INPUT);
+	}
+	
+	public Solution(final String inputFile) {
+		expenses = IO.ints(inputFile).toArray();
+	}
+	
+	@Override
+	public int day() {
+		return 1;
+	}
+	
+	@Override
+	public Object part1() {
+		return product(KSum.find(expenses, 2, SUM_TARGET));
+	}
+	
+	@Override
+	public Object part2() {
+		return product(KSum.find(expenses, 3, SUM_TARGET));
 	}
 	
-	private static void solvePart2(int[] expenses) {
-		System.out.println(Arrs.sum3ToTarget(expenses, SUM_TARGET).asLongStream().reduce((a, b) -> a * b).getAsLong());
+	private static long product(final int[] entries) {
+		long product = 1;
+		for(int entry : entries)
+			product *= entry;
+		return product;
 	}
 	
 }
\ No newline at end of file
@@ -1,8 +1,5 @@
 package day10;
 
-import java.util.*;
-import java.util.stream.*;
-
 import utils.*;
 
 /**
@@ -10,37 +7,43 @@ import utils.*;
  * @author Sam Hooper
  *
  */
-public class Solution {
+public class Solution implements Solver {
 	
 	public static void main(String[] args) {
-		List<Integer> adapters = IO.lines("src/day10/input.txt").map(Integer::parseInt).sorted().collect(Collectors.toList());
-		adapters.add(0, 0); adapters.add(adapters.get(adapters.size() - 1) + 3);
-		int[] adaptersSorted = adapters.stream().mapToInt(Integer::intValue).toArray();
-		solvePart1(adaptersSorted);
-		solvePart2(adaptersSorted);
+		Solver.printAnswers(new Solution());
 	}
 	
-	private static void solvePart1(final int[] adaptersSorted) {
-		final int[] diffs = Arrs.diffs(adaptersSorted);
-		System.out.println(Arrs.count(diffs, 1) * Arrs.count(diffs, 3));
+	/** Includes the outlet (0) and the device (3 more than the largest adapter). */
+	private final int[] adaptersSorted;
+	
+	public Solution() {
+		int[] adapters = IO.ints("src/day10/input.txt").sorted().toArray();
+		adaptersSorted = new int[adapters.length + 2];
+		System.arraycopy(adapters, 0, adaptersSorted, 1, adapters.length);
+		adaptersSorted[adaptersSorted.length - 1] = adaptersSorted[adaptersSorted.length - 2] + 3;
 	}
 	
-	private static void solvePart2(final int[] adaptersSorted) {
-		Map<Integer, Long> totals = new HashMap<>();
-		totals.put(adaptersSorted[adaptersSorted.length - 1], 1L);
-		for(int i = adaptersSorted.length - 2; i >= 0; i--) {
-			long total = 0L;
-			inner:
-			for(int j = i + 1; j <= i + 3 && j < adaptersSorted.length; j++) {
-				int diff = adaptersSorted[j] - adaptersSorted[i];
-				if(diff <= 3)
-					total += totals.get(adaptersSorted[j]);
-				else break inner;
-			}
-			totals.put(adaptersSorted[i], total);
-		}
-		System.out.println(totals.get(0));
+	@Override
+	public int day() {
+		return 10;
 	}
 	
+	@Override
+	public Object part1() {
+		final int[] diffs = Arrs.diffs(adaptersSorted);
+		return Arrs.count(diffs, 1) * Arrs.count(diffs, 3);
+	}
+	
+	/** Counts the arrangements from each adapter to the device, from the device down to the outlet. The adapters are sorted, so every adapter
+	 * that can be plugged into adapter {@code i} comes after it, and its count is already known. */
+	@Override
+	public Object part2() {
+		final long[] arrangements = new long[adaptersSorted.length];
+		arrangements[adaptersSorted.length - 1] = 1;
+		for(int i = adaptersSorted.length - 2; i >= 0; i--)
+			for(int j = i + 1; j < adaptersSorted.length && adaptersSorted[j] - adaptersSorted[i] <= 3; j++)
+				arrangements[i] += arrangements[j];
+		return arrangements[0];
+	}
 	
 }
@@ -0,0 +1,213 @@
+package day11;
+
+import java.util.Arrays;
+
+/**
+ * <p>Simulates the ferry's seating area until it stops changing. Floor tiles are discarded up front: seats are numbered in row-major order, the
+ * neighbors each seat looks at under the chosen {@link Rules} are computed once and stored in compressed-sparse-row form, and the occupancy of
+ * the seats is a bitset of one bit per seat. Two bitsets are allocated and swapped between generations, and a generation reports whether any
+ * word changed, so reaching equilibrium needs no grid copies or deep comparisons.</p>
+ * @author Sam Hooper
+ *
+ */
+public class SeatingSimulation {
+
+	/** The two rule sets from the puzzle. */
+	public enum Rules {
+		/** Part 1: a seat looks at the (up to eight) seats adjacent to it, and an occupied seat is vacated if four or more of them are occupied. */
+		ADJACENT(4, true),
+		/** Part 2: a seat looks at the first seat visible in each of the eight directions, and an occupied seat is vacated if five or more of them
+		 * are occupied. */
+		VISIBLE(5, false);
+
+		private final int crowdedThreshold;
+		private final boolean adjacentOnly;
+
+		Rules(final int crowdedThreshold, final boolean adjacentOnly) {
+			this.crowdedThreshold = crowdedThreshold;
+			this.adjacentOnly = adjacentOnly;
+		}
+	}
+
+	public static final char FLOOR = '.', EMPTY = 'L', OCCUPIED = '#';
+
+	/**
+	 * <p>Runs one simulation per element of {@code rules}, concurrently, and returns the number of occupied seats each one settles on, in the same
+	 * order as {@code rules}.</p>
+	 * <p>Each simulation runs for at most {@link #maxGenerations(char[][])} generations.</p>
+	 * @throws IllegalStateException if some simulation does not stabilize in that many generations.
+	 */
+	public static int[] stableOccupiedCounts(final char[][] map, final Rules... rules) {
+		final int maxGenerations = maxGenerations(map);
+		return Arrays.stream(rules).parallel().mapToInt(r -> new SeatingSimulation(map, r).runUntilStable(maxGenerations)).toArray();
+	}
+
+	/** Returns the most generations that {@link #stableOccupiedCounts(char[][], Rules...)} simulates {@code map} for. Seatings that stabilize at all
+	 * (the puzzle input settles in under a hundred generations, and a random 1000 by 1000 map in under a thousand) do so well within the map's
+	 * height plus its width, so a seating still changing after this many generations is taken to oscillate forever. */
+	private static int maxGenerations(final char[][] map) {
+		return map.length + (map.length == 0 ? 0 : map[0].length) + 100;
+	}
+
+	private final int crowdedThreshold;
+	/** The neighbors of seat {@code i} are {@code neighbors[neighborStart[i]]} (inclusive) through {@code neighbors[neighborStart[i + 1]]} (exclusive). */
+	private final int[] neighborStart, neighbors;
+	private final int seatCount;
+	private long[] occupied, next;
+	private int generation;
+
+	/**
+	 * @throws IllegalArgumentException if {@code map} contains a character other than {@link #FLOOR}, {@link #EMPTY}, or {@link #OCCUPIED}, or if its
+	 * rows do not all have the same length.
+	 */
+	public SeatingSimulation(final char[][] map, final Rules rules) {
+		this.crowdedThreshold = rules.crowdedThreshold;
+		final int rows = map.length, cols = rows == 0 ? 0 : map[0].length;
+		final int[][] seatIndex = new int[rows][cols];
+		int seats = 0;
+		for(int r = 0; r < rows; r++) {
+			if(map[r].length != cols)
+				throw new IllegalArgumentException("All rows must have the same length");
+			for(int c = 0; c < cols; c++) {
+				final char ch = map[r][c];
+				if(ch != FLOOR && ch != EMPTY && ch != OCCUPIED)
+					throw new IllegalArgumentException("Unknown tile: '" + ch + "'");
+				seatIndex[r][c] = ch == FLOOR ? -1 : seats++;
+			}
+		}
+		this.seatCount = seats;
+		this.occupied = new long[(seats + 63) >>> 6];
+		this.next = new long[occupied.length];
+		for(int r = 0; r < rows; r++)
+			for(int c = 0; c < cols; c++)
+				if(map[r][c] == OCCUPIED)
+					occupied[seatIndex[r][c] >>> 6] |= 1L << seatIndex[r][c];
+
+		final int[][] edges = neighborEdges(seatIndex, rows, cols, rules.adjacentOnly);
+		final int edgeCount = edges[2][0];
+		this.neighborStart = new int[seats + 1];
+		for(int e = 0; e < edgeCount; e++) {
+			neighborStart[edges[0][e] + 1]++;
+			neighborStart[edges[1][e] + 1]++;
+		}
+		for(int i = 0; i < seats; i++)
+			neighborStart[i + 1] += neighborStart[i];
+		this.neighbors = new int[neighborStart[seats]];
+		final int[] fill = Arrays.copyOf(neighborStart, seats);
+		for(int e = 0; e < edgeCount; e++) {
+			final int a = edges[0][e], b = edges[1][e];
+			neighbors[fill[a]++] = b;
+			neighbors[fill[b]++] = a;
+		}
+	}
+
+	/**
+	 * <p>Finds every pair of seats that see each other, in a single pass over the grid. For each of the four line orientations (row, column,
+	 * diagonal, and anti-diagonal) the most recent seat on each line is remembered; a newly found seat sees that seat, which is the first one visible
+	 * in the opposite direction. If {@code adjacentOnly}, the pair is only kept if the two cells touch.</p>
+	 * @return the two endpoints of every edge in the first two arrays, and the number of edges as the sole element of the third.
+	 */
+	private static int[][] neighborEdges(final int[][] seatIndex, final int rows, final int cols, final boolean adjacentOnly) {
+		int[] from = new int[16], to = new int[16];
+		int edgeCount = 0;
+		final int[] lastInCol = new int[cols], lastInDiagonal = new int[rows + cols], lastInAntiDiagonal = new int[rows + cols];
+		final int[] lastRowInCol = new int[cols], lastRowInDiagonal = new int[rows + cols], lastRowInAntiDiagonal = new int[rows + cols];
+		Arrays.fill(lastInCol, -1);
+		Arrays.fill(lastInDiagonal, -1);
+		Arrays.fill(lastInAntiDiagonal, -1);
+		for(int r = 0; r < rows; r++) {
+			int lastInRow = -1, lastColInRow = 0;
+			for(int c = 0; c < cols; c++) {
+				final int seat = seatIndex[r][c];
+				if(seat < 0)
+					continue;
+				final int diagonal = c - r + rows - 1, antiDiagonal = r + c;
+				if(edgeCount + 4 > from.length) {
+					from = Arrays.copyOf(from, from.length << 1);
+					to = Arrays.copyOf(to, to.length << 1);
+				}
+				if(lastInRow >= 0 && (!adjacentOnly || lastColInRow == c - 1)) {
+					from[edgeCount] = lastInRow;
+					to[edgeCount++] = seat;
+				}
+				if(lastInCol[c] >= 0 && (!adjacentOnly || lastRowInCol[c] == r - 1)) {
+					from[edgeCount] = lastInCol[c];
+					to[edgeCount++] = seat;
+				}
+				if(lastInDiagonal[diagonal] >= 0 && (!adjacentOnly || lastRowInDiagonal[diagonal] == r - 1)) {
+					from[edgeCount] = lastInDiagonal[diagonal];
+					to[edgeCount++] = seat;
+				}
+				if(lastInAntiDiagonal[antiDiagonal] >= 0 && (!adjacentOnly || lastRowInAntiDiagonal[antiDiagonal] == r - 1)) {
+					from[edgeCount] = lastInAntiDiagonal[antiDiagonal];
+					to[edgeCount++] = seat;
+				}
+				lastInRow = seat;
+				lastColInRow = c;
+				lastInCol[c] = lastInDiagonal[diagonal] = lastInAntiDiagonal[antiDiagonal] = seat;
+				lastRowInCol[c] = lastRowInDiagonal[diagonal] = lastRowInAntiDiagonal[antiDiagonal] = r;
+			}
+		}
+		return new int[][] {from, to, {edgeCount}};
+	}
+
+	/** Advances the simulation by one generation. Returns {@code true} if any seat changed, {@code false} if the seating has stabilized. */
+	public boolean step() {
+		final long[] occupied = this.occupied, next = this.next;
+		final int[] neighborStart = this.neighborStart, neighbors = this.neighbors;
+		boolean dirty = false;
+		for(int word = 0, seat = 0; word < occupied.length; word++) {
+			final long current = occupied[word];
+			long updated = 0;
+			for(int end = Math.min(seatCount, seat + 64); seat < end; seat++) {
+				int count = 0;
+				for(int k = neighborStart[seat], stop = neighborStart[seat + 1]; k < stop; k++) {
+					final int n = neighbors[k];
+					count += (int) (occupied[n >>> 6] >>> n) & 1;
+				}
+				final boolean isOccupied = (current & (1L << seat)) != 0;
+				if(isOccupied ? count < crowdedThreshold : count == 0)
+					updated |= 1L << seat;
+			}
+			next[word] = updated;
+			dirty |= updated != current;
+		}
+		this.occupied = next;
+		this.next = occupied;
+		generation++;
+		return dirty;
+	}
+
+	/** Advances the simulation until a generation changes nothing, then returns the number of occupied seats. Some seat maps (though not the puzzle
+	 * inputs) oscillate forever, in which case this method never returns; see {@link #runUntilStable(int)}. */
+	public int runUntilStable() {
+		while(step());
+		return occupiedCount();
+	}
+	
+	/** Advances the simulation until a generation changes nothing, then returns the number of occupied seats.
+	 * @throws IllegalStateException if the seating has not stabilized after {@code maxGenerations} more generations. */
+	public int runUntilStable(final int maxGenerations) {
+		for(int i = 0; i < maxGenerations; i++)
+			if(!step())
+				return occupiedCount();
+		throw new IllegalStateException("The seating did not stabilize within " + maxGenerations + " generations");
+	}
+
+	public int occupiedCount() {
+		int count = 0;
+		for(long word : occupied)
+			count += Long.bitCount(word);
+		return count;
+	}
+
+	/** Returns the number of generations that have been simulated, including the final one that changed nothing. */
+	public int generation() {
+		return generation;
+	}
+
+	public int seatCount() {
+		return seatCount;
+	}
+
+}
\ No newline at end of file
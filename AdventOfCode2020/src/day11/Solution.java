@@ -1,102 +1,47 @@
 package day11;
 
-import java.util.Arrays;
-import java.util.function.UnaryOperator;
-
+import day11.SeatingSimulation.Rules;
 import utils.*;
-import utils.function.OptionalChar;
 
 /**
- * <p>Correct answers are 2211 (Part 1) and 1995 (Part 2).</p>
+ * <p>Correct answers are 2211 (Part 1) and 1995 (Part 2). Both parts are simulated concurrently by {@link SeatingSimulation}.</p>
  * @author Sam Hooper
  *
  */
-public class Solution {
+public class Solution implements Solver {
 	
-	private static final char FLOOR = '.', EMPTY = 'L', OCCUPIED = '#';
+	static final String INPUT = "src/day11/input.txt";
 	
 	public static void main(String[] args) {
-		char[][] map = IO.chars("src/day11/input.txt");
-		solvePart1(map);
-		solvePart2(map);
-	}
-
-	
-	private static void solvePart1(char[][] map) {
-		System.out.println(Dimensions.countSatisfyingChars(firstDiff(map, Solution::applied_1), Solution::isOccupied));
-	}
-	
-	private static void solvePart2(char[][] map) {
-		System.out.println(Dimensions.countSatisfyingChars(firstDiff(map, Solution::applied_2), Solution::isOccupied));
-	}
-	
-	private static char[][] firstDiff(char[][] map, UnaryOperator<char[][]> applyFunction) {
-		while(true) {
-			char[][] applied = applyFunction.apply(map);
-			if(Arrays.deepEquals(applied, map))
-				return applied;
-			map = applied;
-		}
+		Solver.printAnswers(new Solution());
 	}
 	
-	private static char[][] applied_1(char[][] map) {
-		char[][] copy = new char[map.length][map[0].length];
-		Basics.for2D(map, (r, c) -> {
-			int occ = adjacentOccupied(map, r, c);
-			if(isEmpty(map[r][c]))
-				copy[r][c] = occ == 0 ? OCCUPIED : EMPTY;
-			else if(isOccupied(map[r][c]))
-				copy[r][c] = occ >= 4 ? EMPTY : OCCUPIED;
-			else
-				copy[r][c] = FLOOR;
-		});
-		return copy;
-	}
-	
-	
-	
-	private static char[][] applied_2(char[][] map) {
-		char[][] copy = new char[map.length][map[0].length];
-		Basics.for2D(map, (r, c) -> {
-			int occ = visibleOccupied(map, r, c);
-			if(isEmpty(map[r][c]))
-				copy[r][c] = occ == 0 ? OCCUPIED : EMPTY;
-			else if(isOccupied(map[r][c]))
-				copy[r][c] = occ >= 5 ? EMPTY : OCCUPIED;
-			else
-				copy[r][c] = FLOOR;
-		});
-		return copy;
-	}
-	
-	private static int adjacentOccupied(final char[][] map, int row, int col) {
-		return Grids.count8Adjacent(map, row, col, Solution::isOccupied);
-	}
+	private final char[][] map;
+	private int[] stableCounts;
 	
-	private static int visibleOccupied(final char[][] map, int row, int col) {
-		int count = 0;
-		for(int[] adj : Grids.ADJACENT_8) {
-			final OptionalChar seat = Grids.deltaFirst(map, row, col, adj[0], adj[1], Solution::isSeat);
-			if(seat.isPresent() && isOccupied(seat.getAsChar()))
-				count++;
-		}
-		return count;
+	public Solution() {
+		this(INPUT);
 	}
 	
-	private static boolean isSeat(final char c) {
-		return isOccupied(c) || isEmpty(c);
+	public Solution(final String inputFile) {
+		map = IO.chars(inputFile);
 	}
 	
-	private static boolean isOccupied(final char c) {
-		return c == OCCUPIED;
+	@Override
+	public int day() {
+		return 11;
 	}
 	
-	private static boolean isEmpty(final char c) {
-		return c == EMPTY;
+	/** Simulates both parts, since they run concurrently. */
+	@Override
+	public Object part1() {
+		stableCounts = SeatingSimulation.stableOccupiedCounts(map, Rules.ADJACENT, Rules.VISIBLE);
+		return stableCounts[0];
 	}
 	
-	private static boolean isFloor(final char c) {
-		return c == FLOOR;
+	@Override
+	public Object part2() {
+		return stableCounts[1];
 	}
 	
 }
@@ -7,24 +7,31 @@ import utils.*;
  * @author Sam Hooper
  *
  */
-public class Solution {
+public class Solution implements Solver {
 	
 	public static void main(String[] args) {
-		final String[] instructions = IO.strings("src/day12/input.txt");
-		solvePart1(instructions);
-		solvePart2(instructions);
+		Solver.printAnswers(new Solution());
 	}
-
-	private static void solvePart1(final String[] instructions) {
+	
+	private final String[] instructions = IO.strings("src/day12/input.txt");
+	
+	@Override
+	public int day() {
+		return 12;
+	}
+	
+	@Override
+	public Object part1() {
 		SimpleShip ship = new SimpleShip(0, 0, CardinalDirection.EAST);
 		ship.executeInstructions(instructions);
-		System.out.println(Basics.manhattanDistance(ship.getRow(), ship.getCol()));
+		return Basics.manhattanDistance(ship.getRow(), ship.getCol());
 	}	
 	
-	private static void solvePart2(final String[] instructions) {
+	@Override
+	public Object part2() {
 		WaypointShip wps = new WaypointShip(0, 0, -1, 10);
 		wps.executeInstructions(instructions);
-		System.out.println(Basics.manhattanDistance(wps.getRow(), wps.getCol()));
+		return Basics.manhattanDistance(wps.getRow(), wps.getCol());
 	}
 
 }
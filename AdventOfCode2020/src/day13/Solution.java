@@ -11,22 +11,32 @@ import utils.math.*;
  * @author Sam Hooper
  *
  */
-public class Solution {
+public class Solution implements Solver {
 	
 	public static void main(String[] args) {
-		String[] lines = IO.strings("src/day13/input.txt");
+		Solver.printAnswers(new Solution());
+	}
+	
+	private final String[] lines = IO.strings("src/day13/input.txt");
+	
+	@Override
+	public int day() {
+		return 13;
+	}
+	
+	@Override
+	public Object part1() {
 		int time = Integer.parseInt(lines[0]);
 		int[] ids = Arrays.stream(lines[1].replace(",x", "").split(",")).mapToInt(Integer::parseInt).toArray();
-		solvePart1(time, ids);
-		solvePart2(lines[1]);
+		return part1(time, ids);
 	}
 	
-	private static void solvePart1(final int time, final int[] ids) {
+	private static int part1(final int time, final int[] ids) {
 		int[] mins = new int[ids.length];
 		for(int i = 0; i < ids.length; i++) {
 			int id = ids[i];
 			if(time % id == 0) {
-				System.out.println("0"); return;
+				return 0;
 			}
 			else
 				mins[i] = (id * ((time / id) + 1)) - time;
@@ -39,16 +49,21 @@ public class Solution {
 				minIndex = i;
 			}
 		}
-		System.out.println(minMin * ids[minIndex]);
+		return minMin * ids[minIndex];
+	}
+	
+	@Override
+	public Object part2() {
+		return part2(lines[1]);
 	}
 	
-	private static void solvePart2(String input) {
+	private static long part2(String input) {
 		int[] ids = Arrays.stream(input.replace('x', '0').split(",")).mapToInt(Integer::parseInt).toArray();
 		long[][] nr = IntStream.range(0, ids.length).filter(i -> ids[i] != 0)
 				.mapToObj(i -> new long[] {ids[i], Maths.mod(-i, ids[i])}).toArray(long[][]::new);
 		long[] n = Arrays.stream(nr).mapToLong(arr -> arr[0]).toArray();
 		long[] r = Arrays.stream(nr).mapToLong(arr -> arr[1]).toArray();
-		System.out.println(ChineseRemainderTheorem.crt(n, r));
+		return ChineseRemainderTheorem.crt(n, r);
 	}
 	
 }
@@ -3,26 +3,34 @@ package day14;
 import java.util.*;
 
 import utils.*;
+import utils.colls.LongLongMap;
 
 /**
  * <p>Correct answers are 6513443633260 (Part 1) and 3442819875191 (Part 2).</p>
  * @author Sam Hooper
  *
  */
-public class Solution {
+public class Solution implements Solver {
 	
 	public static void main(String[] args) {
-		String[] lines = IO.strings("src/day14/input.txt");
-		solvePart1(lines);
-		solvePart2(lines);
+		Solver.printAnswers(new Solution());
 	}
 	
-	private static void solvePart1(final String[] lines) {
-		System.out.println(new Interpreter1(lines).execute().sumMemory());
+	private final String[] lines = IO.strings("src/day14/input.txt");
+	
+	@Override
+	public int day() {
+		return 14;
+	}
+	
+	@Override
+	public Object part1() {
+		return new Interpreter1(lines).execute().sumMemory();
 	}
 	
-	private static void solvePart2(final String[] lines) {
-		System.out.println(new Interpreter2(lines).execute().sumMemory());
+	@Override
+	public Object part2() {
+		return new Interpreter2(lines).execute().sumMemory();
 	}
 	
 	private static final long BITS = 36;
@@ -87,11 +95,11 @@ public class Solution {
 	
 	private static class Interpreter2 extends Interpreter {
 		
-		private final Map<Long, Long> memory;
+		private final LongLongMap memory;
 		
 		public Interpreter2(String[] input) {
 			super(input);
-			this.memory = new HashMap<>();
+			this.memory = new LongLongMap();
 		}
 		
 		@Override
@@ -136,7 +144,7 @@ public class Solution {
 		
 		@Override
 		public long sumMemory() {
-			return memory.values().stream().mapToLong(Long::longValue).sum();
+			return memory.values().sum();
 		}
 	}
 	
@@ -0,0 +1,149 @@
+package day15;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.Arrays;
+
+/**
+ * <p>Plays the elves' memory game (the Van Eck sequence with an arbitrary seed). Every number spoken after the seed is the age of the previous
+ * number, which is always smaller than the current turn, so the "last turn spoken" table can be a dense array indexed by the number itself instead of
+ * a hash map. The turn loop performs no allocation.</p>
+ * <p>The table is an {@code int[]} that is kept and reused between games when it fits in the heap. When it does not (for example, a billion
+ * turns on a small heap), the table is instead placed in a temporary memory-mapped file, split into chunks of {@link #MAPPED_CHUNK_INTS}
+ * {@code ints} because a single mapping cannot exceed 2 GB.</p>
+ * @author Sam Hooper
+ *
+ */
+public class MemoryGame {
+
+	/** {@code 2^28} {@code ints}, or 1 GB per mapping. */
+	static final int MAPPED_CHUNK_SHIFT = 28, MAPPED_CHUNK_INTS = 1 << MAPPED_CHUNK_SHIFT, MAPPED_CHUNK_MASK = MAPPED_CHUNK_INTS - 1;
+	/** The fraction of the currently available heap that the {@code int[]} table may occupy before the memory-mapped table is used instead. */
+	private static final double MAX_HEAP_FRACTION = 0.8;
+
+	/** {@code lastSpoken[v]} is the (1-based) turn on which {@code v} was last spoken, or {@code 0} if it has not been spoken. Only the first
+	 * {@code tableLength} entries of a game are meaningful. */
+	private int[] lastSpoken = new int[0];
+
+	/**
+	 * <p>Returns the {@code n}th number spoken (counting from {@code 1}) in the game whose starting numbers are {@code seed}. Uses an in-heap table if it
+	 * fits and a {@link #nthMapped(int[], int) memory-mapped} one otherwise.</p>
+	 * @throws IllegalArgumentException if {@code seed} is empty, contains a negative number, or if {@code (n < 1)}.
+	 */
+	public int nth(final int[] seed, final int n) {
+		final int tableLength = tableLength(seed, n);
+		if(n <= seed.length)
+			return seed[n - 1];
+		if(lastSpoken.length < tableLength) {
+			if(!fitsInHeap(tableLength))
+				return nthMapped(seed, n);
+			lastSpoken = null; //allow the old table to be collected before the new one is allocated.
+			lastSpoken = new int[tableLength];
+		}
+		else {
+			Arrays.fill(lastSpoken, 0, tableLength, 0);
+		}
+		final int[] lastSpoken = this.lastSpoken;
+		for(int i = 0; i < seed.length - 1; i++)
+			lastSpoken[seed[i]] = i + 1;
+		int current = seed[seed.length - 1];
+		for(int turn = seed.length; turn < n; turn++) {
+			final int previous = lastSpoken[current];
+			lastSpoken[current] = turn;
+			current = previous == 0 ? 0 : turn - previous;
+		}
+		return current;
+	}
+
+	/**
+	 * <p>Returns the {@code n}th number spoken in the game whose starting numbers are {@code seed}, keeping the table in a temporary memory-mapped file
+	 * rather than on the heap. The file is deleted as soon as the game ends (or, where a mapped file cannot be deleted, when the JVM exits).</p>
+	 * @throws IllegalArgumentException if {@code seed} is empty, contains a negative number, or if {@code (n < 1)}.
+	 * @throws UncheckedIOException if the temporary file cannot be created or mapped.
+	 */
+	public int nthMapped(final int[] seed, final int n) {
+		final int tableLength = tableLength(seed, n);
+		if(n <= seed.length)
+			return seed[n - 1];
+		final Path file;
+		try {
+			file = Files.createTempFile("memorygame", ".table");
+		}
+		catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		try {
+			final IntBuffer[] chunks = mapTable(file, tableLength);
+			for(int i = 0; i < seed.length - 1; i++)
+				chunks[seed[i] >>> MAPPED_CHUNK_SHIFT].put(seed[i] & MAPPED_CHUNK_MASK, i + 1);
+			int current = seed[seed.length - 1];
+			for(int turn = seed.length; turn < n; turn++) {
+				final IntBuffer chunk = chunks[current >>> MAPPED_CHUNK_SHIFT];
+				final int index = current & MAPPED_CHUNK_MASK;
+				final int previous = chunk.get(index);
+				chunk.put(index, turn);
+				current = previous == 0 ? 0 : turn - previous;
+			}
+			return current;
+		}
+		finally {
+			deleteTable(file);
+		}
+	}
+
+	/** Validates the arguments and returns the number of table entries needed: one more than the largest number that can be spoken. */
+	private static int tableLength(final int[] seed, final int n) {
+		if(seed.length == 0)
+			throw new IllegalArgumentException("The seed must not be empty");
+		if(n < 1)
+			throw new IllegalArgumentException("n < 1");
+		int max = n - 1;
+		for(int num : seed) {
+			if(num < 0)
+				throw new IllegalArgumentException("The seed contains a negative number: " + num);
+			max = Math.max(max, num);
+		}
+		if(max == Integer.MAX_VALUE)
+			throw new IllegalArgumentException("The seed contains a number too large to be indexed: " + max);
+		return max + 1;
+	}
+
+	private boolean fitsInHeap(final int tableLength) {
+		if(tableLength > Integer.MAX_VALUE - 8)
+			return false;
+		Runtime runtime = Runtime.getRuntime();
+		long available = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory()) + 4L * lastSpoken.length;
+		return 4L * tableLength <= available * MAX_HEAP_FRACTION;
+	}
+
+	private static IntBuffer[] mapTable(final Path file, final int tableLength) {
+		try {
+			IntBuffer[] chunks = new IntBuffer[(int) ((tableLength + (long) MAPPED_CHUNK_MASK) >>> MAPPED_CHUNK_SHIFT)];
+			try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				for(int i = 0; i < chunks.length; i++) {
+					long start = (long) i << MAPPED_CHUNK_SHIFT;
+					long ints = Math.min(MAPPED_CHUNK_INTS, tableLength - start);
+					chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, 4 * start, 4 * ints).order(ByteOrder.nativeOrder()).asIntBuffer();
+				}
+			}
+			return chunks;
+		}
+		catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/** Deletes the table's file. A mapping cannot be closed explicitly, only collected, but a mapped file can still be deleted on most systems (its
+	 * space is reclaimed once the mapping is collected). Where it cannot, as on Windows, it is deleted when the JVM exits instead. */
+	private static void deleteTable(final Path file) {
+		try {
+			Files.delete(file);
+		}
+		catch(IOException e) {
+			file.toFile().deleteOnExit();
+		}
+	}
+
+}
\ No newline at end of file
@@ -2,48 +2,39 @@ package day15;
 
 import java.util.*;
 
-import utils.colls.IntList;
+import utils.Solver;
 
 /**
  * <p>Input: <pre>{@code 18,11,9,0,5,1}</pre></p>
- * <p>Correct answers are 959 (Part 1) and 116590 (Part 2). The second part runs in about 4-6 seconds on my machine.</p>
+ * <p>Correct answers are 959 (Part 1) and 116590 (Part 2). Both parts are played by a {@link MemoryGame}.</p>
  * @author Sam Hooper
  *
  */
-public class Solution {
+public class Solution implements Solver {
 	
-	private static final String INPUT = "18,11,9,0,5,1";
+	public static final String INPUT = "18,11,9,0,5,1";
 	private static final int PART1_N = 2020;
 	private static final int PART2_N = 30000000;
 	
 	public static void main(String[] args) {
-		IntList startingNumbers = new IntList(Arrays.stream(INPUT.split(",")).mapToInt(Integer::parseInt).toArray());
-		solvePart1(startingNumbers);
-		solvePart2(startingNumbers);
+		Solver.printAnswers(new Solution());
 	}
 	
-	private static void solvePart1(IntList firstNumbersSpoken) {
-		System.out.println(nthSpoken(firstNumbersSpoken, PART1_N));
+	private final int[] startingNumbers = Arrays.stream(INPUT.split(",")).mapToInt(Integer::parseInt).toArray();
+	private final MemoryGame game = new MemoryGame();
+	
+	@Override
+	public int day() {
+		return 15;
 	}
 	
-	private static void solvePart2(IntList firstNumbersSpoken) {
-		System.out.println(nthSpoken(firstNumbersSpoken, PART2_N));
+	@Override
+	public Object part1() {
+		return game.nth(startingNumbers, PART1_N);
 	}
 	
-	//O(n)
-	private static int nthSpoken(IntList nums, int n) {
-		Map<Integer, Integer> lastSpoken = new HashMap<>();
-		for(int i = 0; i < nums.size() - 1; i++)
-			lastSpoken.put(nums.get(i), i);
-		while(nums.size() < n) {
-			int last = nums.peek();
-			final Integer index = lastSpoken.get(last);
-			lastSpoken.put(last, nums.size() - 1);
-			if(index != null)
-				nums.add(nums.size() - index - 1);
-			else
-				nums.add(0);
-		}
-		return nums.peek();
+	@Override
+	public Object part2() {
+		return game.nth(startingNumbers, PART2_N);
 	}
 }
@@ -0,0 +1,272 @@
+package day16;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import utils.Parsing;
+
+/**
+ * <p>The rules for the fields of a ticket, compiled into a table from each value to the bitmask of the fields it is valid for. Bit {@code (f & 63)}
+ * of word {@code (f >>> 6)} of a mask stands for field {@code f}, so there may be any number of fields.</p>
+ * <p>The endpoints of all the ranges split the numbers into segments within which every value is valid for the same fields, and only one mask is
+ * stored per segment. Values up to {@link #MAX_DIRECT_VALUE} find their segment with a single array lookup; larger ones use a binary search.</p>
+ * <p>{@link #scan(Stream)} checks the nearby tickets in parallel, ANDing the masks of each column's values together to find the fields that column
+ * could be, and {@link #assign(Scan)} then matches fields to columns with augmenting paths (Kuhn's algorithm) rather than by elimination, so it
+ * finds an assignment whenever one exists.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class TicketRules {
+
+	/** The largest value whose segment is found by direct lookup rather than binary search. */
+	public static final int MAX_DIRECT_VALUE = 1 << 20;
+
+	/**
+	 * <p>Parses one rule per element of {@code rules}, such as {@code "departure location: 29-458 or 484-956"}. A rule may have any number of ranges,
+	 * separated by {@code " or "}.</p>
+	 * @throws IllegalArgumentException if a rule is malformed, or if two rules have the same name.
+	 */
+	public static TicketRules parse(final Stream<String> rules) {
+		final List<String> names = new ArrayList<>();
+		final List<int[]> ranges = new ArrayList<>();
+		rules.forEachOrdered(rule -> {
+			final int colon = rule.indexOf(": ");
+			if(colon < 0)
+				throw new IllegalArgumentException("Invalid rule: " + rule);
+			final int[] bounds = Parsing.positiveints(rule.substring(colon + 2)).toArray();
+			if(bounds.length == 0 || (bounds.length & 1) != 0)
+				throw new IllegalArgumentException("Invalid rule: " + rule);
+			for(int i = 0; i < bounds.length; i += 2)
+				if(bounds[i] > bounds[i + 1])
+					throw new IllegalArgumentException("Invalid range in rule: " + rule);
+			names.add(rule.substring(0, colon));
+			ranges.add(bounds);
+		});
+		if(new HashSet<>(names).size() != names.size())
+			throw new IllegalArgumentException("Duplicate field names");
+		return new TicketRules(names, ranges);
+	}
+
+	/** Returns the numbers in {@code line}, such as {@code "7,3,47"}. */
+	public static int[] parseTicket(final CharSequence line) {
+		return Parsing.positiveints(line).toArray();
+	}
+
+	private final String[] names;
+	/** The number of {@code longs} in the mask of a set of fields. */
+	private final int words;
+	/** Segment {@code s} is the values from {@code segmentStarts[s - 1]} (inclusive) to {@code segmentStarts[s]} (exclusive); segment {@code 0} is
+	 * everything before {@code segmentStarts[0]}, and the last segment is everything after the last start. */
+	private final int[] segmentStarts;
+	/** The fields valid for segment {@code s} are the {@link #words} {@code longs} starting at {@code segmentMasks[s * words]}. */
+	private final long[] segmentMasks;
+	/** {@code directSegments[v]} is the segment of value {@code v}, for every value up to the largest endpoint (or {@link #MAX_DIRECT_VALUE}). */
+	private final int[] directSegments;
+
+	private TicketRules(final List<String> names, final List<int[]> ranges) {
+		this.names = names.toArray(String[]::new);
+		this.words = Math.max(1, (this.names.length + 63) >>> 6);
+		final TreeSet<Long> points = new TreeSet<>(); //longs, since the end of a range may be Integer.MAX_VALUE.
+		for(int[] bounds : ranges) {
+			for(int i = 0; i < bounds.length; i += 2) {
+				points.add((long) bounds[i]);
+				points.add(bounds[i + 1] + 1L);
+			}
+		}
+		final int segments = points.size() + 1;
+		final long[] starts = points.stream().mapToLong(Long::longValue).toArray();
+		//a range may end at Integer.MAX_VALUE, but no int value lies past that.
+		segmentStarts = Arrays.stream(starts).filter(p -> p <= Integer.MAX_VALUE).mapToInt(p -> (int) p).toArray();
+		segmentMasks = new long[segments * words];
+		for(int field = 0; field < this.names.length; field++) {
+			final int[] bounds = ranges.get(field);
+			for(int i = 0; i < bounds.length; i += 2) {
+				final int first = Arrays.binarySearch(starts, bounds[i]) + 1, end = Arrays.binarySearch(starts, bounds[i + 1] + 1L) + 1;
+				for(int s = first; s < end; s++)
+					segmentMasks[s * words + (field >>> 6)] |= 1L << field;
+			}
+		}
+		final int directLimit = starts.length == 0 ? 0 : (int) Math.min(MAX_DIRECT_VALUE, starts[starts.length - 1]);
+		directSegments = new int[directLimit + 1];
+		for(int v = 0, s = 0; v <= directLimit; v++) {
+			while(s < segmentStarts.length && segmentStarts[s] <= v)
+				s++;
+			directSegments[v] = s;
+		}
+	}
+
+	public int fieldCount() {
+		return names.length;
+	}
+
+	public String name(final int field) {
+		return names[field];
+	}
+
+	/** Returns the segment containing {@code value}. */
+	private int segment(final int value) {
+		if(value >= 0 && value < directSegments.length)
+			return directSegments[value];
+		final int search = Arrays.binarySearch(segmentStarts, value);
+		return search >= 0 ? search + 1 : -search - 1;
+	}
+
+	/** Returns {@code true} if the segment's mask has no fields in it. */
+	private boolean isEmpty(final int segment) {
+		for(int w = segment * words, end = w + words; w < end; w++)
+			if(segmentMasks[w] != 0)
+				return false;
+		return true;
+	}
+
+	/** Returns {@code true} if {@code value} is valid for at least one field. */
+	public boolean isValidForAny(final int value) {
+		return !isEmpty(segment(value));
+	}
+
+	/**
+	 * <p>Checks every ticket of {@code tickets}, in parallel. Every ticket must have the same number of values.</p>
+	 * @throws IllegalArgumentException if the tickets do not all have the same number of values.
+	 */
+	public Scan scan(final Stream<int[]> tickets) {
+		return tickets.parallel().collect(() -> new Scan(this), Scan::accept, Scan::combine);
+	}
+
+	/**
+	 * <p>The result of {@link TicketRules#scan(Stream) scanning} a batch of tickets: the sum of the values that are not valid for any field (the
+	 * "error rate"), and, for each column, the fields that are valid for that column's value on every ticket whose values are all valid for some
+	 * field.</p>
+	 */
+	public static final class Scan {
+
+		private final TicketRules rules;
+		private long errorRate;
+		private int validTicketCount;
+		/** The number of values on each ticket, or {@code -1} if no ticket has been seen. */
+		private int columns = -1;
+		/** The candidate fields of column {@code c} are the {@link TicketRules#words} {@code longs} starting at {@code candidates[c * words]}. */
+		private long[] candidates;
+		/** The segment of each value of the ticket being checked. */
+		private int[] segments;
+
+		private Scan(final TicketRules rules) {
+			this.rules = rules;
+		}
+
+		private void setColumns(final int columns) {
+			this.columns = columns;
+			this.segments = new int[columns];
+			this.candidates = new long[columns * rules.words];
+			final int fields = rules.names.length;
+			for(int c = 0; c < columns; c++)
+				for(int w = 0; w < rules.words; w++)
+					candidates[c * rules.words + w] = fields >= (w + 1) << 6 ? -1L : (1L << fields - (w << 6)) - 1;
+		}
+
+		private void accept(final int[] ticket) {
+			if(columns < 0)
+				setColumns(ticket.length);
+			else if(ticket.length != columns)
+				throw new IllegalArgumentException("Tickets have different numbers of values: " + columns + " and " + ticket.length);
+			boolean valid = true;
+			for(int c = 0; c < columns; c++) {
+				final int segment = segments[c] = rules.segment(ticket[c]);
+				if(rules.isEmpty(segment)) {
+					errorRate += ticket[c];
+					valid = false;
+				}
+			}
+			if(!valid)
+				return;
+			validTicketCount++;
+			final long[] masks = rules.segmentMasks;
+			final int words = rules.words;
+			for(int c = 0; c < columns; c++)
+				for(int w = 0; w < words; w++)
+					candidates[c * words + w] &= masks[segments[c] * words + w];
+		}
+
+		private void combine(final Scan other) {
+			if(other.columns < 0)
+				return;
+			if(columns < 0)
+				setColumns(other.columns);
+			else if(other.columns != columns)
+				throw new IllegalArgumentException("Tickets have different numbers of values: " + columns + " and " + other.columns);
+			errorRate += other.errorRate;
+			validTicketCount += other.validTicketCount;
+			for(int i = 0; i < candidates.length; i++)
+				candidates[i] &= other.candidates[i];
+		}
+
+		/** Returns the sum of every value that is not valid for any field (part 1). */
+		public long errorRate() {
+			return errorRate;
+		}
+
+		public int validTicketCount() {
+			return validTicketCount;
+		}
+
+		/** Returns the number of values on each ticket, or {@code 0} if there were no tickets. */
+		public int columnCount() {
+			return Math.max(columns, 0);
+		}
+
+		/** Returns {@code true} if {@code field} was valid for every value in column {@code column} of every valid ticket. */
+		public boolean isCandidate(final int column, final int field) {
+			return (candidates[column * rules.words + (field >>> 6)] & (1L << field)) != 0;
+		}
+
+	}
+
+	/**
+	 * <p>Returns an array whose element {@code f} is the column that field {@code f} is in. Each field is in a different column, and only in a
+	 * column for which it is a {@link Scan#isCandidate(int, int) candidate}. If more than one assignment fits, any of them may be returned.</p>
+	 * @throws IllegalArgumentException if {@code scan} was not made by this {@link TicketRules}.
+	 * @throws IllegalStateException if there is no such assignment.
+	 */
+	public int[] assign(final Scan scan) {
+		if(scan.rules != this)
+			throw new IllegalArgumentException("Scan was made by different rules");
+		final int fields = names.length, columns = scan.columnCount();
+		final int[] fieldOfColumn = new int[columns], columnOfField = new int[fields];
+		Arrays.fill(fieldOfColumn, -1);
+		Arrays.fill(columnOfField, -1);
+		//Greedily match what can be matched directly before searching for augmenting paths.
+		for(int f = 0; f < fields; f++) {
+			for(int c = 0; c < columns; c++) {
+				if(fieldOfColumn[c] < 0 && scan.isCandidate(c, f)) {
+					fieldOfColumn[c] = f;
+					columnOfField[f] = c;
+					break;
+				}
+			}
+		}
+		final boolean[] visited = new boolean[columns];
+		for(int f = 0; f < fields; f++) {
+			if(columnOfField[f] >= 0)
+				continue;
+			Arrays.fill(visited, false);
+			if(!augment(f, scan, fieldOfColumn, columnOfField, visited))
+				throw new IllegalStateException("No column fits field \"" + names[f] + "\"");
+		}
+		return columnOfField;
+	}
+
+	/** Tries to give {@code field} a column, moving other fields to different columns if necessary. Recurses at most once per column. */
+	private static boolean augment(final int field, final Scan scan, final int[] fieldOfColumn, final int[] columnOfField, final boolean[] visited) {
+		for(int c = 0; c < fieldOfColumn.length; c++) {
+			if(visited[c] || !scan.isCandidate(c, field))
+				continue;
+			visited[c] = true;
+			if(fieldOfColumn[c] < 0 || augment(fieldOfColumn[c], scan, fieldOfColumn, columnOfField, visited)) {
+				fieldOfColumn[c] = field;
+				columnOfField[field] = c;
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
\ No newline at end of file
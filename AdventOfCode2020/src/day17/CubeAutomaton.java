@@ -0,0 +1,280 @@
+package day17;
+
+import java.util.Arrays;
+
+import utils.colls.*;
+
+/**
+ * <p>A sparse cellular automaton over an N-dimensional integer grid. Only the active cells are stored, each packed into a single {@code long}
+ * (every coordinate gets {@code 64 / N} bits, at most 32). Each generation, every active cell scatters a count to its {@code 3^N - 1} neighbors in a
+ * {@link LongIntMap}, and the birth and survival rules are then applied to the cells that received a count. The cost of a generation is therefore
+ * proportional to the number of active cells rather than to the volume of the bounding box.</p>
+ *
+ * <h2>Mirror symmetry</h2>
+ * <p>If every cell of the seed has a coordinate of {@code 0} in some dimensions (as with a 2D slice embedded in N dimensions), the whole history is
+ * symmetric under negating any of those "mirrored" dimensions and under permuting them among themselves. In that case (unless it is
+ * disabled) only the canonical representative of each orbit is stored: the cell whose mirrored coordinates are non-negative and in ascending
+ * order. Counts scattered to a neighbor are weighted by the size of the source's orbit and divided by the size of the target's orbit, which gives the
+ * exact neighbor count of the target. For a 2D seed in 6 dimensions this stores roughly {@code 1/384} of the active cells.</p>
+ * @author Sam Hooper
+ *
+ */
+public class CubeAutomaton {
+
+	/** The neighbor counts that bring an inactive cell to life and keep an active cell alive in Conway's Game of Life. */
+	public static final int[] CONWAY_BIRTH = {3}, CONWAY_SURVIVAL = {2, 3};
+
+	private final int dimensions;
+	private final int bitsPerCoordinate;
+	/** The largest value a packed coordinate field can hold. */
+	private final long fieldMask;
+	/** The amount added to every coordinate before it is packed, so that packed fields are never negative. */
+	private final int offset;
+	/** The packed form of each of the {@code 3^N - 1} neighbor offsets. Adding one to a packed cell yields the packed neighbor. */
+	private final long[] neighborDeltas;
+	/** Indexed by neighbor count. */
+	private final boolean[] birth, survival;
+	/** The indices of the mirrored dimensions, or an empty array if symmetry is not being exploited. */
+	private final int[] mirrored;
+	/** {@code factorials[i]} is {@code i!}, for {@code i} up to the number of mirrored dimensions. */
+	private final int[] factorials;
+	private final int[] mirroredScratch;
+	private final LongIntMap counts;
+	private OpenHashLongSet active;
+	private int generation;
+
+	/**
+	 * <p>Returns a Conway automaton of the given dimension whose seed is the given 2D slice: the cell at {@code (row, col, 0, ..., 0)} is active if and
+	 * only if {@code (slice[row][col] == activeChar)}. The remaining {@code (dimensions - 2)} dimensions are mirrored.</p>
+	 * @throws IllegalArgumentException if {@code (dimensions < 2)}.
+	 */
+	public static CubeAutomaton fromSlice(final char[][] slice, final char activeChar, final int dimensions) {
+		if(dimensions < 2)
+			throw new IllegalArgumentException("dimensions < 2");
+		IntList flattened = new IntList();
+		int count = 0;
+		for(int row = 0; row < slice.length; row++) {
+			for(int col = 0; col < slice[row].length; col++) {
+				if(slice[row][col] == activeChar) {
+					flattened.add(row);
+					flattened.add(col);
+					count++;
+				}
+			}
+		}
+		int[][] seed = new int[count][dimensions];
+		for(int i = 0; i < count; i++) {
+			seed[i][0] = flattened.get(2 * i);
+			seed[i][1] = flattened.get(2 * i + 1);
+		}
+		return new CubeAutomaton(dimensions, seed);
+	}
+
+	/** Creates a Conway automaton ({@link #CONWAY_BIRTH B3}/{@link #CONWAY_SURVIVAL S23}) that exploits mirror symmetry if the seed allows it. */
+	public CubeAutomaton(final int dimensions, final int[][] seed) {
+		this(dimensions, seed, CONWAY_BIRTH, CONWAY_SURVIVAL, true);
+	}
+
+	/**
+	 * @param dimensions the number of coordinates of each cell.
+	 * @param seed the initially active cells. Every element must have a length of {@code dimensions}.
+	 * @param birthCounts the neighbor counts that bring an inactive cell to life.
+	 * @param survivalCounts the neighbor counts that keep an active cell alive.
+	 * @param useSymmetry whether to store only canonical cells when the seed is flat in some dimensions.
+	 * @throws IllegalArgumentException if {@code dimensions} is not between {@code 1} and {@code 19}, if a cell of {@code seed} has the wrong length or does
+	 * not fit in the packed representation, or if a count is not between {@code 1} and {@code (3^dimensions - 1)}.
+	 */
+	public CubeAutomaton(final int dimensions, final int[][] seed, final int[] birthCounts, final int[] survivalCounts, final boolean useSymmetry) {
+		if(dimensions < 1 || dimensions > 19)
+			throw new IllegalArgumentException("dimensions must be between 1 and 19");
+		final int neighbors = neighborCount(dimensions);
+		this.dimensions = dimensions;
+		this.bitsPerCoordinate = Math.min(32, 64 / dimensions);
+		this.fieldMask = (1L << bitsPerCoordinate) - 1;
+		this.offset = 1 << (bitsPerCoordinate - 1);
+		this.neighborDeltas = neighborDeltas(dimensions);
+		this.birth = rule(birthCounts, neighbors);
+		this.survival = rule(survivalCounts, neighbors);
+		this.mirrored = useSymmetry ? flatDimensions(dimensions, seed, neighbors) : new int[0];
+		this.factorials = new int[mirrored.length + 1];
+		factorials[0] = 1;
+		for(int i = 1; i < factorials.length; i++)
+			factorials[i] = factorials[i - 1] * i;
+		this.mirroredScratch = new int[mirrored.length];
+		this.counts = new LongIntMap((int) Math.min(1 << 20, (long) seed.length * neighbors));
+		this.active = new OpenHashLongSet(seed.length);
+		for(int[] cell : seed) {
+			if(cell.length != dimensions)
+				throw new IllegalArgumentException("Every cell must have " + dimensions + " coordinates: " + Arrays.toString(cell));
+			final long packed = pack(cell);
+			if(!inRange(packed))
+				throw new IllegalArgumentException("The cell " + Arrays.toString(cell) + " does not fit in " + bitsPerCoordinate + " bits per coordinate");
+			active.add(packed);
+		}
+	}
+
+	private static int neighborCount(final int dimensions) {
+		int count = 1;
+		for(int i = 0; i < dimensions; i++)
+			count *= 3;
+		return count - 1;
+	}
+
+	private static boolean[] rule(final int[] counts, final int neighbors) {
+		boolean[] rule = new boolean[neighbors + 1];
+		for(int count : counts) {
+			if(count < 1 || count > neighbors)
+				throw new IllegalArgumentException("Neighbor counts must be between 1 and " + neighbors + ": " + count);
+			rule[count] = true;
+		}
+		return rule;
+	}
+
+	/** Returns the dimensions in which every cell of the seed is {@code 0}, or none if the orbit weights could overflow an {@code int}. */
+	private static int[] flatDimensions(final int dimensions, final int[][] seed, final int neighbors) {
+		IntList flat = new IntList();
+		outer:
+		for(int d = 0; d < dimensions; d++) {
+			for(int[] cell : seed)
+				if(cell.length > d && cell[d] != 0)
+					continue outer;
+			flat.add(d);
+		}
+		long maxOrbit = 1;
+		for(int i = 1; i <= flat.size(); i++)
+			maxOrbit *= 2 * i;
+		return maxOrbit * neighbors > Integer.MAX_VALUE ? new int[0] : flat.stream().toArray();
+	}
+
+	private long[] neighborDeltas(final int dimensions) {
+		final long[] deltas = new long[neighborCount(dimensions)];
+		final int[] delta = new int[dimensions];
+		Arrays.fill(delta, -1);
+		for(int index = 0; index < deltas.length;) {
+			long packed = 0;
+			boolean zero = true;
+			for(int d = 0; d < dimensions; d++) {
+				packed += ((long) delta[d]) << (d * bitsPerCoordinate);
+				zero &= delta[d] == 0;
+			}
+			if(!zero)
+				deltas[index++] = packed;
+			for(int d = 0; d < dimensions && ++delta[d] > 1; d++) //odometer increment
+				delta[d] = -1;
+		}
+		return deltas;
+	}
+
+	private long pack(final int[] cell) {
+		long packed = 0;
+		for(int d = 0; d < dimensions; d++) {
+			final long field = (long) cell[d] + offset;
+			if(field < 0 || field > fieldMask)
+				return 0; //not in range
+			packed |= field << (d * bitsPerCoordinate);
+		}
+		return packed;
+	}
+
+	private int coordinate(final long packed, final int dimension) {
+		return (int) ((packed >>> (dimension * bitsPerCoordinate)) & fieldMask) - offset;
+	}
+
+	/** Returns {@code true} if every field of {@code packed} leaves room for a neighbor on both sides, so that adding a {@link #neighborDeltas delta}
+	 * never carries or borrows between fields. */
+	private boolean inRange(final long packed) {
+		for(int d = 0; d < dimensions; d++) {
+			final long field = (packed >>> (d * bitsPerCoordinate)) & fieldMask;
+			if(field == 0 || field == fieldMask)
+				return false;
+		}
+		return true;
+	}
+
+	/** Returns the representative of the orbit of {@code packed}: its mirrored coordinates made non-negative and sorted in ascending order. */
+	private long canonical(long packed) {
+		final int[] values = mirroredScratch;
+		for(int i = 0; i < mirrored.length; i++) {
+			final int value = Math.abs(coordinate(packed, mirrored[i]));
+			int j = i;
+			for(; j > 0 && values[j - 1] > value; j--)
+				values[j] = values[j - 1];
+			values[j] = value;
+		}
+		for(int i = 0; i < mirrored.length; i++) {
+			final int shift = mirrored[i] * bitsPerCoordinate;
+			packed = packed & ~(fieldMask << shift) | ((long) values[i] + offset) << shift;
+		}
+		return packed;
+	}
+
+	/** Returns the number of distinct cells in the orbit of the canonical cell {@code packed}. */
+	private int orbitSize(final long packed) {
+		int size = factorials[mirrored.length];
+		int run = 0, previous = -1;
+		for(int i = 0; i < mirrored.length; i++) {
+			final int value = coordinate(packed, mirrored[i]);
+			if(value != 0)
+				size <<= 1;
+			run = value == previous ? run + 1 : 1;
+			previous = value;
+			size /= run; //divides by the factorial of each run's length, one factor at a time.
+		}
+		return size;
+	}
+
+	/** Advances the automaton by one generation.
+	 * @throws IllegalStateException if a cell would come to life outside the range representable with {@code 64 / N} bits per coordinate. */
+	public void step() {
+		final boolean symmetric = mirrored.length > 0;
+		counts.clear();
+		for(long cell : active.toArray()) {
+			final int weight = symmetric ? orbitSize(cell) : 1;
+			for(long delta : neighborDeltas) {
+				final long neighbor = cell + delta;
+				counts.addTo(symmetric ? canonical(neighbor) : neighbor, weight);
+			}
+		}
+		final OpenHashLongSet previous = active, next = new OpenHashLongSet(previous.size());
+		counts.forEach((cell, weightedCount) -> {
+			final int count = symmetric ? weightedCount / orbitSize(cell) : weightedCount;
+			if(previous.contains(cell) ? survival[count] : birth[count]) {
+				if(!inRange(cell))
+					throw new IllegalStateException("The automaton has grown beyond " + bitsPerCoordinate + " bits per coordinate");
+				next.add(cell);
+			}
+		});
+		active = next;
+		generation++;
+	}
+
+	/** Advances the automaton by {@code generations} generations. */
+	public void run(final int generations) {
+		for(int i = 0; i < generations; i++)
+			step();
+	}
+
+	/** Returns the number of active cells in the full (unfolded) space. */
+	public long activeCount() {
+		if(mirrored.length == 0)
+			return active.size();
+		long count = 0;
+		for(long cell : active.toArray())
+			count += orbitSize(cell);
+		return count;
+	}
+
+	/** Returns the number of cells actually stored, which is smaller than {@link #activeCount()} when mirror symmetry is exploited. */
+	public int storedCellCount() {
+		return active.size();
+	}
+
+	public int generation() {
+		return generation;
+	}
+
+	public int dimensions() {
+		return dimensions;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,247 @@
+package day18;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * <p>Evaluates the homework's expressions: non-negative integer literals combined with binary operators and parentheses, with spaces ignored. Which
+ * operators are allowed, and how tightly each one binds, comes from a precedence table given at construction; operators of equal precedence are
+ * evaluated from left to right.</p>
+ * <p>An expression is evaluated in a single pass over its characters by precedence climbing, without creating any tokens. Arithmetic is done on
+ * {@code longs} with the {@link Math} {@code *Exact} methods, and only an expression that overflows is evaluated again with {@link BigInteger}.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class ExpressionEvaluator {
+	
+	/** The precedence table for part 1: {@code +} and {@code *} bind equally tightly. */
+	public static final ExpressionEvaluator LEFT_TO_RIGHT = new ExpressionEvaluator(Map.of('+', 1, '*', 1));
+	/** The precedence table for part 2: {@code +} binds more tightly than {@code *}. */
+	public static final ExpressionEvaluator ADDITION_FIRST = new ExpressionEvaluator(Map.of('+', 2, '*', 1));
+	
+	/** The operators a precedence table may contain. */
+	public static final String OPERATORS = "+-*";
+	
+	/** {@code precedence[c]} is the precedence of operator {@code c}, or {@code 0} if {@code c} is not an operator in this table. */
+	private final int[] precedence = new int[OPERATORS.chars().max().getAsInt() + 1];
+	
+	/**
+	 * <p>Creates an {@link ExpressionEvaluator} in which each key of {@code precedence} is an operator, and operators with greater values bind more
+	 * tightly.</p>
+	 * @throws IllegalArgumentException if {@code precedence} contains an operator not in {@link #OPERATORS}, or a precedence less than {@code 1}.
+	 */
+	public ExpressionEvaluator(final Map<Character, Integer> precedence) {
+		precedence.forEach((operator, level) -> {
+			if(OPERATORS.indexOf(operator) < 0)
+				throw new IllegalArgumentException("Unsupported operator: " + operator);
+			if(level < 1)
+				throw new IllegalArgumentException("Precedence must be positive: " + level);
+			this.precedence[operator] = level;
+		});
+	}
+	
+	/**
+	 * <p>Returns the sum of the values of {@code expressions}, which are evaluated in parallel.</p>
+	 * @throws IllegalArgumentException if an expression is malformed.
+	 */
+	public BigInteger sum(final Stream<? extends CharSequence> expressions) {
+		return expressions.parallel().collect(Sum::new, Sum::add, Sum::combine).value();
+	}
+	
+	/**
+	 * <p>Returns the value of {@code expression}.</p>
+	 * @throws IllegalArgumentException if {@code expression} is malformed.
+	 */
+	public BigInteger evaluate(final CharSequence expression) {
+		try {
+			return BigInteger.valueOf(evaluateExact(expression));
+		}
+		catch(ArithmeticException e) {
+			return new Parser(expression).evaluateBig();
+		}
+	}
+	
+	/**
+	 * <p>Returns the value of {@code expression}.</p>
+	 * @throws ArithmeticException if the value, or that of any subexpression, does not fit in a {@code long}.
+	 * @throws IllegalArgumentException if {@code expression} is malformed.
+	 */
+	public long evaluateExact(final CharSequence expression) {
+		return new Parser(expression).evaluateLong();
+	}
+	
+	/** A running total that stays a {@code long} until it overflows. */
+	private final class Sum {
+		
+		private long total;
+		private BigInteger overflow = BigInteger.ZERO;
+		
+		void add(final CharSequence expression) {
+			long value;
+			try {
+				value = evaluateExact(expression);
+			}
+			catch(ArithmeticException e) {
+				overflow = overflow.add(new Parser(expression).evaluateBig());
+				return;
+			}
+			add(value);
+		}
+		
+		private void add(final long value) {
+			try {
+				total = Math.addExact(total, value);
+			}
+			catch(ArithmeticException e) {
+				overflow = overflow.add(BigInteger.valueOf(total));
+				total = value;
+			}
+		}
+		
+		void combine(final Sum other) {
+			overflow = overflow.add(other.overflow);
+			add(other.total);
+		}
+		
+		BigInteger value() {
+			return overflow.add(BigInteger.valueOf(total));
+		}
+		
+	}
+	
+	/** Reads one expression, keeping its position in the text. */
+	private final class Parser {
+		
+		private final String text;
+		private final int length;
+		private int pos;
+		
+		/** {@code expression} is copied into a {@link String} (if it is not one already) because each character is looked at several times, and
+		 * {@link String#charAt(int)} is much cheaper than that of views such as {@link utils.MappedText#lines() mapped lines}. */
+		Parser(final CharSequence expression) {
+			this.text = expression.toString();
+			this.length = text.length();
+		}
+		
+		long evaluateLong() {
+			final long value = longExpression(1);
+			expectEnd();
+			return value;
+		}
+		
+		BigInteger evaluateBig() {
+			final BigInteger value = bigExpression(1);
+			expectEnd();
+			return value;
+		}
+		
+		/** Reads operands and operators for as long as the operators have a precedence of at least {@code minPrecedence}. */
+		private long longExpression(final int minPrecedence) {
+			long left = longOperand();
+			for(int level; (level = nextPrecedence()) >= minPrecedence;) {
+				final char operator = text.charAt(pos++);
+				final long right = longExpression(level + 1);
+				left = switch(operator) {
+					case '+' -> Math.addExact(left, right);
+					case '-' -> Math.subtractExact(left, right);
+					default -> Math.multiplyExact(left, right);
+				};
+			}
+			return left;
+		}
+		
+		private long longOperand() {
+			if(startsParenthesized()) {
+				final long value = longExpression(1);
+				expectCloseParenthesis();
+				return value;
+			}
+			digitsStart();
+			long value = 0;
+			for(; pos < length && isDigit(text.charAt(pos)); pos++)
+				value = Math.addExact(Math.multiplyExact(value, 10), text.charAt(pos) - '0');
+			return value;
+		}
+		
+		private BigInteger bigExpression(final int minPrecedence) {
+			BigInteger left = bigOperand();
+			for(int level; (level = nextPrecedence()) >= minPrecedence;) {
+				final char operator = text.charAt(pos++);
+				final BigInteger right = bigExpression(level + 1);
+				left = switch(operator) {
+					case '+' -> left.add(right);
+					case '-' -> left.subtract(right);
+					default -> left.multiply(right);
+				};
+			}
+			return left;
+		}
+		
+		private BigInteger bigOperand() {
+			if(startsParenthesized()) {
+				final BigInteger value = bigExpression(1);
+				expectCloseParenthesis();
+				return value;
+			}
+			final int start = digitsStart();
+			while(pos < length && isDigit(text.charAt(pos)))
+				pos++;
+			return new BigInteger(text.subSequence(start, pos).toString());
+		}
+		
+		/** Skips spaces, then returns the precedence of the operator at the current position, or {@code 0} if there is no operator there. */
+		private int nextPrecedence() {
+			skipSpaces();
+			if(pos == length)
+				return 0;
+			final char c = text.charAt(pos);
+			return c < precedence.length ? precedence[c] : 0;
+		}
+		
+		/** Skips spaces, and consumes an opening parenthesis if there is one. */
+		private boolean startsParenthesized() {
+			skipSpaces();
+			if(pos < length && text.charAt(pos) == '(') {
+				pos++;
+				return true;
+			}
+			return false;
+		}
+		
+		/** Returns the current position, after checking that a number starts there. */
+		private int digitsStart() {
+			if(pos == length || !isDigit(text.charAt(pos)))
+				throw malformed("Expected a number or '('");
+			return pos;
+		}
+		
+		private void expectCloseParenthesis() {
+			skipSpaces();
+			if(pos == length || text.charAt(pos) != ')')
+				throw malformed("Expected ')'");
+			pos++;
+		}
+		
+		private void expectEnd() {
+			skipSpaces();
+			if(pos != length)
+				throw malformed("Unexpected character");
+		}
+		
+		private void skipSpaces() {
+			while(pos < length && text.charAt(pos) == ' ')
+				pos++;
+		}
+		
+		private IllegalArgumentException malformed(final String message) {
+			return new IllegalArgumentException(message + " at index " + pos + " of \"" + text + "\"");
+		}
+		
+	}
+	
+	private static boolean isDigit(final char c) {
+		return c >= '0' && c <= '9';
+	}
+	
+}
\ No newline at end of file
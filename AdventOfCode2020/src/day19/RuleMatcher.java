@@ -0,0 +1,429 @@
+package day19;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import utils.colls.IntIntMap;
+
+/**
+ * <p>Matches messages against the satellite's rules. The rules are compiled once: rule numbers are replaced by dense indices, and every rule becomes
+ * either a literal or a list of alternatives, each of which is a sequence of rule indices. Recursive rules (such as the replacements for rules 8 and 11
+ * in part 2) need no special handling.</p>
+ * <p>Most rules are not recursive and match only a few strings (in the puzzle input, rules 42 and 31 each match 128 strings of eight characters). Each
+ * such rule that is used by a rule that is recursive or too large is compiled into a trie of the strings it matches, so matching it at a position
+ * is a single walk along the message rather than a descent through all of its subrules.</p>
+ * <p>The remaining rules are matched top-down with memoization: the set of positions at which rule {@code r} can end when it starts at position
+ * {@code p} is computed at most once per message, and is stored as a bitset of {@code (length + 1)} bits. A sequence is evaluated by OR-ing together the
+ * end sets of its next rule from every position the previous rules could have ended at, so a message is matched in time polynomial in its length no
+ * matter how ambiguous the rules are. Positions that leave too few characters for the rest of a sequence are skipped.</p>
+ * <p>The memo tables are reused from message to message (an entry is valid only if it is stamped with the current message's number, so nothing is
+ * cleared), and each thread has its own, so a {@link RuleMatcher} may be used by several threads at once; {@link #count(Stream)} matches the messages in
+ * parallel.</p>
+ * @author Sam Hooper
+ *
+ */
+public class RuleMatcher {
+
+	/** The most strings a rule may match for it to be compiled into a trie. */
+	public static final int MAX_TRIE_STRINGS = 1 << 12;
+
+	/** The dense index of rule 0. */
+	private final int root;
+	/** {@code alternatives[r][a]} is the sequence of (dense) rule indices that make up alternative {@code a} of rule {@code r}, or {@code null} if rule
+	 * {@code r} is matched with a trie. */
+	private final int[][][] alternatives;
+	/** {@code remainingLengths[r][a][i]} is the fewest characters that rules {@code i} onward of alternative {@code a} of rule {@code r} can match. A
+	 * position that leaves fewer characters than that in the message is not explored. */
+	private final int[][][] remainingLengths;
+	/** {@code ruleNumbers[r]} is the number that rule {@code r} has in the input. */
+	private final int[] ruleNumbers;
+	/** {@code trieRoots[r]} is the node at which the trie for rule {@code r} starts, or {@code -1} if rule {@code r} does not have one. */
+	private final int[] trieRoots;
+	/** {@code trieNext[node * alphabetSize + symbol]} is the child of {@code node} for {@code symbol}, or {@code -1} if there is none. */
+	private final int[] trieNext;
+	private final boolean[] trieAccepts;
+	/** {@code symbols[c]} is the index of character {@code c} in the alphabet of the literals, or {@code -1} if no literal contains {@code c}. */
+	private final int[] symbols;
+	private final int alphabetSize;
+	private final ThreadLocal<Memo> memos = ThreadLocal.withInitial(Memo::new);
+
+	/**
+	 * <p>Compiles the given rules, each of the form {@code N: "text"} or {@code N: A B | C D ...}. If several rules have the same number, the last one
+	 * is used, so rules can be replaced by appending to the stream.</p>
+	 * @throws IllegalArgumentException if a rule is malformed, if a rule refers to a rule that does not exist, or if there is no rule {@code 0}.
+	 */
+	public static RuleMatcher compile(final Stream<String> rules) {
+		final Map<Integer, String> bodies = new LinkedHashMap<>();
+		rules.forEach(rule -> {
+			final int colon = rule.indexOf(':');
+			if(colon < 0)
+				throw new IllegalArgumentException("Malformed rule: " + rule);
+			bodies.put(Integer.parseInt(rule.substring(0, colon).strip()), rule.substring(colon + 1).strip());
+		});
+		return new RuleMatcher(bodies);
+	}
+
+	private RuleMatcher(final Map<Integer, String> bodies) {
+		final int count = bodies.size();
+		final IntIntMap indices = new IntIntMap(count);
+		ruleNumbers = new int[count];
+		int next = 0;
+		for(int number : bodies.keySet()) {
+			indices.put(number, next);
+			ruleNumbers[next++] = number;
+		}
+		if(!indices.containsKey(0))
+			throw new IllegalArgumentException("There is no rule 0");
+		root = indices.getOrDefault(0, -1);
+		final String[] literals = new String[count];
+		final int[][][] sequences = new int[count][][];
+		int rule = 0;
+		for(String body : bodies.values()) {
+			if(body.startsWith("\"")) {
+				if(body.length() < 3 || !body.endsWith("\""))
+					throw new IllegalArgumentException("Malformed literal in rule " + ruleNumbers[rule] + ": " + body);
+				literals[rule] = body.substring(1, body.length() - 1);
+			}
+			else {
+				final String[] options = body.split("\\|");
+				sequences[rule] = new int[options.length][];
+				for(int a = 0; a < options.length; a++) {
+					final String[] parts = options[a].strip().split(" +");
+					final int[] sequence = sequences[rule][a] = new int[parts.length];
+					for(int i = 0; i < parts.length; i++) {
+						final int number = Integer.parseInt(parts[i]);
+						if(!indices.containsKey(number))
+							throw new IllegalArgumentException("Rule " + ruleNumbers[rule] + " refers to rule " + number + ", which does not exist");
+						sequence[i] = indices.getOrDefault(number, -1);
+					}
+				}
+			}
+			rule++;
+		}
+
+		char maxChar = 0;
+		for(String literal : literals)
+			if(literal != null)
+				for(int i = 0; i < literal.length(); i++)
+					maxChar = (char) Math.max(maxChar, literal.charAt(i));
+		symbols = new int[maxChar + 1];
+		Arrays.fill(symbols, -1);
+		int alphabet = 0;
+		for(String literal : literals)
+			if(literal != null)
+				for(int i = 0; i < literal.length(); i++)
+					if(symbols[literal.charAt(i)] < 0)
+						symbols[literal.charAt(i)] = alphabet++;
+		alphabetSize = alphabet;
+
+		final TrieBuilder tries = new TrieBuilder(literals, sequences);
+		trieRoots = new int[count];
+		Arrays.fill(trieRoots, -1);
+		for(int r = 0; r < count; r++)
+			if(tries.isSmall(r) && (r == root || tries.isUsedByLargeRule(r)))
+				trieRoots[r] = tries.build(r);
+		trieNext = Arrays.copyOf(tries.next, tries.nodes * alphabetSize);
+		trieAccepts = Arrays.copyOf(tries.accepts, tries.nodes);
+		alternatives = new int[count][][];
+		for(int r = 0; r < count; r++)
+			if(trieRoots[r] < 0)
+				alternatives[r] = sequences[r];
+		remainingLengths = remainingLengths(literals, sequences, alternatives);
+	}
+
+	/** Computes the shortest text each rule can match by relaxing every rule until nothing changes, then the suffix sums of every sequence in
+	 * {@code alternatives}. */
+	private static int[][][] remainingLengths(final String[] literals, final int[][][] sequences, final int[][][] alternatives) {
+		final int unreachable = Integer.MAX_VALUE >> 1;
+		final int[] shortest = new int[literals.length];
+		Arrays.fill(shortest, unreachable);
+		for(boolean changed = true; changed;) {
+			changed = false;
+			for(int rule = 0; rule < literals.length; rule++) {
+				int length = literals[rule] != null ? literals[rule].length() : unreachable;
+				if(sequences[rule] != null) {
+					for(int[] sequence : sequences[rule]) {
+						long sum = 0;
+						for(int r : sequence)
+							sum += shortest[r];
+						length = (int) Math.min(length, sum);
+					}
+				}
+				if(length < shortest[rule]) {
+					shortest[rule] = length;
+					changed = true;
+				}
+			}
+		}
+		final int[][][] remaining = new int[alternatives.length][][];
+		for(int rule = 0; rule < alternatives.length; rule++) {
+			if(alternatives[rule] == null)
+				continue;
+			remaining[rule] = new int[alternatives[rule].length][];
+			for(int a = 0; a < alternatives[rule].length; a++) {
+				final int[] sequence = alternatives[rule][a];
+				final int[] suffix = remaining[rule][a] = new int[sequence.length];
+				for(int i = sequence.length - 1; i >= 0; i--)
+					suffix[i] = Math.min(unreachable, shortest[sequence[i]] + (i + 1 < sequence.length ? suffix[i + 1] : 0));
+			}
+		}
+		return remaining;
+	}
+
+	/** Decides which rules are small enough to become tries, and builds them. */
+	private final class TrieBuilder {
+
+		private final String[] literals;
+		private final int[][][] sequences;
+		/** {@code strings[r]} is the number of strings rule {@code r} matches (counting a string once per derivation), capped at
+		 * {@code (MAX_TRIE_STRINGS + 1)}; that value also stands for rules that match infinitely many. {@code 0} means not yet computed. */
+		private final long[] strings;
+		private final boolean[] visiting;
+		int[] next = new int[16];
+		boolean[] accepts = new boolean[16];
+		int nodes;
+
+		TrieBuilder(final String[] literals, final int[][][] sequences) {
+			this.literals = literals;
+			this.sequences = sequences;
+			this.strings = new long[literals.length];
+			this.visiting = new boolean[literals.length];
+		}
+
+		boolean isSmall(final int rule) {
+			return strings(rule) <= MAX_TRIE_STRINGS;
+		}
+
+		private long strings(final int rule) {
+			if(strings[rule] != 0)
+				return strings[rule];
+			if(visiting[rule])
+				return MAX_TRIE_STRINGS + 1; //recursive, so it matches infinitely many strings.
+			visiting[rule] = true;
+			long total = 0;
+			if(literals[rule] != null) {
+				total = 1;
+			}
+			else {
+				for(int[] sequence : sequences[rule]) {
+					long product = 1;
+					for(int r : sequence)
+						product = Math.min(MAX_TRIE_STRINGS + 1, product * strings(r));
+					total = Math.min(MAX_TRIE_STRINGS + 1, total + product);
+				}
+			}
+			visiting[rule] = false;
+			return strings[rule] = total;
+		}
+
+		boolean isUsedByLargeRule(final int rule) {
+			for(int r = 0; r < sequences.length; r++)
+				if(sequences[r] != null && !isSmall(r))
+					for(int[] sequence : sequences[r])
+						for(int s : sequence)
+							if(s == rule)
+								return true;
+			return false;
+		}
+
+		/** Adds a trie of every string {@code rule} matches, and returns its root. */
+		int build(final int rule) {
+			final int trieRoot = newNode();
+			for(String string : expand(rule)) {
+				int node = trieRoot;
+				for(int i = 0; i < string.length(); i++) {
+					final int slot = node * alphabetSize + symbols[string.charAt(i)];
+					if(next[slot] < 0) {
+						final int child = newNode();
+						next[slot] = child;
+					}
+					node = next[slot];
+				}
+				accepts[node] = true;
+			}
+			return trieRoot;
+		}
+
+		private int newNode() {
+			if((nodes + 1) * alphabetSize > next.length)
+				next = Arrays.copyOf(next, Math.max(next.length << 1, (nodes + 1) * alphabetSize));
+			if(nodes == accepts.length)
+				accepts = Arrays.copyOf(accepts, nodes << 1);
+			Arrays.fill(next, nodes * alphabetSize, (nodes + 1) * alphabetSize, -1);
+			return nodes++;
+		}
+
+		private List<String> expand(final int rule) {
+			if(literals[rule] != null)
+				return List.of(literals[rule]);
+			final List<String> result = new ArrayList<>();
+			for(int[] sequence : sequences[rule]) {
+				List<String> prefixes = List.of("");
+				for(int r : sequence) {
+					final List<String> extended = new ArrayList<>();
+					for(String suffix : expand(r))
+						for(String prefix : prefixes)
+							extended.add(prefix + suffix);
+					prefixes = extended;
+				}
+				result.addAll(prefixes);
+			}
+			return result;
+		}
+
+	}
+
+	/**
+	 * <p>Returns {@code true} if the whole of {@code message} matches rule {@code 0}.</p>
+	 * @throws IllegalArgumentException if the rules are left-recursive (a rule can reach itself without consuming any characters).
+	 */
+	public boolean matches(final CharSequence message) {
+		final Memo memo = memos.get();
+		memo.reset(message);
+		final int length = message.length();
+		final long[] ends = memo.ends;
+		final int offset = memo.endsOf(root, 0);
+		return (ends[offset + (length >>> 6)] & (1L << length)) != 0;
+	}
+
+	/**
+	 * <p>Returns the number of {@code messages} that match rule {@code 0}. The messages are matched in parallel.</p>
+	 * @throws IllegalArgumentException if the rules are left-recursive.
+	 */
+	public long count(final Stream<? extends CharSequence> messages) {
+		return messages.parallel().filter(this::matches).count();
+	}
+
+	/** The number of compiled rules. */
+	public int ruleCount() {
+		return ruleNumbers.length;
+	}
+
+	/** The per-thread memo table and scratch space for matching one message at a time. */
+	private final class Memo {
+
+		private static final int IN_PROGRESS = 1, DONE = 2;
+
+		private CharSequence message;
+		private int length, words;
+		/** The number of the current message; an entry of {@link #state} is only valid if its stamp equals this. */
+		private int stamp;
+		/** {@code state[r * (length + 1) + p]} is the stamp of the message that entry {@code (r, p)} was computed for, shifted left by two, OR-ed with
+		 * {@link #IN_PROGRESS} or {@link #DONE}. */
+		private int[] state = new int[0];
+		/** The end-position bitset of entry {@code (r, p)} is the {@link #words} {@code longs} starting at {@code (r * (length + 1) + p) * words}. */
+		private long[] ends = new long[0];
+		/** Two bitsets of scratch space per level of recursion, each {@link #scratchWords} long. */
+		private long[][] scratch = new long[0][];
+		private int scratchWords;
+		private int depth;
+
+		void reset(final CharSequence message) {
+			this.message = message;
+			this.length = message.length();
+			this.words = (length + 64) >>> 6;
+			final int entries = alternatives.length * (length + 1);
+			if(state.length < entries || ends.length < (long) entries * words) {
+				state = new int[entries];
+				ends = new long[Math.multiplyExact(entries, words)];
+				stamp = 0;
+			}
+			if(++stamp == 1 << 29) { //the stamp no longer fits in state after being shifted; start over.
+				Arrays.fill(state, 0);
+				stamp = 1;
+			}
+			if(scratchWords < words) {
+				scratch = new long[0][];
+				scratchWords = words;
+			}
+			depth = 0;
+		}
+
+		/** Returns the index in {@link #ends} of the bitset of positions at which {@code rule} can end if it starts at {@code position}. */
+		int endsOf(final int rule, final int position) {
+			final int entry = rule * (length + 1) + position;
+			final int offset = entry * words;
+			final int current = state[entry];
+			if(current == (stamp << 2 | DONE))
+				return offset;
+			if(current == (stamp << 2 | IN_PROGRESS))
+				throw new IllegalArgumentException("Rule " + ruleNumbers[rule] + " is left-recursive");
+			state[entry] = stamp << 2 | IN_PROGRESS;
+			Arrays.fill(ends, offset, offset + words, 0);
+			if(trieRoots[rule] >= 0) {
+				walkTrie(trieRoots[rule], position, offset);
+			}
+			else {
+				final long[] result = push(), sequenceEnds = push();
+				for(int a = 0; a < alternatives[rule].length; a++) {
+					Arrays.fill(sequenceEnds, 0, words, 0);
+					sequenceEnds[position >>> 6] = 1L << position;
+					if(advance(alternatives[rule][a], remainingLengths[rule][a], sequenceEnds))
+						for(int w = 0; w < words; w++)
+							result[w] |= sequenceEnds[w];
+				}
+				System.arraycopy(result, 0, ends, offset, words);
+				depth -= 2;
+			}
+			state[entry] = stamp << 2 | DONE;
+			return offset;
+		}
+
+		/** Follows the message from {@code position} down the trie starting at {@code node}, recording every accepting node it passes in the bitset at
+		 * {@code offset} in {@link #ends}. */
+		private void walkTrie(int node, final int position, final int offset) {
+			for(int i = position; i < length; i++) {
+				final char c = message.charAt(i);
+				if(c >= symbols.length || symbols[c] < 0 || (node = trieNext[node * alphabetSize + symbols[c]]) < 0)
+					return;
+				if(trieAccepts[node])
+					ends[offset + ((i + 1) >>> 6)] |= 1L << (i + 1);
+			}
+		}
+
+		/** Replaces {@code positions} with the set of positions at which {@code sequence} can end if it starts at any of them. Returns {@code false} if
+		 * that set is empty. */
+		private boolean advance(final int[] sequence, final int[] remainingLength, final long[] positions) {
+			final long[] next = push();
+			boolean any = true;
+			for(int i = 0; i < sequence.length && any; i++) {
+				final int last = length - remainingLength[i]; //the last position from which the rest of the sequence could still fit.
+				if(last < 0) {
+					any = false;
+					break;
+				}
+				for(int w = (last >>> 6) + 1; w < words; w++)
+					positions[w] = 0;
+				positions[last >>> 6] &= -1L >>> (63 - (last & 63));
+				Arrays.fill(next, 0, words, 0);
+				any = false;
+				for(int w = 0; w < words; w++) {
+					for(long bits = positions[w]; bits != 0; bits &= bits - 1) {
+						final int offset = endsOf(sequence[i], (w << 6) + Long.numberOfTrailingZeros(bits));
+						for(int v = 0; v < words; v++) {
+							next[v] |= ends[offset + v];
+							any |= ends[offset + v] != 0;
+						}
+					}
+				}
+				System.arraycopy(next, 0, positions, 0, words);
+			}
+			depth--;
+			return any;
+		}
+
+		/** Returns a zeroed scratch bitset for the next level of recursion. */
+		private long[] push() {
+			if(depth == scratch.length) {
+				scratch = Arrays.copyOf(scratch, Math.max(8, depth << 1));
+				for(int i = depth; i < scratch.length; i++)
+					scratch[i] = new long[scratchWords];
+			}
+			final long[] bits = scratch[depth++];
+			Arrays.fill(bits, 0, words, 0);
+			return bits;
+		}
+
+	}
+
+}
\ No newline at end of file
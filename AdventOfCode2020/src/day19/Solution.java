@@ -1,13 +1,45 @@
 package day19;
 
+import java.util.*;
+import java.util.stream.Stream;
+
+import utils.*;
+
 /**
  * <p>Correct answers are 210 (Part 1) and 422 (Part 2).</p>
  * @author Sam Hooper
  *
  */
-public class Solution {
+public class Solution implements Solver {
+	
+	/** The replacements for rules 8 and 11 in part 2, which make them recursive. */
+	private static final String[] LOOPING_RULES = {"8: 42 | 42 8", "11: 42 31 | 42 11 31"};
+	
 	public static void main(String[] args) {
-		SolutionPart1.solve();
-		SolutionPart2.solve();
+		Solver.printAnswers(new Solution());
+	}
+	
+	private final String[] rules, messages;
+	
+	public Solution() {
+		String[] split = IO.text("src/day19/input.txt").split("\n\n");
+		rules = split[0].lines().toArray(String[]::new);
+		messages = split[1].lines().toArray(String[]::new);
+	}
+	
+	@Override
+	public int day() {
+		return 19;
+	}
+	
+	@Override
+	public Object part1() {
+		return RuleMatcher.compile(Arrays.stream(rules)).count(Arrays.stream(messages));
+	}
+	
+	@Override
+	public Object part2() {
+		return RuleMatcher.compile(Stream.concat(Arrays.stream(rules), Arrays.stream(LOOPING_RULES))).count(Arrays.stream(messages));
 	}
+	
 }
@@ -1,5 +1,7 @@
 package day2;
 
+import java.util.Arrays;
+
 import utils.*;
 import utils.colls.*;
 
@@ -8,15 +10,22 @@ import utils.colls.*;
  * @author Sam Hooper
  *
  */
-public class Solution {
+public class Solution implements Solver {
 	
 	public static void main(String[] args) {
-		solvePart1();
-		solvePart2();
+		Solver.printAnswers(new Solution());
+	}
+	
+	private final String[] lines = IO.strings("src/day2/input.txt");
+	
+	@Override
+	public int day() {
+		return 2;
 	}
 
-	private static void solvePart1() {
-		System.out.println(IO.lines("src/day2/input.txt").filter(Solution::isValidPasswordForPart1).count());
+	@Override
+	public Object part1() {
+		return Arrays.stream(lines).filter(Solution::isValidPasswordForPart1).count();
 	}
 	
 	/**
@@ -35,8 +44,9 @@ public class Solution {
 		return Basics.between(Strings.count(split[2], Strings.toChar(split[1])), dashNums.firstInt(), dashNums.secondInt());
 	}
 	
-	private static void solvePart2() {
-		System.out.println(IO.lines("src/day2/input.txt").filter(Solution::isValidPasswordForPart2).count());
+	@Override
+	public Object part2() {
+		return Arrays.stream(lines).filter(Solution::isValidPasswordForPart2).count();
 	}
 	
 	private static boolean isValidPasswordForPart2(String line) {
@@ -0,0 +1,202 @@
+package day20;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * <p>An index from every border to the tiles that have it. A border is a {@link Tile#SIZE}-bit number, and since a tile may be flipped, it is
+ * indexed by its {@link Tile#canonical(int) canonical} form: the lesser of its value and its reverse. There are {@code 2^SIZE} possible
+ * signatures, so the index is a plain compressed-sparse-row array rather than a map.</p>
+ * <p>The borders of every tile are also stored for all eight of its orientations, so that placing a tile never needs to rotate or flip anything. In
+ * orientation {@code o}, the tile is first flipped horizontally (left to right) if {@code (o >= 4)}, and then rotated clockwise {@code (o & 3)}
+ * times. Each border is read left to right (for the top and bottom) or top to bottom (for the left and right), as in {@link Tile}.</p>
+ * <p>Finally, every placement of a tile (a tile in one of its orientations, packed as {@code (tile * ORIENTATIONS + orientation)}) is indexed by its
+ * exact borders on each side together with the next side clockwise, so that the placements that fit next to one neighbour, or into the corner
+ * between two, are found without trying every orientation of every tile.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class EdgeIndex {
+
+	public static final int TOP = 0, RIGHT = 1, BOTTOM = 2, LEFT = 3;
+	public static final int ORIENTATIONS = 8;
+	private static final int SIGNATURES = 1 << Tile.SIZE;
+
+	/**
+	 * <p>Indexes {@code tiles}. If {@code parallel}, the borders of the tiles are computed in parallel.</p>
+	 * @throws IllegalArgumentException if a tile is not {@link Tile#SIZE} by {@link Tile#SIZE}.
+	 */
+	public static EdgeIndex build(final List<Tile> tiles, final boolean parallel) {
+		return new EdgeIndex(tiles.toArray(Tile[]::new), parallel);
+	}
+
+	private final Tile[] tiles;
+	/** The border on side {@code s} of tile {@code t} in orientation {@code o} is {@code borders[(t * ORIENTATIONS + o) * 4 + s]}. */
+	private final int[] borders;
+	/** The tiles with a side whose signature is {@code g} are {@code entries[start[g]]} (inclusive) through {@code entries[start[g + 1]]} (exclusive),
+	 * in ascending order. A tile with two such sides appears twice in a row. */
+	private final int[] start, entries;
+	/** For each side {@code s}, every placement {@code p} as {@code (key(border on side s, border on the next side clockwise) << 32 | p)}, in ascending
+	 * order. */
+	private final long[][] placements;
+	/** {@code placementStarts[s][b]} is the index into {@code placements[s]} of the first placement whose border on side {@code s} is at least
+	 * {@code b}. */
+	private final int[][] placementStarts;
+
+	private EdgeIndex(final Tile[] tiles, final boolean parallel) {
+		this.tiles = tiles;
+		this.borders = new int[tiles.length * ORIENTATIONS * 4];
+		IntStream range = IntStream.range(0, tiles.length);
+		if(parallel)
+			range = range.parallel();
+		range.forEach(this::computeBorders);
+		start = new int[SIGNATURES + 1];
+		for(int t = 0; t < tiles.length; t++)
+			for(int side = 0; side < 4; side++)
+				start[Tile.canonical(border(t, 0, side)) + 1]++;
+		for(int g = 0; g < SIGNATURES; g++)
+			start[g + 1] += start[g];
+		entries = new int[start[SIGNATURES]];
+		final int[] fill = Arrays.copyOf(start, SIGNATURES);
+		for(int t = 0; t < tiles.length; t++)
+			for(int side = 0; side < 4; side++)
+				entries[fill[Tile.canonical(border(t, 0, side))]++] = t;
+		placements = new long[4][tiles.length * ORIENTATIONS];
+		placementStarts = new int[4][SIGNATURES + 1];
+		for(int side = 0; side < 4; side++) {
+			final long[] keyed = placements[side];
+			for(int p = 0; p < keyed.length; p++)
+				keyed[p] = (long) key(borders[p * 4 + side], borders[p * 4 + (side + 1 & 3)]) << 32 | p;
+			if(parallel)
+				Arrays.parallelSort(keyed);
+			else
+				Arrays.sort(keyed);
+			for(int b = 0, k = 0; b <= SIGNATURES; b++) {
+				while(k < keyed.length && keyed[k] >>> 32 + Tile.SIZE < b)
+					k++;
+				placementStarts[side][b] = k;
+			}
+		}
+	}
+
+	private static int key(final int border, final int next) {
+		return border << Tile.SIZE | next;
+	}
+
+	/** Fills in the borders of tile {@code t} in all of its orientations, from those of the tile as given, using the same rules as {@link Tile}. */
+	private void computeBorders(final int t) {
+		final Tile tile = tiles[t];
+		final char[][] chars = tile.chars();
+		if(chars.length != Tile.SIZE || Arrays.stream(chars).anyMatch(row -> row.length != Tile.SIZE))
+			throw new IllegalArgumentException("Tile " + tile.id() + " is not " + Tile.SIZE + "x" + Tile.SIZE);
+		for(int flip = 0; flip < 2; flip++) {
+			int top = tile.top(), right = tile.right(), bottom = tile.bottom(), left = tile.left();
+			if(flip == 1) {
+				top = Tile.flipped(top);
+				bottom = Tile.flipped(bottom);
+				final int oldRight = right;
+				right = left;
+				left = oldRight;
+			}
+			for(int turns = 0; turns < 4; turns++) {
+				final int base = (t * ORIENTATIONS + flip * 4 + turns) * 4;
+				borders[base + TOP] = top;
+				borders[base + RIGHT] = right;
+				borders[base + BOTTOM] = bottom;
+				borders[base + LEFT] = left;
+				final int oldTop = top;
+				top = Tile.flipped(left);
+				left = bottom;
+				bottom = Tile.flipped(right);
+				right = oldTop;
+			}
+		}
+	}
+
+	public int tileCount() {
+		return tiles.length;
+	}
+
+	public Tile tile(final int t) {
+		return tiles[t];
+	}
+
+	/** Returns the border on side {@code side} ({@link #TOP}, {@link #RIGHT}, {@link #BOTTOM}, or {@link #LEFT}) of tile {@code t} in orientation
+	 * {@code orientation}. */
+	public int border(final int t, final int orientation, final int side) {
+		return borders[(t * ORIENTATIONS + orientation) * 4 + side];
+	}
+
+	/** Returns the number of tile sides that can match {@code border}, in either direction. */
+	public int count(final int border) {
+		final int g = Tile.canonical(border);
+		return start[g + 1] - start[g];
+	}
+
+	/** Returns the index into the entries of the first tile with a side matching {@code border}; see {@link #entry(int)}. */
+	public int entriesStart(final int border) {
+		return start[Tile.canonical(border)];
+	}
+
+	/** Returns one more than the index into the entries of the last tile with a side matching {@code border}; see {@link #entry(int)}. */
+	public int entriesEnd(final int border) {
+		return start[Tile.canonical(border) + 1];
+	}
+
+	/** Returns the tile at index {@code k} of the entries. A tile with two sides matching the same border has two entries, next to each other. */
+	public int entry(final int k) {
+		return entries[k];
+	}
+
+	/** Returns the index into the placements on side {@code side} (see {@link #placement(int, int)}) of the first whose border on that side is
+	 * {@code border} and, unless {@code next} is {@code -1}, whose border on the next side clockwise is {@code next}. */
+	public int placementsStart(final int side, final int border, final int next) {
+		final int[] starts = placementStarts[side];
+		return next < 0 ? starts[border] : lowerBound(placements[side], starts[border], starts[border + 1], key(border, next));
+	}
+
+	/** Returns one more than the index of the last placement described in {@link #placementsStart(int, int, int)}. */
+	public int placementsEnd(final int side, final int border, final int next) {
+		final int[] starts = placementStarts[side];
+		return next < 0 ? starts[border + 1] : lowerBound(placements[side], starts[border], starts[border + 1], key(border, next) + 1);
+	}
+
+	/** Returns the placement at index {@code k} of the placements on side {@code side}, packed as {@code (tile * ORIENTATIONS + orientation)}. */
+	public int placement(final int side, final int k) {
+		return (int) placements[side][k];
+	}
+
+	/** Returns the index of the first element of {@code keyed}, from {@code lo} (inclusive) to {@code hi} (exclusive), whose key is at least
+	 * {@code key}, or {@code hi} if there is none. */
+	private static int lowerBound(final long[] keyed, int lo, int hi, final int key) {
+		while(lo < hi) {
+			final int mid = lo + hi >>> 1;
+			if(keyed[mid] >>> 32 < key)
+				lo = mid + 1;
+			else
+				hi = mid;
+		}
+		return lo;
+	}
+
+	/** Returns the number of sides of tile {@code t} that match no other tile. */
+	public int unmatchedSides(final int t) {
+		int unmatched = 0;
+		for(int side = 0; side < 4; side++)
+			if(count(border(t, 0, side)) == 1)
+				unmatched++;
+		return unmatched;
+	}
+
+	/** Returns the tiles with two adjacent sides that match no other tile, in one pass over the tiles. If every border in the image is distinct,
+	 * these are exactly the four corners. */
+	public int[] corners() {
+		return IntStream.range(0, tiles.length).filter(t -> {
+			for(int side = 0; side < 4; side++)
+				if(count(border(t, 0, side)) == 1 && count(border(t, 0, (side + 1) & 3)) == 1)
+					return true;
+			return false;
+		}).toArray();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,424 @@
+package day20;
+
+import java.util.*;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import utils.colls.IntList;
+
+/**
+ * <p>Assembles the tiles of an {@link EdgeIndex} into a square image. Tiles are placed one cell at a time, and the candidates for a cell are looked
+ * up in the index by the borders of its placed neighbours, so each cell costs time proportional to the few tiles that fit there rather than to the
+ * number of tiles.</p>
+ * <p>If some tile has two adjacent sides that match no other tile, as in the puzzle input, it must be a corner, and assembly starts from it. When
+ * every border is distinct, each later cell then has exactly one candidate. A border has only {@code 2^SIZE} possible values, though, so large
+ * images must repeat borders, and then there may be no such tile. Assembly instead starts from some tile (a "seed") on a canvas big enough for the
+ * image to lie in any direction from it:</p>
+ * <ol>
+ * <li>A square {@link #block} is grown around the seed, one ring at a time. This is the expensive step, since the cells nearest the seed have few
+ * placed neighbours and so many candidates, but the block is made wide enough that it almost never fits anywhere but where the seed truly
+ * belongs.</li>
+ * <li>The block is extended one line at a time in each direction until no line fits, which finds the edges of the image, and so where in the image
+ * the seed is. Since a line is as wide as the block, a line past the edge of the image almost never fits by chance, so few lines are tried there.
+ * </li>
+ * <li>The rest of the image is filled outward from the block.</li>
+ * </ol>
+ * <p>With repeated borders a cell may have several candidates, so every step backtracks, using an explicit stack rather than recursion. Cells are
+ * filled in an order that keeps wrong choices short-lived: every cell but the first of each line added has two placed neighbours, so a tile placed
+ * wrongly is almost always caught within a cell or two.</p>
+ * <p>The more the borders repeat, the more blocks fit by chance, and the wider the block must be; once a border matches a hundred placements or so,
+ * as in images of more than about 110 by 110 tiles, there are too many blocks that fit by chance to search. Only so many seeds are tried, with
+ * only so many placements each, so such images are rejected rather than searched forever.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class Jigsaw {
+
+	/** The least {@link #radius} of the block grown around the seed. */
+	private static final int MIN_RADIUS = 3;
+	/** The width of the smallest block grown around a seed. Smaller images are assembled by {@link #assembleSmall()}. */
+	private static final int MIN_BLOCK = 2 * MIN_RADIUS + 1;
+	/** The most lines, of {@link #block} cells each, that may be expected to fit by chance against any one side of the block. */
+	private static final double CHANCE = 1e-3;
+	/** The most seeds tried before giving up on the image, and the most placements tried in growing a block around each. A seed too near the edge of
+	 * the image for the block to fit may take exponentially many placements to rule out, so it is abandoned instead. */
+	private static final int MAX_SEEDS = 16, SEED_PLACEMENTS = 1 << 23;
+
+	/**
+	 * <p>Assembles the tiles of {@code index}.</p>
+	 * @throws IllegalArgumentException if the number of tiles is not a perfect square.
+	 * @throws IllegalStateException if the tiles cannot be assembled.
+	 */
+	public static Jigsaw assemble(final EdgeIndex index) {
+		final int n = index.tileCount(), side = (int) Math.round(Math.sqrt(n));
+		if(side * side != n || n == 0)
+			throw new IllegalArgumentException("The number of tiles is not a positive perfect square: " + n);
+		final Jigsaw jigsaw = new Jigsaw(index, side);
+		final int[] corners = index.corners();
+		final boolean assembled;
+		if(corners.length > 0)
+			assembled = jigsaw.assembleFromCorner(corners[0]);
+		else if(side < MIN_BLOCK)
+			assembled = jigsaw.assembleSmall();
+		else
+			assembled = jigsaw.assembleFromSeeds();
+		if(!assembled)
+			throw new IllegalStateException("The tiles cannot be assembled");
+		return jigsaw;
+	}
+
+	private final EdgeIndex index;
+	private final int side;
+	/** The assembled image. */
+	private final Board board;
+	/** The border each side of the cell being filled must have, or {@code -1} if that side has no neighbour yet. */
+	private final int[] needs = new int[4];
+	/** The most cells of its order that the last {@link #search(Board, int[], BooleanSupplier) search} had filled at once. */
+	private int deepest;
+	/** Half the width of the block grown around the seed, not counting the seed's own row, and the width of the block. */
+	private int radius, block;
+
+	private Jigsaw(final EdgeIndex index, final int side) {
+		this.index = index;
+		this.side = side;
+		this.board = new Board(side, side);
+	}
+
+	/**
+	 * <p>Sets the {@link #radius} of the block to the least (from {@link #MIN_RADIUS} up to what fits in the image) at which a line as wide as the
+	 * block is expected to fit by chance against a side of the block that is not where it belongs, such as the edge of the image, at most
+	 * {@link #CHANCE} times.</p>
+	 * <p>The first cell of such a line has one placed neighbour, and each later cell has two, the second being the cell just placed. So if a border
+	 * matches {@code one} placements on average, and a border together with an unrelated border clockwise from it (sharing its corner pixel)
+	 * matches {@code two} placements on average, about {@code one * two^(block - 1)} lines fit by chance. When few borders repeat, {@code two} is
+	 * tiny and the least radius will do; in an image of 200 by 200 tiles it is about two thirds, and it takes a block over thirty cells wide.</p>
+	 */
+	private void chooseRadius() {
+		final int n = index.tileCount();
+		double one = 0, two = 0;
+		for(int t = 0; t < n; t++) {
+			final int top = index.border(t, 0, EdgeIndex.TOP);
+			//the two borders of a corner share its pixel, so the border clockwise is taken from the next tile that agrees with this one there.
+			int u = (t + 1) % n;
+			while(u != t && index.border(u, 0, EdgeIndex.RIGHT) >>> Tile.SIZE - 1 != (top & 1))
+				u = (u + 1) % n;
+			final int right = index.border(u, 0, EdgeIndex.RIGHT);
+			one += index.placementsEnd(EdgeIndex.TOP, top, -1) - index.placementsStart(EdgeIndex.TOP, top, -1);
+			two += index.placementsEnd(EdgeIndex.TOP, top, right) - index.placementsStart(EdgeIndex.TOP, top, right);
+		}
+		one /= n;
+		two /= n;
+		radius = MIN_RADIUS;
+		while(2 * radius + 3 <= side && one * Math.pow(two, 2 * radius) > CHANCE)
+			radius++;
+		block = 2 * radius + 1;
+	}
+
+	/** A grid of cells, each empty or holding a tile in some orientation. */
+	private final class Board {
+
+		private final int rows, cols;
+		/** The tile (as numbered by {@link Jigsaw#index}) at each cell in row-major order, or {@code -1} if the cell is empty. */
+		private final int[] tiles;
+		private final int[] orientations;
+		private final boolean[] used;
+
+		Board(final int rows, final int cols) {
+			this.rows = rows;
+			this.cols = cols;
+			this.tiles = new int[rows * cols];
+			this.orientations = new int[rows * cols];
+			this.used = new boolean[index.tileCount()];
+			Arrays.fill(tiles, -1);
+		}
+
+		/** Returns the border on side {@code s} of the tile at {@code cell}, or {@code -1} if the cell is empty. */
+		int border(final int cell, final int s) {
+			return tiles[cell] < 0 ? -1 : index.border(tiles[cell], orientations[cell], s);
+		}
+
+		void place(final int cell, final int tile, final int orientation) {
+			tiles[cell] = tile;
+			orientations[cell] = orientation;
+			used[tile] = true;
+		}
+
+		void empty(final int cell) {
+			used[tiles[cell]] = false;
+			tiles[cell] = -1;
+		}
+
+	}
+
+	/** Starts from {@code corner}, a tile with two adjacent sides that match no other tile. Any assembly has it in a corner, so no other start needs
+	 * to be tried. */
+	private boolean assembleFromCorner(final int corner) {
+		for(int o = 0; o < EdgeIndex.ORIENTATIONS; o++) {
+			if(index.count(index.border(corner, o, EdgeIndex.TOP)) == 1 && index.count(index.border(corner, o, EdgeIndex.LEFT)) == 1) {
+				board.place(0, corner, o);
+				final int last = Math.min(MIN_BLOCK, side) - 1;
+				final IntList order = new IntList(side * side);
+				for(int r = 1; r <= last; r++) {
+					for(int i = 0; i < r; i++)
+						order.add(i * side + r);
+					for(int j = 0; j <= r; j++)
+						order.add(r * side + j);
+				}
+				addRectangle(order, side, 0, side - 1, 0, side - 1, 0, last, 0, last);
+				return search(board, order.stream().toArray(), () -> true);
+			}
+		}
+		throw new IllegalArgumentException("Tile has no two adjacent unmatched sides: " + index.tile(corner));
+	}
+
+	/** Tries every tile at every cell of an image too small to hold a block of {@link #MIN_BLOCK} by {@link #MIN_BLOCK} cells. */
+	private boolean assembleSmall() {
+		for(int t = 0; t < index.tileCount(); t++) {
+			for(int cell = 0; cell < side * side; cell++) {
+				final int row = cell / side, col = cell % side;
+				board.place(cell, t, 0);
+				final IntList order = new IntList(side * side);
+				addRectangle(order, side, 0, side - 1, 0, side - 1, row, row, col, col);
+				if(search(board, order.stream().toArray(), () -> true))
+					return true;
+				board.empty(cell);
+			}
+		}
+		return false;
+	}
+
+	/** Tries up to {@link #MAX_SEEDS} tiles in turn as the seed. Any tile at least {@link #radius} cells from the edge of the image will do, so one of
+	 * the first few seeds almost always succeeds. Tiles whose borders are shared by the fewest others are tried first, since the first cells placed
+	 * around the seed have the most candidates. */
+	private boolean assembleFromSeeds() {
+		chooseRadius();
+		final long[] candidates = new long[index.tileCount()];
+		for(int t = 0; t < candidates.length; t++) {
+			candidates[t] = 1;
+			for(int s = 0; s < 4; s++)
+				candidates[t] *= index.count(index.border(t, 0, s));
+		}
+		final int[] seeds = IntStream.range(0, candidates.length).boxed().sorted(Comparator.comparingLong(t -> candidates[t]))
+				.mapToInt(Integer::intValue).toArray();
+		//the image may extend up to (side - 1) cells from the seed in any direction, and a line past that shows where it ends.
+		final Board canvas = new Board(2 * side + 1, 2 * side + 1);
+		final int center = side * canvas.cols + side;
+		final IntList rings = new IntList();
+		for(int r = 1; r <= radius; r++) {
+			final int top = side - r, bottom = side + r, left = side - r, right = side + r, w = canvas.cols;
+			for(int i = top + 1; i < bottom; i++)
+				rings.add(i * w + right);
+			for(int j = right - 1; j > left; j--)
+				rings.add(bottom * w + j);
+			rings.add(bottom * w + right);
+			for(int i = bottom - 1; i > top; i--)
+				rings.add(i * w + left);
+			rings.add(bottom * w + left);
+			for(int j = left + 1; j < right; j++)
+				rings.add(top * w + j);
+			rings.add(top * w + left);
+			rings.add(top * w + right);
+		}
+		final int[] ringOrder = rings.stream().toArray();
+		for(int k = 0; k < seeds.length && k < MAX_SEEDS; k++) {
+			canvas.place(center, seeds[k], 0);
+			if(search(canvas, ringOrder, () -> assembleAroundBlock(canvas), SEED_PLACEMENTS))
+				return true;
+			canvas.empty(center);
+		}
+		return false;
+	}
+
+	/** Finds the edges of the image around the block filled in the middle of {@code canvas}, and fills the rest of the image. Returns {@code false},
+	 * leaving only the block filled, if the image cannot be assembled around the block. */
+	private boolean assembleAroundBlock(final Board canvas) {
+		final int right = reach(canvas, 0, 1), left = reach(canvas, 0, -1), down = reach(canvas, 1, 0), up = reach(canvas, -1, 0);
+		//if a line fit past an edge by chance, the image could be in more than one place; each is tried.
+		for(int top = side - up; top + side - 1 <= side + down; top++) {
+			for(int leftCol = side - left; leftCol + side - 1 <= side + right; leftCol++) {
+				if(top > side - radius || top + side - 1 < side + radius || leftCol > side - radius || leftCol + side - 1 < side + radius)
+					continue;
+				final IntList order = new IntList(side * side);
+				addRectangle(order, canvas.cols, top, top + side - 1, leftCol, leftCol + side - 1, side - radius, side + radius, side - radius,
+						side + radius);
+				if(search(canvas, order.stream().toArray(), () -> true)) {
+					for(int r = 0; r < side; r++) {
+						System.arraycopy(canvas.tiles, (top + r) * canvas.cols + leftCol, board.tiles, r * side, side);
+						System.arraycopy(canvas.orientations, (top + r) * canvas.cols + leftCol, board.orientations, r * side, side);
+					}
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * <p>Returns how far from the seed, in the direction ({@code dRow}, {@code dCol}), lines of {@link #block} cells can be added one after another to
+	 * the block in the middle of {@code canvas}. The lines are all searched together, since a line that fits by chance may leave no way to add the
+	 * next, and the true one must then be found by backtracking. The search stops as soon as every line is filled, and the lines are left empty.</p>
+	 * <p>Since lines past the edge of the image almost never fit by chance, the search tries few ways of filling the lines before giving up. With
+	 * narrower lines it would not: a line that fits by chance would often have another that fits beyond it, and there would be exponentially many
+	 * ways to fill the lines past the edge.</p>
+	 */
+	private int reach(final Board canvas, final int dRow, final int dCol) {
+		final int[] lines = new int[(side - radius) * block];
+		for(int d = radius + 1, k = 0; d <= side; d++) {
+			for(int i = 0; i < block; i++) {
+				final int along = side - radius + i;
+				lines[k++] = dCol != 0 ? along * canvas.cols + side + dCol * d : (side + dRow * d) * canvas.cols + along;
+			}
+		}
+		if(search(canvas, lines, () -> true))
+			for(int cell : lines)
+				canvas.empty(cell);
+		return radius + deepest / block;
+	}
+
+	/** Adds to {@code order} every cell from row {@code top} to {@code bottom} and column {@code left} to {@code right} (all inclusive) outside the
+	 * band of rows from {@code bandTop} to {@code bandBottom} and columns from {@code bandLeft} to {@code bandRight}, which must already be filled.
+	 * The band is extended first, a column at a time to the right and then to the left, and then the rest of the rows are filled, those below the
+	 * band and then those above it, each starting from the band's columns. */
+	private static void addRectangle(final IntList order, final int width, final int top, final int bottom, final int left, final int right,
+			final int bandTop, final int bandBottom, final int bandLeft, final int bandRight) {
+		final int[] cols = IntStream.concat(IntStream.rangeClosed(bandLeft, right), IntStream.iterate(bandLeft - 1, c -> c >= left, c -> c - 1))
+				.toArray();
+		for(int c : cols)
+			if(c < bandLeft || c > bandRight)
+				for(int r = bandTop; r <= bandBottom; r++)
+					order.add(r * width + c);
+		for(int r = bandBottom + 1; r <= bottom; r++)
+			for(int c : cols)
+				order.add(r * width + c);
+		for(int r = bandTop - 1; r >= top; r--)
+			for(int c : cols)
+				order.add(r * width + c);
+	}
+
+	/**
+	 * <p>Fills the cells of {@code order} in turn, backtracking when a cell cannot be filled. Every cell must be empty, and must be next to a filled
+	 * cell by the time it is reached. Whenever every cell is filled, {@code accept} is asked whether to stop; if it does not, the search goes on to the
+	 * next way of filling the cells. Returns {@code true} if {@code accept} stopped the search, leaving the cells filled, or {@code false} once every
+	 * way has been tried, leaving them empty.</p>
+	 */
+	private boolean search(final Board board, final int[] order, final BooleanSupplier accept) {
+		return search(board, order, accept, Long.MAX_VALUE);
+	}
+
+	/** Searches as {@link #search(Board, int[], BooleanSupplier)} does, but gives up, leaving the cells empty, once {@code maxPlacements} placements
+	 * have been tried. */
+	private boolean search(final Board board, final int[] order, final BooleanSupplier accept, long maxPlacements) {
+		final int n = order.length;
+		//cursors[d] is the index of the next placement to try at depth d, or -1 if none have been tried.
+		final int[] cursors = new int[n + 1];
+		Arrays.fill(cursors, -1);
+		int depth = 0;
+		deepest = 0;
+		while(depth >= 0) {
+			deepest = Math.max(deepest, depth);
+			if(depth == n) {
+				if(accept.getAsBoolean())
+					return true;
+				if(--depth >= 0)
+					board.empty(order[depth]);
+			}
+			else if(--maxPlacements < 0) {
+				while(--depth >= 0)
+					board.empty(order[depth]);
+			}
+			else if(fillNext(board, order[depth], cursors, depth)) {
+				cursors[++depth] = -1;
+			}
+			else if(--depth >= 0) {
+				board.empty(order[depth]);
+			}
+		}
+		return false;
+	}
+
+	/** Fills {@code cell} with the next placement after the ones already tried at {@code depth}, if there is one. The placements are looked up by the
+	 * borders of two neighbours on adjacent sides of the cell if it has them, and otherwise by the border of one neighbour. */
+	private boolean fillNext(final Board board, final int cell, final int[] cursors, final int depth) {
+		final int row = cell / board.cols, col = cell % board.cols;
+		needs[EdgeIndex.TOP] = row > 0 ? board.border(cell - board.cols, EdgeIndex.BOTTOM) : -1;
+		needs[EdgeIndex.RIGHT] = col < board.cols - 1 ? board.border(cell + 1, EdgeIndex.LEFT) : -1;
+		needs[EdgeIndex.BOTTOM] = row < board.rows - 1 ? board.border(cell + board.cols, EdgeIndex.TOP) : -1;
+		needs[EdgeIndex.LEFT] = col > 0 ? board.border(cell - 1, EdgeIndex.RIGHT) : -1;
+		int side = -1;
+		for(int s = 0; s < 4 && side < 0; s++)
+			if(needs[s] >= 0 && needs[s + 1 & 3] >= 0)
+				side = s;
+		for(int s = 0; s < 4 && side < 0; s++)
+			if(needs[s] >= 0)
+				side = s;
+		if(side < 0)
+			throw new IllegalStateException("Cell " + cell + " has no filled neighbours");
+		final int next = needs[side + 1 & 3];
+		if(cursors[depth] < 0)
+			cursors[depth] = index.placementsStart(side, needs[side], next);
+		final int end = index.placementsEnd(side, needs[side], next);
+		while(cursors[depth] < end) {
+			final int placement = index.placement(side, cursors[depth]++);
+			final int t = placement / EdgeIndex.ORIENTATIONS, o = placement % EdgeIndex.ORIENTATIONS;
+			if(!board.used[t] && fits(t, o)) {
+				board.place(cell, t, o);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** Returns {@code true} if tile {@code t} in orientation {@code orientation} has every border in {@link #needs}. */
+	private boolean fits(final int t, final int orientation) {
+		for(int s = 0; s < 4; s++)
+			if(needs[s] >= 0 && index.border(t, orientation, s) != needs[s])
+				return false;
+		return true;
+	}
+
+	/** Returns the number of tiles in each row (and column) of the image. */
+	public int side() {
+		return side;
+	}
+
+	public Tile tileAt(final int row, final int col) {
+		return index.tile(board.tiles[row * side + col]);
+	}
+
+	/** Returns the orientation, as described in {@link EdgeIndex}, of the tile at ({@code row}, {@code col}). */
+	public int orientationAt(final int row, final int col) {
+		return board.orientations[row * side + col];
+	}
+
+	/** Returns the product of the IDs of the four corner tiles (part 1). */
+	public long cornerProduct() {
+		final int last = side - 1;
+		return (long) tileAt(0, 0).id() * tileAt(0, last).id() * tileAt(last, 0).id() * tileAt(last, last).id();
+	}
+
+	/** Returns the assembled image with the border of every tile removed. Each pixel is copied straight from its tile, without building a rotated or
+	 * flipped copy of the tile. */
+	public char[][] image() {
+		final int inner = Tile.SIZE - 2, last = Tile.SIZE - 1;
+		final char[][] image = new char[side * inner][side * inner];
+		for(int cell = 0; cell < side * side; cell++) {
+			final char[][] chars = index.tile(board.tiles[cell]).chars();
+			final int orientation = board.orientations[cell], top = cell / side * inner, left = cell % side * inner;
+			for(int i = 1; i < last; i++) {
+				for(int j = 1; j < last; j++) {
+					int r = i, c = j; //undo the rotations, then the flip, to find where this pixel came from.
+					for(int turn = orientation & 3; turn > 0; turn--) {
+						final int oldR = r;
+						r = last - c;
+						c = oldR;
+					}
+					if(orientation >= 4)
+						c = last - c;
+					image[top + i - 1][left + j - 1] = chars[r][c];
+				}
+			}
+		}
+		return image;
+	}
+
+}
\ No newline at end of file
@@ -9,55 +9,43 @@ import utils.*;
  * @author Sam Hooper
  *
  */
-public class Solution {
+public class Solution implements Solver {
 	
-	private static final Map<Integer, Tile> TILE_MAP = new HashMap<>();
-	private static final Map<Integer, char[][]> TILE_CHAR_MAP = new HashMap<>();
+	static final String INPUT = "src/day20/input.txt";
 	private static final char[][] MONSTER = {"                  # ".toCharArray(), "#    ##    ##    ###".toCharArray(), " #  #  #  #  #  #   ".toCharArray()};
+	
 	public static void main(String[] args) {
-		String[] tileTexts = IO.splitOnBlanks("src/day20/input.txt").toArray(String[]::new);
+		Solver.printAnswers(new Solution());
+	}
+	
+	private final List<Tile> tiles = new ArrayList<>();
+	private Jigsaw jigsaw;
+	
+	public Solution() {
+		this(INPUT);
+	}
+	
+	public Solution(final String inputFile) {
+		String[] tileTexts = IO.splitOnBlanks(inputFile).toArray(String[]::new);
 		for(String tileText : tileTexts)
 			parseTile(tileText);
-		solvePart1();
 	}
-
-	private static void solvePart1() {
-		Queue<Tile> queue = new ArrayDeque<>(TILE_MAP.values());
-		Amalgam amalgam = new Amalgam(queue.remove());
-		while(!queue.isEmpty()) {
-			Tile rem = queue.remove();
-			if(!amalgam.tryAdd(rem))
-				queue.add(rem);
-		}
-//		System.out.printf("FULL:%n%s%n", amalgam.fullString());
-//		amalgam.used().forEach((condensed, tile) -> {
-//			System.out.printf("%s : %s%n", Arrays.toString(Amalgam.expand(condensed)), tile);
-//		});
-		Tile[][] tiles = amalgam.tilesArray();
-		System.out.printf("%d%n", ((long) tiles[0][0].id()) * tiles[0][tiles[0].length - 1].id() *
-				tiles[tiles.length - 1][0].id() * tiles[tiles.length - 1][tiles[0].length - 1].id());
-		solvePart2(amalgam.fullChars());
+	
+	@Override
+	public int day() {
+		return 20;
 	}
 	
-	private static void solvePart2(char[][] chars) {
-		char[][] noBorders = new char[chars.length][chars[0].length];
-		for(int i = 0; i < noBorders.length; i++) {
-			for(int j = 0; j < noBorders[i].length; j++) {
-				int imod = i % 10, jmod = j % 10;
-				if(imod == 0 || imod == 9 || jmod == 0 || jmod == 9)
-					noBorders[i][j] = ' ';
-				else
-					noBorders[i][j] = chars[i][j];
-			}
-		}
-//		System.out.printf("NO BORDERS:%n");
-//		Debug.printLines(noBorders);
-		char[][] condensed = Arrays.stream(noBorders).map(String::new)
-				.filter(s -> !s.isBlank())
-				.map(s -> s.replace(" ", "")).map(String::toCharArray).toArray(char[][]::new);
-//		System.out.printf("CONDENSED:%n");
-//		Debug.printLines(condensed);
-		System.out.println(getRoughness(condensed));
+	/** Assembles the image, which {@link #part2()} then searches. */
+	@Override
+	public Object part1() {
+		jigsaw = Jigsaw.assemble(EdgeIndex.build(tiles, true));
+		return jigsaw.cornerProduct();
+	}
+	
+	@Override
+	public Object part2() {
+		return getRoughness(jigsaw.image());
 	}
 
 	private static int getRoughness(char[][] condensed) {
@@ -127,12 +115,10 @@ public class Solution {
 		}
 	}
 	
-	private static void parseTile(String tileText) {
+	private void parseTile(String tileText) {
 		String[] split = tileText.split(":\n");
 		int id = Integer.parseInt(split[0].substring(5));
-		final char[][] tileChars = Grids.chars(split[1]);
-		TILE_MAP.put(id, new Tile(tileChars, id));
-		TILE_CHAR_MAP.put(id, tileChars);
+		tiles.add(new Tile(Grids.chars(split[1]), id));
 	}
 	
 }
@@ -1,9 +0,0 @@
-package day20;
-
-/**
- * @author Sam Hooper
- *
- */
-public enum TileTransformation {
-	ROTATE_CLOCKWISE, ROTATE_COUNTERCLOCKWISE, FLIP_VERTICALLY, FLIP_HORIZONTALLY;
-}
@@ -0,0 +1,135 @@
+package day21;
+
+import java.util.*;
+import java.util.stream.*;
+
+import utils.ConstraintSolver;
+import utils.colls.IntList;
+
+/**
+ * <p>The list of foods, with every ingredient and allergen interned to a dense {@code int} ID as it is parsed. Each food is stored as its
+ * ingredient IDs and allergen IDs, in compressed-sparse-row form.</p>
+ * <p>Deduction is a {@link ConstraintSolver} in which the allergens are the variables and the ingredients are the values: the candidates of an
+ * allergen are the intersection of the ingredient bitsets of the foods that contain it, and the solver then propagates singletons and matches
+ * whatever remains.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class FoodList {
+
+	private static final String CONTAINS = " (contains ";
+
+	/**
+	 * <p>Parses one food per element of {@code foods}, such as {@code "mxmxvkd kfcds sqjhc nhms (contains dairy, fish)"}. The list of allergens
+	 * may be left off.</p>
+	 * @throws IllegalArgumentException if a food is malformed.
+	 */
+	public static FoodList parse(final Stream<String> foods) {
+		final FoodList list = new FoodList();
+		foods.forEachOrdered(list::addFood);
+		return list;
+	}
+
+	private final Map<String, Integer> ingredientIds = new HashMap<>(), allergenIds = new HashMap<>();
+	private final List<String> ingredients = new ArrayList<>(), allergens = new ArrayList<>();
+	/** The ingredients of food {@code f} are {@code foodIngredients.get(i)} for {@code i} from {@code ingredientsStart.get(f)} (inclusive) to
+	 * {@code ingredientsStart.get(f + 1)} (exclusive); its allergens are stored the same way. */
+	private final IntList ingredientsStart = new IntList(), foodIngredients = new IntList(), allergensStart = new IntList(), foodAllergens = new IntList();
+	/** The candidates of each allergen, narrowed by propagation, once {@link #solve()} has been called. */
+	private ConstraintSolver solver;
+	/** The ingredient that contains each allergen, once {@link #solve()} has been called. */
+	private int[] sources;
+
+	private FoodList() {
+		ingredientsStart.add(0);
+		allergensStart.add(0);
+	}
+
+	private void addFood(final String food) {
+		final int contains = food.indexOf(CONTAINS);
+		final String ingredientList;
+		if(contains < 0) {
+			ingredientList = food;
+		}
+		else {
+			if(!food.endsWith(")"))
+				throw new IllegalArgumentException("Invalid food: " + food);
+			ingredientList = food.substring(0, contains);
+			for(String allergen : food.substring(contains + CONTAINS.length(), food.length() - 1).split(", "))
+				foodAllergens.add(intern(allergen, allergenIds, allergens));
+		}
+		for(String ingredient : ingredientList.split(" "))
+			if(!ingredient.isEmpty())
+				foodIngredients.add(intern(ingredient, ingredientIds, ingredients));
+		ingredientsStart.add(foodIngredients.size());
+		allergensStart.add(foodAllergens.size());
+	}
+
+	private static int intern(final String name, final Map<String, Integer> ids, final List<String> names) {
+		final Integer id = ids.putIfAbsent(name, names.size());
+		if(id != null)
+			return id;
+		names.add(name);
+		return names.size() - 1;
+	}
+
+	public int foodCount() {
+		return ingredientsStart.size() - 1;
+	}
+
+	/**
+	 * <p>Deduces which ingredient contains each allergen, if it has not been deduced already. Each allergen is in exactly one ingredient, and each
+	 * ingredient contains at most one allergen.</p>
+	 * @throws IllegalStateException if no ingredients fit.
+	 */
+	private int[] solve() {
+		if(sources != null)
+			return sources;
+		solver = new ConstraintSolver(allergens.size(), ingredients.size());
+		final long[] food = new long[solver.words()];
+		for(int f = 0; f < foodCount(); f++) {
+			final int allergensFrom = allergensStart.get(f), allergensTo = allergensStart.get(f + 1);
+			if(allergensFrom == allergensTo)
+				continue;
+			final int ingredientsFrom = ingredientsStart.get(f), ingredientsTo = ingredientsStart.get(f + 1);
+			for(int i = ingredientsFrom; i < ingredientsTo; i++)
+				food[foodIngredients.get(i) >>> 6] |= 1L << foodIngredients.get(i);
+			for(int a = allergensFrom; a < allergensTo; a++)
+				solver.restrict(foodAllergens.get(a), food);
+			for(int i = ingredientsFrom; i < ingredientsTo; i++)
+				food[foodIngredients.get(i) >>> 6] = 0;
+		}
+		return sources = solver.solve();
+	}
+
+	/**
+	 * <p>Returns the number of times an ingredient that cannot contain any allergen appears in a food, counting repeats (part 1). These are the
+	 * ingredients that are not a candidate of any allergen once the candidates have been narrowed, so they do not depend on which assignment
+	 * {@link #solve()} happens to return when more than one fits.</p>
+	 * @throws IllegalStateException if no ingredients fit the allergens.
+	 */
+	public long safeIngredientAppearances() {
+		solve();
+		final boolean[] mayHaveAllergen = new boolean[ingredients.size()];
+		for(int a = 0; a < allergens.size(); a++)
+			for(int i = 0; i < ingredients.size(); i++)
+				if(solver.isCandidate(a, i))
+					mayHaveAllergen[i] = true;
+		long count = 0;
+		for(int i = 0; i < foodIngredients.size(); i++)
+			if(!mayHaveAllergen[foodIngredients.get(i)])
+				count++;
+		return count;
+	}
+
+	/**
+	 * <p>Returns the ingredients that contain allergens, sorted by the names of their allergens and separated by commas (part 2).</p>
+	 * @throws IllegalStateException if no ingredients fit the allergens.
+	 */
+	public String canonicalDangerousIngredients() {
+		final int[] sources = solve();
+		return IntStream.range(0, allergens.size()).boxed().sorted(Comparator.comparing(allergens::get))
+				.map(a -> ingredients.get(sources[a])).collect(Collectors.joining(","));
+	}
+
+}
\ No newline at end of file
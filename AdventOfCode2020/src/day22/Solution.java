@@ -3,7 +3,7 @@ package day22;
 import java.util.*;
 import java.util.stream.Collectors;
 
-import utils.IO;
+import utils.*;
 import utils.colls.*;
 
 /**
@@ -11,26 +11,37 @@ import utils.colls.*;
  * @author Sam Hooper
  *
  */
-public class Solution {
+public class Solution implements Solver {
 	
 	public static void main(String[] args) {
+		Solver.printAnswers(new Solution());
+	}
+	
+	private final List<Integer> player1, player2;
+	
+	public Solution() {
 		String[] players = IO.splitOnBlanks("src/day22/input.txt").toArray(String[]::new);
-		List<Integer> player1 = players[0].lines().skip(1).map(Integer::parseInt).collect(Collectors.toList());
-		List<Integer> player2 = players[1].lines().skip(1).map(Integer::parseInt).collect(Collectors.toList());
-		solvePart1(player1, player2);
-		solvePart2(player1, player2);
+		player1 = players[0].lines().skip(1).map(Integer::parseInt).collect(Collectors.toList());
+		player2 = players[1].lines().skip(1).map(Integer::parseInt).collect(Collectors.toList());
+	}
+	
+	@Override
+	public int day() {
+		return 22;
 	}
 	
-	private static void solvePart1(Collection<? extends Integer> p1, Collection<? extends Integer> p2) {
-		Combat c = new Combat(p1, p2);
+	@Override
+	public Object part1() {
+		Combat c = new Combat(player1, player2);
 		c.playGame();
-		System.out.println(score(c.winnerOrThrow()));
+		return score(c.winnerOrThrow());
 	}
 	
-	private static void solvePart2(Collection<? extends Integer> p1, Collection<? extends Integer> p2) {
-		RecursiveCombat c = new RecursiveCombat(p1, p2);
+	@Override
+	public Object part2() {
+		RecursiveCombat c = new RecursiveCombat(player1, player2);
 		c.playGame();
-		System.out.println(score(c.winnerOrThrow()));
+		return score(c.winnerOrThrow());
 	}
 	
 	private static int score(final Queue<Integer> queue) {
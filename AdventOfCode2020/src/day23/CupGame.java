@@ -0,0 +1,95 @@
+package day23;
+
+import java.util.Arrays;
+
+/**
+ * <p>Plays the crab's cup game. The circle is stored as a single successor array: {@code next[label]} is the label of the cup immediately clockwise
+ * of the cup labeled {@code label} (index {@code 0} is unused). A move only rewrites three entries of that array, checks the destination against the
+ * three picked-up labels directly, and allocates nothing, so even ten million cups need only about 40 MB.</p>
+ * @author Sam Hooper
+ *
+ */
+public class CupGame {
+	
+	/** The fewest cups a game can have: one current cup and three to pick up. */
+	public static final int MIN_CUPS = 4;
+	
+	private final int[] next;
+	private int current;
+	
+	/**
+	 * <p>Creates a game of {@code cupCount} cups. The first cups are labeled by {@code initialLabels} (in clockwise order, with the first being the current
+	 * cup); they are followed by the cups labeled {@code (initialLabels.length + 1)} through {@code cupCount} in ascending order.</p>
+	 * @throws IllegalArgumentException if {@code initialLabels} is not a permutation of {@code 1} through {@code initialLabels.length}, if
+	 * {@code (cupCount < initialLabels.length)}, or if {@code (cupCount < }{@link #MIN_CUPS}{@code )}.
+	 */
+	public CupGame(final int[] initialLabels, final int cupCount) {
+		if(cupCount < MIN_CUPS)
+			throw new IllegalArgumentException("A game needs at least " + MIN_CUPS + " cups");
+		if(cupCount < initialLabels.length)
+			throw new IllegalArgumentException("cupCount < initialLabels.length");
+		boolean[] seen = new boolean[initialLabels.length + 1];
+		for(int label : initialLabels) {
+			if(label < 1 || label > initialLabels.length || seen[label])
+				throw new IllegalArgumentException("The initial labels must be a permutation of 1 through " + initialLabels.length + ": " +
+						Arrays.toString(initialLabels));
+			seen[label] = true;
+		}
+		next = new int[cupCount + 1];
+		int last = 0;
+		for(int label : initialLabels)
+			last = next[last] = label;
+		for(int label = initialLabels.length + 1; label <= cupCount; label++)
+			last = next[last] = label;
+		next[last] = next[0];
+		current = next[0];
+		next[0] = 0;
+	}
+	
+	/** Creates a game whose cups are exactly those in {@code initialLabels}. */
+	public CupGame(final int[] initialLabels) {
+		this(initialLabels, initialLabels.length);
+	}
+	
+	/** Performs {@code moves} moves. */
+	public void play(long moves) {
+		final int[] next = this.next;
+		final int cupCount = next.length - 1;
+		int current = this.current;
+		for(; moves > 0; moves--) {
+			final int first = next[current], second = next[first], third = next[second];
+			next[current] = next[third];
+			int destination = current;
+			do
+				destination = destination == 1 ? cupCount : destination - 1;
+			while(destination == first || destination == second || destination == third);
+			next[third] = next[destination];
+			next[destination] = first;
+			current = next[current];
+		}
+		this.current = current;
+	}
+	
+	/** Returns the label of the cup immediately clockwise of the cup labeled {@code label}. */
+	public int after(final int label) {
+		return next[label];
+	}
+	
+	/** Returns the label of the current cup. */
+	public int current() {
+		return current;
+	}
+	
+	public int cupCount() {
+		return next.length - 1;
+	}
+	
+	/** Returns the labels of all the cups clockwise of cup {@code 1}, concatenated, not including cup {@code 1} itself. */
+	public String labelsAfter1() {
+		StringBuilder sb = new StringBuilder();
+		for(int label = next[1]; label != 1; label = next[label])
+			sb.append(label);
+		return sb.toString();
+	}
+	
+}
\ No newline at end of file
@@ -1,16 +1,32 @@
 package day23;
 
+import utils.Solver;
+
 /**
  * <p>Input:<pre>{@code 685974213}</pre></p>
  * <p>Correct answers are 82635947 (Part 1) and 157047826689 (Part 2).</p>
  * @author Sam Hooper
  *
  */
-public class Solution {
+public class Solution implements Solver {
 	
 	public static void main(String[] args) {
-		SolutionPart1.solve();
-		SolutionPart2.solve();
+		Solver.printAnswers(new Solution());
+	}
+	
+	@Override
+	public int day() {
+		return 23;
+	}
+	
+	@Override
+	public Object part1() {
+		return SolutionPart1.solve();
+	}
+	
+	@Override
+	public Object part2() {
+		return SolutionPart2.solve();
 	}
 	
 }
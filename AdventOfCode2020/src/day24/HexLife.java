@@ -0,0 +1,129 @@
+package day24;
+
+import java.util.stream.Stream;
+
+import utils.colls.*;
+
+/**
+ * <p>The lobby floor's hexagonal Game of Life. Tiles are addressed with axial coordinates {@code (q, r)}, where east is {@code +q}, southeast is
+ * {@code +r}, and northeast is {@code (+q, -r)}, so every direction is a fixed offset regardless of the row. Each coordinate is stored with a bias
+ * of {@code 2^31} in one half of a {@code long}, which lets a neighbor be reached by adding a constant to the packed key without the halves ever
+ * carrying into each other.</p>
+ * <p>Only the black tiles are stored, in an {@link OpenHashLongSet}. Each day, every black tile scatters a count to its six neighbors in a
+ * {@link LongIntMap}, and the flipping rules are applied to the tiles that received a count. The set, the spare set it is swapped with, and the
+ * count map are all reused from day to day, so a day costs time proportional to the number of black tiles and allocates nothing once the tables
+ * have grown to fit.</p>
+ * @author Sam Hooper
+ *
+ */
+public class HexLife {
+	
+	private static final long BIAS = 1L << 31;
+	private static final long ORIGIN = (BIAS << 32) | BIAS;
+	private static final long Q = 1L << 32, R = 1L;
+	private static final long EAST = Q, WEST = -Q, SOUTHEAST = R, NORTHWEST = -R, NORTHEAST = Q - R, SOUTHWEST = R - Q;
+	private static final long[] NEIGHBOR_DELTAS = {EAST, WEST, SOUTHEAST, NORTHWEST, NORTHEAST, SOUTHWEST};
+	
+	/**
+	 * <p>Returns a {@link HexLife} whose black tiles are those flipped an odd number of times by the given paths. Each path is a sequence of
+	 * directions ({@code e}, {@code se}, {@code sw}, {@code w}, {@code nw}, and {@code ne}) with no delimiters, starting from the reference tile.</p>
+	 */
+	public static HexLife fromPaths(final Stream<? extends CharSequence> paths) {
+		HexLife life = new HexLife();
+		paths.forEachOrdered(path -> life.flip(tileAt(path)));
+		return life;
+	}
+	
+	/**
+	 * <p>Returns the packed key of the tile reached by following {@code path} from the reference tile, scanning it one character at a time.</p>
+	 * @throws IllegalArgumentException if {@code path} is not a valid sequence of directions.
+	 */
+	public static long tileAt(final CharSequence path) {
+		long tile = ORIGIN;
+		for(int i = 0, length = path.length(); i < length; i++) {
+			switch(path.charAt(i)) {
+				case 'e' -> tile += EAST;
+				case 'w' -> tile += WEST;
+				case 'n', 's' -> {
+					final boolean north = path.charAt(i) == 'n';
+					final char next = ++i < length ? path.charAt(i) : '\0';
+					if(next == 'e')
+						tile += north ? NORTHEAST : SOUTHEAST;
+					else if(next == 'w')
+						tile += north ? NORTHWEST : SOUTHWEST;
+					else
+						throw new IllegalArgumentException("Invalid direction at index " + (i - 1) + " of \"" + path + "\"");
+				}
+				default -> throw new IllegalArgumentException("Invalid direction at index " + i + " of \"" + path + "\"");
+			}
+		}
+		return tile;
+	}
+	
+	/** Returns the axial {@code q} coordinate of the packed tile key. */
+	public static int q(final long tile) {
+		return (int) ((tile >>> 32) - BIAS);
+	}
+	
+	/** Returns the axial {@code r} coordinate of the packed tile key. */
+	public static int r(final long tile) {
+		return (int) ((tile & 0xFFFFFFFFL) - BIAS);
+	}
+	
+	private OpenHashLongSet black, next;
+	private final LongIntMap counts;
+	private int day;
+	
+	/** Creates a floor whose tiles are all white. */
+	public HexLife() {
+		black = new OpenHashLongSet();
+		next = new OpenHashLongSet();
+		counts = new LongIntMap();
+	}
+	
+	/** Flips the tile with the given packed key. */
+	public void flip(final long tile) {
+		if(!black.remove(tile))
+			black.add(tile);
+	}
+	
+	public boolean isBlack(final long tile) {
+		return black.contains(tile);
+	}
+	
+	/** Advances the floor by one day: a black tile with zero or more than two black neighbors becomes white, and a white tile with exactly two
+	 * black neighbors becomes black. */
+	public void step() {
+		final LongIntMap counts = this.counts;
+		final OpenHashLongSet previous = black, next = this.next;
+		counts.clear();
+		next.clear();
+		previous.forEach(tile -> {
+			for(long delta : NEIGHBOR_DELTAS)
+				counts.addTo(tile + delta, 1);
+		});
+		counts.forEach((tile, count) -> {
+			if(count == 2 || count == 1 && previous.contains(tile))
+				next.add(tile);
+		});
+		black = next;
+		this.next = previous;
+		day++;
+	}
+	
+	/** Advances the floor by {@code days} days. */
+	public void run(final int days) {
+		for(int i = 0; i < days; i++)
+			step();
+	}
+	
+	public int blackCount() {
+		return black.size();
+	}
+	
+	/** Returns the number of days that have been simulated. */
+	public int day() {
+		return day;
+	}
+	
+}
\ No newline at end of file
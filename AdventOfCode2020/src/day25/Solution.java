@@ -1,5 +1,7 @@
 package day25;
 
+import utils.Solver;
+
 /**
  * <p>Input:
  * <pre>8987316
@@ -8,23 +10,27 @@ package day25;
  * @author Sam Hooper
  *
  */
-public class Solution {
+public class Solution implements Solver {
 	
 	private static final long DIV = 20201227;
 	private static final long CARD_PUBLIC_KEY = 8987316, DOOR_PUBLIC_KEY = 14681524;
 	
 	public static void main(String[] args) {
-		solvePart1();
+		Solver.printAnswers(new Solution());
+	}
+	
+	@Override
+	public int day() {
+		return 25;
 	}
 	
-	private static void solvePart1() {
+	@Override
+	public Object part1() {
 		long num = 7;
 		for(int i = 1; ; i++) {
 			num = (num * 7) % DIV;
-			if(num == CARD_PUBLIC_KEY) {
-				System.out.println(transform(DOOR_PUBLIC_KEY, i + 1));
-				return;
-			}
+			if(num == CARD_PUBLIC_KEY)
+				return transform(DOOR_PUBLIC_KEY, i + 1);
 		}
 	}
 	
@@ -13,7 +13,7 @@ import utils.colls.IntPair;
  * @author Sam Hooper
  *
  */
-public class Solution {
+public class Solution implements Solver {
 	
 	private static final char TREE = '#';
 	private static final int PART1_DELTA_ROW = 1, PART2_DELTA_COL = 3;
@@ -21,13 +21,19 @@ public class Solution {
 	private static final IntPair[] PART2_SLOPES = {of(1, 1), of(1, 3), of(1, 5), of(1, 7), of(2, 1)};
 	
 	public static void main(String[] args) {
-		final char[][] map = IO.chars("src/day3/input.txt");
-		solvePart1(map);
-		solvePart2(map);
+		Solver.printAnswers(new Solution());
 	}
 	
-	private static final void solvePart1(final char[][] map) {
-		System.out.println(treesOnSlope(map, PART1_DELTA_ROW, PART2_DELTA_COL));
+	private final char[][] map = IO.chars("src/day3/input.txt");
+	
+	@Override
+	public int day() {
+		return 3;
+	}
+	
+	@Override
+	public Object part1() {
+		return treesOnSlope(map, PART1_DELTA_ROW, PART2_DELTA_COL);
 	}
 	
 	private static int treesOnSlope(final char[][] map, final int deltaRow, final int deltaCol) {
@@ -38,8 +44,9 @@ public class Solution {
 		return treeCount;
 	}
 	
-	private static void solvePart2(final char[][] map) {
-		System.out.println(treesOnSlopes(map, PART2_SLOPES).reduce(1, (a, b) -> a * b));
+	@Override
+	public Object part2() {
+		return treesOnSlopes(map, PART2_SLOPES).reduce(1, (a, b) -> a * b);
 	}
 	
 	/**
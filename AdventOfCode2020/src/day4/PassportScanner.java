@@ -0,0 +1,266 @@
+package day4;
+
+import java.io.*;
+
+/**
+ * <p>Checks batches of passports in a single pass over the raw bytes of the input, computing both parts at once. A field's three-letter key is
+ * packed into an {@code int} as it is read and looked up in a table indexed by a perfect hash of the eight known keys, and its value is
+ * checked by hand as soon as it ends. All that is kept about the current passport is a bitmask of the fields it has and a bitmask of the fields
+ * that are valid, so the input can be of any length.</p>
+ * <p>Fields are separated by spaces or line terminators (LF or CRLF) and passports by blank lines. Unknown fields are ignored. If a passport has
+ * the same field more than once, its last value is the one that is checked.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class PassportScanner {
+	
+	private static final int BUFFER_SIZE = 1 << 16;
+	
+	private static final int BYR = 0, IYR = 1, EYR = 2, HGT = 3, HCL = 4, ECL = 5, PID = 6, CID = 7;
+	/** Every field but {@code cid}. */
+	private static final int REQUIRED_FIELDS = (1 << CID) - 1;
+	private static final String[] KEYS = {"byr", "iyr", "eyr", "hgt", "hcl", "ecl", "pid", "cid"};
+	private static final String[] EYE_COLORS = {"amb", "blu", "brn", "gry", "grn", "hzl", "oth"};
+	/** Chosen so that {@link #hash(int, int)} maps each of {@link #KEYS} (and {@link #EYE_COLORS}) to a different index between {@code 0} and
+	 * {@code 7}. */
+	private static final int KEY_MULTIPLIER = 102171, EYE_COLOR_MULTIPLIER = 164795;
+	/** {@code KEY_TABLE[hash(key, KEY_MULTIPLIER)]} is the packed key with that hash, and {@code FIELD_TABLE} at the same index is its field. */
+	private static final int[] KEY_TABLE = new int[8], FIELD_TABLE = new int[8];
+	/** {@code EYE_COLOR_TABLE[hash(color, EYE_COLOR_MULTIPLIER)]} is the packed eye color with that hash, or {@code 0} if there is none. */
+	private static final int[] EYE_COLOR_TABLE = new int[8];
+	
+	/** The longest value that can be valid: a {@code pid} of nine digits. Only the first this many bytes of a value are kept. */
+	private static final int MAX_VALUE_LENGTH = 9;
+	
+	static {
+		for(int field = 0; field < KEYS.length; field++) {
+			final int key = pack(KEYS[field]), index = hash(key, KEY_MULTIPLIER);
+			if(KEY_TABLE[index] != 0)
+				throw new IllegalStateException("Key hash is not perfect");
+			KEY_TABLE[index] = key;
+			FIELD_TABLE[index] = field;
+		}
+		for(String color : EYE_COLORS) {
+			final int packed = pack(color), index = hash(packed, EYE_COLOR_MULTIPLIER);
+			if(EYE_COLOR_TABLE[index] != 0)
+				throw new IllegalStateException("Eye color hash is not perfect");
+			EYE_COLOR_TABLE[index] = packed;
+		}
+	}
+	
+	private static int pack(final String threeLetters) {
+		return threeLetters.charAt(0) << 16 | threeLetters.charAt(1) << 8 | threeLetters.charAt(2);
+	}
+	
+	private static int hash(final int packed, final int multiplier) {
+		return packed * multiplier >>> 29;
+	}
+	
+	/**
+	 * <p>Scans the named file.</p>
+	 * @throws UncheckedIOException if the file cannot be read.
+	 * @throws IllegalArgumentException if the file contains a key with no value.
+	 */
+	public static PassportScanner read(final String fileName) {
+		try(InputStream in = new FileInputStream(fileName)) {
+			return read(in);
+		}
+		catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * <p>Scans every byte of {@code in}. Does not close {@code in}.</p>
+	 * @throws IllegalArgumentException if {@code in} contains a key with no value.
+	 */
+	public static PassportScanner read(final InputStream in) throws IOException {
+		final PassportScanner scanner = new PassportScanner();
+		final byte[] buffer = new byte[BUFFER_SIZE];
+		for(int n; (n = in.read(buffer)) >= 0;)
+			for(int i = 0; i < n; i++)
+				scanner.accept(buffer[i]);
+		scanner.endToken();
+		scanner.endPassport();
+		return scanner;
+	}
+	
+	/** {@code true} while reading a value, {@code false} while reading a key (or between fields). */
+	private boolean inValue;
+	/** The bytes of the key read so far, packed as by {@link #pack(String)}, and how many there were. */
+	private int key, keyLength;
+	/** The first {@link #MAX_VALUE_LENGTH} bytes of the current value, and the length of the whole value. */
+	private final byte[] value = new byte[MAX_VALUE_LENGTH];
+	private int valueLength;
+	/** The field of the current value, or {@code -1} if its key is unknown. */
+	private int field;
+	private boolean lineIsBlank = true, inPassport;
+	/** Bit {@code f} is set if the current passport has field {@code f} (in {@code present}) or if it is valid (in {@code valid}). */
+	private int present, valid;
+	private int passportCount, completeCount, validCount;
+	
+	private PassportScanner() {}
+	
+	private void accept(final byte b) {
+		switch(b) {
+			case '\r':
+				break;
+			case ' ':
+				endToken();
+				break;
+			case '\n':
+				endToken();
+				if(lineIsBlank)
+					endPassport();
+				lineIsBlank = true;
+				break;
+			case ':':
+				if(inValue) { //a colon inside a value is just part of the value.
+					append(b);
+				}
+				else {
+					field = field(key, keyLength);
+					inValue = true;
+					valueLength = 0;
+					lineIsBlank = false;
+				}
+				break;
+			default:
+				append(b);
+		}
+	}
+	
+	/** Appends {@code b} to the current key or value. */
+	private void append(final byte b) {
+		if(inValue) {
+			if(valueLength < MAX_VALUE_LENGTH)
+				value[valueLength] = b;
+			valueLength++;
+		}
+		else {
+			key = key << 8 | b & 0xFF;
+			keyLength++;
+		}
+		lineIsBlank = false;
+	}
+	
+	private static int field(final int key, final int keyLength) {
+		if(keyLength != 3)
+			return -1;
+		final int index = hash(key, KEY_MULTIPLIER);
+		return KEY_TABLE[index] == key ? FIELD_TABLE[index] : -1;
+	}
+	
+	private void endToken() {
+		if(inValue) {
+			if(field >= 0) {
+				final int bit = 1 << field;
+				present |= bit;
+				if(isValid(field))
+					valid |= bit;
+				else
+					valid &= ~bit;
+			}
+			inValue = false;
+			inPassport = true;
+			key = keyLength = 0;
+		}
+		else if(keyLength > 0) {
+			throw new IllegalArgumentException("Key without a value");
+		}
+	}
+	
+	private void endPassport() {
+		if(!inPassport)
+			return;
+		passportCount++;
+		if((present & REQUIRED_FIELDS) == REQUIRED_FIELDS)
+			completeCount++;
+		if((valid & REQUIRED_FIELDS) == REQUIRED_FIELDS)
+			validCount++;
+		present = valid = 0;
+		inPassport = false;
+	}
+	
+	private boolean isValid(final int field) {
+		switch(field) {
+			case BYR: return isYearBetween(1920, 2002);
+			case IYR: return isYearBetween(2010, 2020);
+			case EYR: return isYearBetween(2020, 2030);
+			case HGT: return isValidHeight();
+			case HCL: return isValidHairColor();
+			case ECL: return isValidEyeColor();
+			case PID: return valueLength == 9 && number(0, 9) >= 0;
+			default: return true;
+		}
+	}
+	
+	private boolean isYearBetween(final int min, final int max) {
+		if(valueLength != 4)
+			return false;
+		final int year = number(0, 4);
+		return year >= min && year <= max;
+	}
+	
+	/** A number followed by {@code cm} (150 to 193) or {@code in} (59 to 76). */
+	private boolean isValidHeight() {
+		if(valueLength < 3 || valueLength > MAX_VALUE_LENGTH)
+			return false;
+		final int height = number(0, valueLength - 2);
+		final byte u1 = value[valueLength - 2], u2 = value[valueLength - 1];
+		if(u1 == 'c' && u2 == 'm')
+			return height >= 150 && height <= 193;
+		if(u1 == 'i' && u2 == 'n')
+			return height >= 59 && height <= 76;
+		return false;
+	}
+	
+	/** A {@code #} followed by exactly six lowercase hexadecimal digits. */
+	private boolean isValidHairColor() {
+		if(valueLength != 7 || value[0] != '#')
+			return false;
+		for(int i = 1; i < 7; i++) {
+			final byte b = value[i];
+			if((b < '0' || b > '9') && (b < 'a' || b > 'f'))
+				return false;
+		}
+		return true;
+	}
+	
+	private boolean isValidEyeColor() {
+		if(valueLength != 3)
+			return false;
+		final int packed = (value[0] & 0xFF) << 16 | (value[1] & 0xFF) << 8 | value[2] & 0xFF;
+		return EYE_COLOR_TABLE[hash(packed, EYE_COLOR_MULTIPLIER)] == packed;
+	}
+	
+	/** Returns the decimal number in {@code value[from..to)}, or {@code -1} if that range is empty or contains anything but digits. At most
+	 * {@link #MAX_VALUE_LENGTH} digits are read, so the result fits in an {@code int}. */
+	private int number(final int from, final int to) {
+		if(from >= to)
+			return -1;
+		int n = 0;
+		for(int i = from; i < to; i++) {
+			final int digit = value[i] - '0';
+			if(digit < 0 || digit > 9)
+				return -1;
+			n = n * 10 + digit;
+		}
+		return n;
+	}
+	
+	/** Returns the number of passports that have every required field (part 1). */
+	public int completeCount() {
+		return completeCount;
+	}
+	
+	/** Returns the number of passports whose required fields are all present and valid (part 2). */
+	public int validCount() {
+		return validCount;
+	}
+	
+	public int passportCount() {
+		return passportCount;
+	}
+	
+}
\ No newline at end of file
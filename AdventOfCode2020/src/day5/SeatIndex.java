@@ -0,0 +1,159 @@
+package day5;
+
+import java.util.Arrays;
+
+import utils.MappedText;
+
+/**
+ * <p>Records which seats are taken, given their boarding passes. A boarding pass is just the seat ID in binary, with {@code F} and {@code L} for
+ * {@code 0} and {@code B} and {@code R} for {@code 1}, so it is decoded one character at a time into a {@code long} without creating any objects.
+ * Passes may have up to {@value #MAX_PASS_LENGTH} characters, not just the ten of the puzzle.</p>
+ * <p>Taken seats are kept in a bitset of {@code longs} that covers only the range of IDs seen so far, growing in either direction as needed, so the
+ * IDs may be far from {@code 0}. The free seat between two taken ones is found a word at a time: the free bits of a word, ANDed with the word shifted
+ * each way, leave exactly the candidates.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class SeatIndex {
+	
+	public static final int MAX_PASS_LENGTH = 63;
+	
+	/**
+	 * <p>Returns the seat ID encoded by {@code pass}.</p>
+	 * @throws IllegalArgumentException if {@code pass} is empty or longer than {@link #MAX_PASS_LENGTH}, or contains a character other than {@code F},
+	 * {@code B}, {@code L}, or {@code R}.
+	 */
+	public static long decode(final CharSequence pass) {
+		final int length = pass.length();
+		checkLength(length);
+		long id = 0;
+		for(int i = 0; i < length; i++)
+			id = id << 1 | bit(pass.charAt(i));
+		return id;
+	}
+	
+	/**
+	 * <p>Returns a {@link SeatIndex} of the boarding passes on the lines of {@code text}, decoded directly from the mapped bytes.</p>
+	 * @throws IllegalArgumentException if a line is not a valid boarding pass.
+	 */
+	public static SeatIndex of(final MappedText text) {
+		final SeatIndex index = new SeatIndex();
+		text.forEachLine((offset, length) -> {
+			checkLength(length);
+			long id = 0;
+			for(int i = 0; i < length; i++)
+				id = id << 1 | bit((char) (text.byteAt(offset + i) & 0xFF));
+			index.add(id);
+		});
+		return index;
+	}
+	
+	private static void checkLength(final int length) {
+		if(length == 0 || length > MAX_PASS_LENGTH)
+			throw new IllegalArgumentException("Invalid boarding pass length: " + length);
+	}
+	
+	private static long bit(final char c) {
+		return switch(c) {
+			case 'F', 'L' -> 0;
+			case 'B', 'R' -> 1;
+			default -> throw new IllegalArgumentException("Invalid boarding pass character: '" + c + "'");
+		};
+	}
+	
+	/** Bit {@code (id & 63)} of {@code words[(id >>> 6) - firstWord]} is set if seat {@code id} is taken. */
+	private long[] words = new long[0];
+	private long firstWord;
+	private long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+	private int size;
+	
+	/** Marks seat {@code id} as taken. Returns {@code true} if it was not already. */
+	public boolean add(final long id) {
+		final long word = id >>> 6;
+		if(words.length == 0) {
+			words = new long[1];
+			firstWord = word;
+		}
+		else if(word < firstWord || word - firstWord >= words.length) {
+			final long low = Math.min(firstWord, word), high = Math.max(firstWord + words.length - 1, word);
+			final long needed = high - low + 1;
+			if(needed > Integer.MAX_VALUE - 8)
+				throw new IllegalArgumentException("Seat IDs are too far apart");
+			final long[] grown = new long[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(needed, 2L * words.length))];
+			//keep any extra room on the side that is growing.
+			final long newFirst = word < firstWord ? high - grown.length + 1 : low;
+			System.arraycopy(words, 0, grown, (int) (firstWord - newFirst), words.length);
+			words = grown;
+			firstWord = newFirst;
+		}
+		final int index = (int) (word - firstWord);
+		final long mask = 1L << id;
+		if((words[index] & mask) != 0)
+			return false;
+		words[index] |= mask;
+		min = Math.min(min, id);
+		max = Math.max(max, id);
+		size++;
+		return true;
+	}
+	
+	public boolean isTaken(final long id) {
+		final long word = (id >>> 6) - firstWord;
+		return word >= 0 && word < words.length && (words[(int) word] & (1L << id)) != 0;
+	}
+	
+	/**
+	 * <p>Returns the lowest ID whose seat is free but whose neighbors ({@code id - 1} and {@code id + 1}) are both taken.</p>
+	 * @throws IllegalStateException if there is no such seat.
+	 */
+	public long freeSeatBetweenTaken() {
+		for(int i = 0; i < words.length; i++) {
+			final long word = words[i];
+			final long below = word << 1 | (i > 0 ? words[i - 1] >>> 63 : 0); //bit j set if seat j - 1 is taken.
+			final long above = word >>> 1 | (i + 1 < words.length ? words[i + 1] << 63 : 0); //bit j set if seat j + 1 is taken.
+			final long candidates = ~word & below & above;
+			if(candidates != 0)
+				return (firstWord + i << 6) + Long.numberOfTrailingZeros(candidates);
+		}
+		throw new IllegalStateException("No free seat between two taken seats");
+	}
+	
+	/**
+	 * @throws IllegalStateException if no seat is taken.
+	 */
+	public long max() {
+		if(size == 0)
+			throw new IllegalStateException("No seat is taken");
+		return max;
+	}
+	
+	/**
+	 * @throws IllegalStateException if no seat is taken.
+	 */
+	public long min() {
+		if(size == 0)
+			throw new IllegalStateException("No seat is taken");
+		return min;
+	}
+	
+	/** Returns the number of taken seats. */
+	public int size() {
+		return size;
+	}
+	
+	@Override
+	public String toString() {
+		return "SeatIndex[size=" + size + (size == 0 ? "" : ", min=" + min + ", max=" + max) + ", words=" + words.length + "]";
+	}
+	
+	/** Returns the taken seats in ascending order. */
+	public long[] toArray() {
+		final long[] ids = new long[size];
+		int count = 0;
+		for(int i = 0; i < words.length; i++)
+			for(long bits = words[i]; bits != 0; bits &= bits - 1)
+				ids[count++] = (firstWord + i << 6) + Long.numberOfTrailingZeros(bits);
+		return Arrays.copyOf(ids, count);
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package day6;
+
+import java.io.*;
+
+/**
+ * <p>Tallies the customs declaration forms in a single pass over the raw bytes of the input, computing both parts at once. Each person's answers
+ * are a 26-bit mask (bit {@code i} for question {@code 'a' + i}); a group's "anyone" and "everyone" masks are the OR and the AND of its people's
+ * masks, and its counts are their {@link Integer#bitCount(int) bit counts}. Nothing is kept but the masks of the current group, so the input can be
+ * of any length.</p>
+ * <p>People are separated by line terminators (LF or CRLF) and groups by blank lines.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class CustomsTally {
+	
+	private static final int BUFFER_SIZE = 1 << 16;
+	
+	/**
+	 * <p>Tallies the named file.</p>
+	 * @throws UncheckedIOException if the file cannot be read.
+	 * @throws IllegalArgumentException if the file contains a character other than a lowercase letter or a line terminator.
+	 */
+	public static CustomsTally read(final String fileName) {
+		try(InputStream in = new FileInputStream(fileName)) {
+			return read(in);
+		}
+		catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * <p>Tallies every byte of {@code in}. Does not close {@code in}.</p>
+	 * @throws IllegalArgumentException if {@code in} contains a character other than a lowercase letter or a line terminator.
+	 */
+	public static CustomsTally read(final InputStream in) throws IOException {
+		final CustomsTally tally = new CustomsTally();
+		final byte[] buffer = new byte[BUFFER_SIZE];
+		for(int n; (n = in.read(buffer)) >= 0;)
+			for(int i = 0; i < n; i++)
+				tally.accept(buffer[i]);
+		tally.endLine();
+		tally.endGroup();
+		return tally;
+	}
+	
+	/** The answers of the person on the current line. */
+	private int person;
+	/** {@code true} if the current line has at least one character. */
+	private boolean inPerson;
+	/** The OR and the AND of the masks of the people in the current group. {@code everyone} is all ones before the group's first person. */
+	private int anyone, everyone = -1;
+	private boolean inGroup;
+	private long anyoneCount, everyoneCount;
+	private int groupCount;
+	
+	private CustomsTally() {}
+	
+	private void accept(final byte b) {
+		if(b >= 'a' && b <= 'z') {
+			person |= 1 << (b - 'a');
+			inPerson = true;
+		}
+		else if(b == '\n') {
+			if(inPerson)
+				endLine();
+			else
+				endGroup();
+		}
+		else if(b != '\r') {
+			throw new IllegalArgumentException("Unexpected character: '" + (char) (b & 0xFF) + "'");
+		}
+	}
+	
+	private void endLine() {
+		if(!inPerson)
+			return;
+		anyone |= person;
+		everyone &= person;
+		inGroup = true;
+		person = 0;
+		inPerson = false;
+	}
+	
+	private void endGroup() {
+		if(!inGroup)
+			return;
+		anyoneCount += Integer.bitCount(anyone);
+		everyoneCount += Integer.bitCount(everyone);
+		groupCount++;
+		anyone = 0;
+		everyone = -1;
+		inGroup = false;
+	}
+	
+	/** Returns the sum, over all groups, of the number of questions to which anyone in the group answered "yes" (part 1). */
+	public long anyoneCount() {
+		return anyoneCount;
+	}
+	
+	/** Returns the sum, over all groups, of the number of questions to which everyone in the group answered "yes" (part 2). */
+	public long everyoneCount() {
+		return everyoneCount;
+	}
+	
+	public int groupCount() {
+		return groupCount;
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,126 @@
+package day7;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import utils.*;
+
+/**
+ * <p>The luggage rules as an {@link IntGraph}. Each color is interned to a dense {@code int} ID as the rules are parsed, and there is an edge from
+ * each bag to each bag it directly contains, weighted by how many of them it contains.</p>
+ * <p>{@link #containerCount(String)} is an iterative breadth-first search over the reversed edges that marks visited bags in a bitset.
+ * {@link #bagsInside(String)} comes from a table computed once for every bag, in topological order from the innermost bags outward, so no bag is
+ * counted more than once and nothing recurses.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class BagGraph {
+
+	private static final String CONTAIN = " bags contain ", NO_OTHER_BAGS = "no other bags.";
+
+	/** Entries of {@link #insideTotals} that are not counts. */
+	private static final long CYCLIC = -1, OVERFLOWED = -2;
+
+	/**
+	 * <p>Parses one rule per element of {@code rules}, such as {@code "light red bags contain 1 bright white bag, 2 muted yellow bags."}.</p>
+	 * @throws IllegalArgumentException if a rule is malformed.
+	 */
+	public static BagGraph parse(final Stream<? extends CharSequence> rules) {
+		final IntGraph.Builder<String> builder = IntGraph.builder();
+		rules.forEachOrdered(seq -> {
+			final String rule = seq.toString();
+			final int contain = rule.indexOf(CONTAIN);
+			if(contain < 0)
+				throw new IllegalArgumentException("Invalid rule: " + rule);
+			final int container = builder.node(rule.substring(0, contain));
+			if(rule.endsWith(NO_OTHER_BAGS))
+				return;
+			for(int start = contain + CONTAIN.length(), end; start < rule.length(); start = end + 2) {
+				end = rule.indexOf(", ", start);
+				if(end < 0)
+					end = rule.length();
+				final int space = rule.indexOf(' ', start), bag = rule.lastIndexOf(" bag", end);
+				if(space < 0 || bag <= space)
+					throw new IllegalArgumentException("Invalid rule: " + rule);
+				final int count;
+				try {
+					count = Integer.parseInt(rule, start, space, 10);
+				}
+				catch(NumberFormatException e) {
+					throw new IllegalArgumentException("Invalid rule: " + rule, e);
+				}
+				builder.addEdge(container, builder.node(rule.substring(space + 1, bag)), count);
+			}
+		});
+		return new BagGraph(builder);
+	}
+
+	private final IntGraph.Builder<String> colors;
+	private final IntGraph graph;
+	/** The number of bags inside each bag, or {@link #CYCLIC} or {@link #OVERFLOWED}. Computed when first needed. */
+	private long[] insideTotals;
+
+	private BagGraph(final IntGraph.Builder<String> builder) {
+		this.colors = builder;
+		this.graph = builder.build();
+	}
+
+	/** Returns the number of distinct colors mentioned by the rules. */
+	public int bagCount() {
+		return graph.nodeCount();
+	}
+
+	/**
+	 * <p>Returns the number of colors of bag that can eventually contain a {@code color} bag (part 1). {@code color} itself is counted only if it
+	 * can eventually contain itself.</p>
+	 * @throws IllegalArgumentException if no rule mentions {@code color}.
+	 */
+	public int containerCount(final String color) {
+		return Graphs.count(Graphs.reachable(graph.reversed(), idOf(color)));
+	}
+
+	/**
+	 * <p>Returns the total number of bags inside a {@code color} bag (part 2).</p>
+	 * @throws IllegalArgumentException if no rule mentions {@code color}, or if a {@code color} bag would eventually contain itself.
+	 * @throws ArithmeticException if the total does not fit in a {@code long}.
+	 */
+	public long bagsInside(final String color) {
+		final int bag = idOf(color);
+		if(insideTotals == null)
+			insideTotals = computeInsideTotals();
+		final long total = insideTotals[bag];
+		if(total == CYCLIC)
+			throw new IllegalArgumentException("A " + color + " bag would eventually contain itself");
+		if(total == OVERFLOWED)
+			throw new ArithmeticException("long overflow");
+		return total;
+	}
+
+	/** Visits the bags in topological order of the reversed graph, so every bag comes after all of its contents. Bags on or above a cycle are not in
+	 * that order and are left {@link #CYCLIC}. */
+	private long[] computeInsideTotals() {
+		final long[] totals = new long[graph.nodeCount()];
+		Arrays.fill(totals, CYCLIC);
+		for(int bag : Graphs.topologicalOrder(graph.reversed())) {
+			long total = 0;
+			for(int e = graph.outStart(bag), end = graph.outEnd(bag); e < end && total != OVERFLOWED; e++) {
+				final long inner = totals[graph.target(e)], count = graph.weight(e);
+				//checked by hand rather than with Math.multiplyExact, since overflow is common in large inputs and exceptions are slow.
+				if(inner == OVERFLOWED || count > 0 && inner >= (Long.MAX_VALUE - total) / count)
+					total = OVERFLOWED;
+				else
+					total += count * (inner + 1);
+			}
+			totals[bag] = total;
+		}
+		return totals;
+	}
+
+	private int idOf(final String color) {
+		final int id = colors.idOf(color);
+		if(id < 0)
+			throw new IllegalArgumentException("Unknown color: " + color);
+		return id;
+	}
+
+}
\ No newline at end of file
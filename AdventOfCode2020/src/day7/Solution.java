@@ -1,102 +1,43 @@
 package day7;
 
-import java.util.*;
-
 import utils.*;
-import utils.colls.*;
 
 /**
  * <p>Correct answers are 296 (Part 1) and 9339 (Part 2).</p>
  * @author Sam Hooper
  *
  */
-public class Solution {
+public class Solution implements Solver {
 	
+	static final String INPUT = "src/day7/input.txt";
 	private static final String TARGET_COLOR = "shiny gold";
 
 	public static void main(String[] args) {
-		solvePart1();
-		solvePart2();
-	}
-	
-	private static void solvePart1() {
-		List<String[]> edges = getEdges();
-		Map<String, Collection<String>> radj = Graphs.radjMapDirected(edges, Graphs.inferNodes(edges));
-		System.out.println(dfs(radj, TARGET_COLOR).size());
+		Solver.printAnswers(new Solution());
 	}
 	
-	/**
-	 * Does not include {@code key} in the DFS.
-	 */
-	private static Set<String> dfs(final Map<String, Collection<String>> map, final String key) {
-		return dfs(map, key, new HashSet<>());
-	}
+	private final BagGraph graph;
 	
-	private static Set<String> dfs(final Map<String, Collection<String>> map, final String key, final Set<String> found) {
-		if(!map.containsKey(key))
-			return found;
-		for(String s : map.get(key)) {
-			found.add(s);
-			dfs(map, s, found);
-		}
-		return found;
+	public Solution() {
+		this(INPUT);
 	}
 	
-	private static List<String[]> getEdges() {
-		List<String[]> edges = new ArrayList<>();
-		IO.lines("src/day7/input.txt").forEach(line -> {
-			if(line.endsWith("no other bags."))
-				return;
-			String[] cSplit = line.split(" bags contain ");
-			String left = cSplit[0];
-			for(String splitHalf : cSplit[1].split(", ")) {
-				String right = splitHalf.substring(splitHalf.indexOf(' ') + 1, splitHalf.lastIndexOf(" bag"));
-				edges.add(new String[] {left, right});
-			}
-		});
-		return edges;
+	public Solution(final String inputFile) {
+		graph = BagGraph.parse(IO.map(inputFile).lines());
 	}
 	
-	private static void solvePart2() {
-		System.out.println(countContaining(getEdgeMap(), TARGET_COLOR));
+	@Override
+	public int day() {
+		return 7;
 	}
 	
-	private static long countContaining(final Map<String, List<IntObjPair<String>>> edgeMap, String color) {
-		Map<String, Long> counts = new HashMap<>();
-		for(String s : edgeMap.keySet())
-			counts.put(s, -1L);
-		return countContaining(edgeMap, color, counts);
-	}
-
-	private static long countContaining(final Map<String, List<IntObjPair<String>>> edgeMap, String color, Map<String, Long> counts) {
-		if(counts.get(color) >= 0)
-			return counts.get(color);
-		long sum = 0;
-		for(IntObjPair<String> data : edgeMap.get(color))
-			sum += data.intPart() * (countContaining(edgeMap, data.objPart(), counts) + 1);
-		counts.put(color, sum);
-		return sum;
+	@Override
+	public Object part1() {
+		return graph.containerCount(TARGET_COLOR);
 	}
 	
-	private static Map<String, List<IntObjPair<String>>> getEdgeMap() {
-		Map<String, List<IntObjPair<String>>> map = new HashMap<>();
-		IO.lines("src/day7/input.txt").forEach(line -> {
-			String[] cSplit = line.split(" bags contain ");
-			String left = cSplit[0];
-			if(line.endsWith("no other bags.")) {
-				map.put(left, Collections.emptyList());
-			}
-			else {
-				final String[] rSplit = cSplit[1].split(", ");
-				final ArrayList<IntObjPair<String>> list = new ArrayList<>(rSplit.length);
-				for(String splitHalf : rSplit) {
-					int sIndex = splitHalf.indexOf(' ');
-					String color = splitHalf.substring(sIndex + 1, splitHalf.lastIndexOf(" bag"));
-					list.add(IntObjPair.of(Integer.parseInt(splitHalf.substring(0, sIndex)), color));
-				}
-				map.put(left, list);
-			}
-		});
-		return map;
+	@Override
+	public Object part2() {
+		return graph.bagsInside(TARGET_COLOR);
 	}
 }
@@ -0,0 +1,190 @@
+package day8;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * <p>A virtual machine for the handheld game console's boot code. The program is compiled once into two parallel arrays, {@link #op} and
+ * {@link #arg}, so running it never touches a {@link String} again. A {@code Console} is immutable after compilation and may be run from any number
+ * of threads at once; every run keeps its own record of which instructions it has executed.</p>
+ * <p>A run ends when the next instruction to execute is past the end of the program (the program <em>terminates</em>) or is one that has
+ * already been executed (the program would loop forever). A jump to a negative index also ends the run without terminating.</p>
+ * @author Sam Hooper
+ *
+ */
+public class Console {
+	
+	public static final byte NOP = 0, ACC = 1, JMP = 2;
+	
+	/** The outcome of a single run. */
+	public static final class Result {
+		
+		private final boolean terminated;
+		private final long accumulator;
+		
+		private Result(final boolean terminated, final long accumulator) {
+			this.terminated = terminated;
+			this.accumulator = accumulator;
+		}
+		
+		/** {@code true} if the program ran past its last instruction, {@code false} if it was stopped before executing an instruction twice. */
+		public boolean terminated() {
+			return terminated;
+		}
+		
+		/** The value of the accumulator when the run ended. */
+		public long accumulator() {
+			return accumulator;
+		}
+		
+		@Override
+		public String toString() {
+			return (terminated ? "terminated" : "looped") + " with accumulator " + accumulator;
+		}
+		
+	}
+	
+	private final byte[] op;
+	private final int[] arg;
+	
+	/**
+	 * <p>Compiles the given program, one instruction per element.</p>
+	 * @throws IllegalArgumentException if an instruction is not {@code nop}, {@code acc}, or {@code jmp} followed by a single space and a signed
+	 * {@code int}.
+	 */
+	public Console(final String[] program) {
+		this.op = new byte[program.length];
+		this.arg = new int[program.length];
+		for(int i = 0; i < program.length; i++) {
+			final String line = program[i];
+			if(line.length() < 5 || line.charAt(3) != ' ')
+				throw new IllegalArgumentException("Malformed instruction: \"" + line + "\"");
+			op[i] = switch(line.substring(0, 3)) {
+				case "nop" -> NOP;
+				case "acc" -> ACC;
+				case "jmp" -> JMP;
+				default -> throw new IllegalArgumentException("Unknown instruction: \"" + line + "\"");
+			};
+			try {
+				arg[i] = Integer.parseInt(line, 4, line.length(), 10);
+			}
+			catch(NumberFormatException e) {
+				throw new IllegalArgumentException("Malformed argument: \"" + line + "\"", e);
+			}
+		}
+	}
+	
+	public int length() {
+		return op.length;
+	}
+	
+	/** Runs the program as written. */
+	public Result run() {
+		return run(-1);
+	}
+	
+	/** Runs the program with the instruction at index {@code patched} swapped between {@code jmp} and {@code nop}. An index that is not a
+	 * {@code jmp} or {@code nop} (including {@code -1}) patches nothing. */
+	public Result run(final int patched) {
+		final byte[] op = this.op;
+		final int[] arg = this.arg;
+		final long[] executed = new long[(op.length + 63) >>> 6];
+		long accumulator = 0;
+		int pc = 0;
+		while(pc >= 0 && pc < op.length && (executed[pc >>> 6] & (1L << pc)) == 0) {
+			executed[pc >>> 6] |= 1L << pc;
+			switch(pc == patched ? flip(op[pc]) : op[pc]) {
+				case ACC -> { accumulator += arg[pc]; pc++; }
+				case JMP -> pc += arg[pc];
+				default -> pc++;
+			}
+		}
+		return new Result(pc >= op.length, accumulator);
+	}
+	
+	private static byte flip(final byte op) {
+		return op == JMP ? NOP : op == NOP ? JMP : op;
+	}
+	
+	/** Returns the index the instruction at {@code pc} passes control to when it is executed as {@code op}. */
+	private int successor(final int pc, final byte op) {
+		return op == JMP ? pc + arg[pc] : pc + 1;
+	}
+	
+	/**
+	 * <p>Returns the index of the single {@code jmp} or {@code nop} that, once swapped, makes the program terminate, or {@code -1} if there is no such
+	 * instruction. Runs in time linear in the length of the program.</p>
+	 * <p>Every instruction has exactly one successor, so the instructions that terminate when the program is left unpatched are found by walking the
+	 * successor edges backward from every instruction that jumps or steps past the end. The unpatched program is then run from the start; the first
+	 * instruction it executes whose swapped successor is past the end or is one of those terminating instructions is the answer. (The swapped
+	 * instruction cannot be executed again afterward, since it does not itself terminate when unpatched.)</p>
+	 */
+	public int findPatch() {
+		final int n = op.length;
+		final int[] predecessorStart = new int[n + 1];
+		for(int pc = 0; pc < n; pc++) {
+			final int next = successor(pc, op[pc]);
+			if(next >= 0 && next < n)
+				predecessorStart[next + 1]++;
+		}
+		for(int i = 0; i < n; i++)
+			predecessorStart[i + 1] += predecessorStart[i];
+		final int[] predecessors = new int[predecessorStart[n]], fill = Arrays.copyOf(predecessorStart, n);
+		final int[] stack = new int[n];
+		final boolean[] terminates = new boolean[n];
+		int top = 0;
+		for(int pc = 0; pc < n; pc++) {
+			final int next = successor(pc, op[pc]);
+			if(next >= n) {
+				terminates[pc] = true;
+				stack[top++] = pc;
+			}
+			else if(next >= 0)
+				predecessors[fill[next]++] = pc;
+		}
+		while(top > 0) {
+			final int pc = stack[--top];
+			for(int k = predecessorStart[pc], end = predecessorStart[pc + 1]; k < end; k++) {
+				final int p = predecessors[k];
+				if(!terminates[p]) {
+					terminates[p] = true;
+					stack[top++] = p;
+				}
+			}
+		}
+		final boolean[] executed = new boolean[n];
+		for(int pc = 0; pc >= 0 && pc < n && !executed[pc]; pc = successor(pc, op[pc])) {
+			executed[pc] = true;
+			if(op[pc] == ACC)
+				continue;
+			final int swapped = successor(pc, flip(op[pc]));
+			if(swapped >= n || swapped >= 0 && terminates[swapped])
+				return pc;
+		}
+		return -1;
+	}
+	
+	/**
+	 * <p>Returns the index of the first {@code jmp} or {@code nop} that, once swapped, makes the program terminate, or {@code -1} if there is no such
+	 * instruction, by running the whole program once for every candidate. If {@code parallel}, the candidates are tried across all available
+	 * cores. This takes time quadratic in the length of the program; prefer {@link #findPatch()}.</p>
+	 */
+	public int findPatchBruteForce(final boolean parallel) {
+		IntStream candidates = IntStream.range(0, op.length).filter(pc -> op[pc] != ACC);
+		if(parallel)
+			candidates = candidates.parallel();
+		return candidates.filter(pc -> run(pc).terminated()).findFirst().orElse(-1);
+	}
+	
+	/**
+	 * <p>Returns the value of the accumulator when the program, with its one corrupted instruction swapped, terminates.</p>
+	 * @throws IllegalStateException if no single swap makes the program terminate.
+	 */
+	public long terminatingValueAfterPatch() {
+		final int patch = findPatch();
+		if(patch < 0)
+			throw new IllegalStateException("Could not find the correct instruction to modify");
+		return run(patch).accumulator();
+	}
+	
+}
\ No newline at end of file
@@ -9,55 +9,34 @@ import utils.*;
  * @author Sam Hooper
  *
  */
-public class Solution {
+public class Solution implements Solver {
 	
 	private static final int PREAMBLE_LENGTH = 25;
 	
 	public static void main(String[] args) {
-		long[] input = IO.lines("src/day9/input.txt").mapToLong(Long::parseLong).toArray();
-		solvePart1(input);
-		solvePart2(input);
+		Solver.printAnswers(new Solution());
 	}
 	
-	private static void solvePart1(final long[] input) {
-		System.out.println(firstNon25(input));
+	private final long[] input = IO.longs("src/day9/input.txt").toArray();
+	
+	@Override
+	public int day() {
+		return 9;
 	}
-
-	private static long firstNon25(final long[] input) {
-		for(int i = PREAMBLE_LENGTH; i < input.length; i++) {
-			boolean found = false;
-			inner1:
-			for(int j = i - PREAMBLE_LENGTH; j < i; j++) {
-				for(int k = j + 1; k < i; k++) {
-					if(input[j] + input[k] == input[i]) {
-						found = true;
-						break inner1;
-					}
-				}
-			}
-			if(!found)
-				return input[i];
-		}
-		throw new IllegalArgumentException();
+	
+	@Override
+	public Object part1() {
+		return firstInvalid();
 	}
 	
-	private static void solvePart2(final long[] input) {
-		LongSummaryStatistics summary = Arrays.stream(contiguousSum(input, firstNon25(input))).summaryStatistics();
-		System.out.println(summary.getMin() + summary.getMax());
+	private long firstInvalid() {
+		return XmasValidator.firstInvalid(Arrays.stream(input), PREAMBLE_LENGTH).orElseThrow(IllegalArgumentException::new);
 	}
 	
-	private static long[] contiguousSum(final long[] input, final long target) {
-		final long[] summed = Arrs.summed(input);
-		int low = 0, high = 0; //inclusive
-		outer:
-		for(; low < summed.length; low++) {
-			for(high = low; high < summed.length; high++) {
-				if(Arrs.sumRangeInclusive(summed, low, high) == target) {
-					break outer;
-				}
-			}
-		}
-		return Arrays.copyOfRange(input, low, high + 1);
+	@Override
+	public Object part2() {
+		LongSummaryStatistics summary = Arrays.stream(XmasValidator.contiguousRange(Arrays.stream(input), firstInvalid())).summaryStatistics();
+		return summary.getMin() + summary.getMax();
 	}
 	
 }
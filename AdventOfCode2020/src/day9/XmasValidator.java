@@ -0,0 +1,124 @@
+package day9;
+
+import java.util.*;
+import java.util.stream.LongStream;
+
+import utils.colls.LongIntMap;
+
+/**
+ * <p>Checks an XMAS-encoded stream of numbers one value at a time. The last {@code windowLength} values are kept both in a ring buffer (to know which
+ * value leaves the window next) and in a multiset of counts (to answer "is {@code x} in the window?" in constant time), so each value is checked in
+ * {@code O(windowLength)} time rather than by trying every pair. Nothing but the window is retained, so the stream may be arbitrarily long.</p>
+ * @author Sam Hooper
+ *
+ */
+public class XmasValidator {
+	
+	public static final int DEFAULT_WINDOW_LENGTH = 25;
+	
+	/**
+	 * <p>Returns the first value of {@code values} (after the first {@code windowLength}) that is not the sum of two of the {@code windowLength}
+	 * values before it, or an empty {@link OptionalLong} if there is none. {@code values} is consumed only up to that value.</p>
+	 * @throws IllegalArgumentException if {@code (windowLength < 2)}.
+	 */
+	public static OptionalLong firstInvalid(final LongStream values, final int windowLength) {
+		final XmasValidator validator = new XmasValidator(windowLength);
+		for(PrimitiveIterator.OfLong itr = values.iterator(); itr.hasNext();) {
+			final long value = itr.next();
+			if(!validator.accept(value))
+				return OptionalLong.of(value);
+		}
+		return OptionalLong.empty();
+	}
+	
+	/**
+	 * <p>Returns the first run of at least two consecutive values of {@code values} that sums to {@code target}. The run is found with two pointers
+	 * in a single pass: a value is added at the back whenever the sum is too small and removed from the front whenever it is too large, which is
+	 * only correct because the values cannot be negative. Only the current run is retained.</p>
+	 * @throws IllegalArgumentException if a negative value is encountered before the run is found, or if there is no such run.
+	 */
+	public static long[] contiguousRange(final LongStream values, final long target) {
+		long[] run = new long[16];
+		int head = 0, tail = 0; //the current run is run[head] (inclusive) through run[tail] (exclusive).
+		long sum = 0;
+		for(PrimitiveIterator.OfLong itr = values.iterator(); itr.hasNext();) {
+			final long value = itr.next();
+			if(value < 0)
+				throw new IllegalArgumentException("Negative value: " + value);
+			if(tail == run.length) {
+				if(head >= run.length >>> 1)
+					System.arraycopy(run, head, run, 0, tail - head);
+				else
+					run = Arrays.copyOfRange(run, head, run.length << 1);
+				tail -= head;
+				head = 0;
+			}
+			run[tail++] = value;
+			sum += value;
+			while(sum > target && head < tail)
+				sum -= run[head++];
+			if(sum == target && tail - head >= 2)
+				return Arrays.copyOfRange(run, head, tail);
+		}
+		throw new IllegalArgumentException("No run of at least two values sums to " + target);
+	}
+	
+	private final long[] window;
+	/** The number of times each value occurs in {@link #window}. Values with a count of zero are removed. */
+	private final LongIntMap counts;
+	/** The index in {@link #window} that the next accepted value is written to. */
+	private int next;
+	private long accepted;
+	
+	public XmasValidator() {
+		this(DEFAULT_WINDOW_LENGTH);
+	}
+	
+	/**
+	 * @throws IllegalArgumentException if {@code (windowLength < 2)}.
+	 */
+	public XmasValidator(final int windowLength) {
+		if(windowLength < 2)
+			throw new IllegalArgumentException("The window must hold at least two values: " + windowLength);
+		this.window = new long[windowLength];
+		this.counts = new LongIntMap(windowLength);
+	}
+	
+	/**
+	 * <p>Checks {@code value} against the current window, then slides the window forward to include it. Returns {@code true} if {@code value} is valid:
+	 * that is, if it is one of the first {@link #windowLength()} values, or if it is the sum of two values in the window at different positions
+	 * (the two values may be equal, provided that they both occur in the window).</p>
+	 */
+	public boolean accept(final long value) {
+		final boolean valid = accepted < window.length || isPairSum(value);
+		if(accepted >= window.length) {
+			final long leaving = window[next];
+			if(counts.addTo(leaving, -1) == 0)
+				counts.remove(leaving);
+		}
+		window[next] = value;
+		counts.addTo(value, 1);
+		next = next + 1 == window.length ? 0 : next + 1;
+		accepted++;
+		return valid;
+	}
+	
+	private boolean isPairSum(final long value) {
+		for(long a : window) {
+			final long b = value - a;
+			if(b == a ? counts.getOrDefault(b, 0) >= 2 : counts.containsKey(b))
+				return true;
+		}
+		return false;
+	}
+	
+	public int windowLength() {
+		return window.length;
+	}
+	
+	/** Returns the number of values passed to {@link #accept(long)} so far. */
+	public long accepted() {
+		return accepted;
+	}
+	
+}
\ No newline at end of file
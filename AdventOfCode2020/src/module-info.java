@@ -3,4 +3,33 @@
  *
  */
 module adventOfCode2020 {
+	requires java.management;
+	
+	uses utils.Solver;
+	provides utils.Solver with
+		day1.Solution,
+		day2.Solution,
+		day3.Solution,
+		day4.Solution,
+		day5.Solution,
+		day6.Solution,
+		day7.Solution,
+		day8.Solution,
+		day9.Solution,
+		day10.Solution,
+		day11.Solution,
+		day12.Solution,
+		day13.Solution,
+		day14.Solution,
+		day15.Solution,
+		day16.Solution,
+		day17.Solution,
+		day18.Solution,
+		day19.Solution,
+		day20.Solution,
+		day21.Solution,
+		day22.Solution,
+		day23.Solution,
+		day24.Solution,
+		day25.Solution;
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package testing;
+
+import day8.Console;
+import utils.IO;
+
+/**
+ * <p>Times the patch search of a {@link Console}: the linear search and the parallel brute force on the day 8 input, and then the linear search on a
+ * synthetic program whose length may be given as the first argument (default 1,000,000).</p>
+ * @author Sam Hooper
+ *
+ */
+public class ConsoleBenchmark {
+
+	public static void main(String[] args) {
+		final Console console = new Console(IO.strings("src/day8/input.txt"));
+		System.out.printf("Patch search (linear): %.3f ms%n", Timing.time(console::findPatch) / 1e6);
+		System.out.printf("Patch search (brute force, parallel): %.3f ms%n", Timing.time(() -> console.findPatchBruteForce(true)) / 1e6);
+		final int length = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+		final Console big = new Console(chain(length));
+		System.out.printf("Patch search over %d instructions: %.3f ms%n", length, Timing.time(big::findPatch) / 1e6);
+	}
+
+	/** Returns a program of {@code length} instructions that loops unless its final {@code jmp} is patched into a {@code nop}. */
+	private static String[] chain(final int length) {
+		final String[] program = new String[length];
+		for(int i = 0; i < length - 1; i++)
+			program[i] = i % 3 == 0 ? "nop +7" : "acc +1";
+		program[length - 1] = "jmp -" + (length - 1);
+		return program;
+	}
+
+}
\ No newline at end of file
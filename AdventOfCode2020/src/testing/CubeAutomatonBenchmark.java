@@ -0,0 +1,24 @@
+package testing;
+
+import day17.*;
+import utils.IO;
+
+/**
+ * <p>Prints the number of active cells after six generations of the day 17 input in 3 through 7 dimensions, along with the time each
+ * {@link CubeAutomaton} took and how many cells it stored.</p>
+ * @author Sam Hooper
+ *
+ */
+public class CubeAutomatonBenchmark {
+
+	public static void main(String[] args) {
+		final char[][] input = IO.chars("src/day17/input.txt");
+		for(int dimensions = 3; dimensions <= 7; dimensions++) {
+			final CubeAutomaton automaton = CubeAutomaton.fromSlice(input, Solution.ACTIVE, dimensions);
+			final long nanos = Timing.time(() -> automaton.run(Solution.ITERATIONS));
+			System.out.printf("%dD: %d active cells (%d stored) after %d generations in %.3f ms%n", dimensions, automaton.activeCount(),
+					automaton.storedCellCount(), automaton.generation(), nanos / 1e6);
+		}
+	}
+
+}
\ No newline at end of file
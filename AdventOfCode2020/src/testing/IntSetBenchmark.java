@@ -0,0 +1,84 @@
+package testing;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import utils.colls.*;
+
+/**
+ * <p>Compares {@link OpenHashIntSet} against {@link HashIntSet} and {@link HashSet HashSet&lt;Integer&gt;} on the same seeded workload: a round of
+ * {@code add}s, a round of {@code contains} lookups (half hits, half misses), and a round of {@code remove}s. Each implementation is run a few times
+ * before being measured so that the JIT has compiled the hot paths.</p>
+ * @author Sam Hooper
+ *
+ */
+public class IntSetBenchmark {
+
+	private static final int ELEMENTS = 2_000_000;
+	private static final int WARMUP_ROUNDS = 3;
+	private static final long SEED = 2020;
+
+	public static void main(String[] args) {
+		final int[] values = new Random(SEED).ints(ELEMENTS).toArray();
+		final int[] probes = new int[ELEMENTS];
+		Random random = new Random(SEED + 1);
+		for(int i = 0; i < ELEMENTS; i++)
+			probes[i] = (i & 1) == 0 ? values[random.nextInt(ELEMENTS)] : random.nextInt();
+
+		benchmark("OpenHashIntSet", () -> new OpenHashIntSet(), values, probes);
+		benchmark("HashIntSet", () -> new HashIntSet(), values, probes);
+		benchmark("HashSet<Integer>", () -> new HashSet<>(), values, probes);
+	}
+
+	private static void benchmark(final String name, final Supplier<Set<Integer>> factory, final int[] values, final int[] probes) {
+		for(int i = 0; i < WARMUP_ROUNDS; i++)
+			runOnce(factory.get(), values, probes);
+		final long[] result = runOnce(factory.get(), values, probes);
+		System.out.printf("%-18s add: %5d ms, contains: %5d ms, remove: %5d ms, footprint when full: ~%d MB%n", name,
+				result[0] / 1_000_000, result[1] / 1_000_000, result[2] / 1_000_000, result[3] >> 20);
+	}
+
+	/** Returns the nanoseconds taken by the add, contains and remove rounds, followed by the approximate number of bytes the set occupied when full. */
+	private static long[] runOnce(final Set<Integer> set, final int[] values, final int[] probes) {
+		final long[] result = new long[4];
+		System.gc();
+		final long emptyMemory = usedMemory();
+		final IntSet intSet = set instanceof IntSet ? (IntSet) set : null;
+		result[0] = Timing.time(() -> {
+			if(intSet != null)
+				for(int v : values)
+					intSet.add(v);
+			else
+				for(int v : values)
+					set.add(v);
+		});
+		final int[] hits = new int[1];
+		result[1] = Timing.time(() -> {
+			if(intSet != null)
+				for(int p : probes)
+					hits[0] += intSet.contains(p) ? 1 : 0;
+			else
+				for(int p : probes)
+					hits[0] += set.contains(p) ? 1 : 0;
+		});
+		System.gc();
+		result[3] = usedMemory() - emptyMemory;
+		result[2] = Timing.time(() -> {
+			if(intSet != null)
+				for(int v : values)
+					intSet.remove(v);
+			else
+				for(int v : values)
+					set.remove(v);
+		});
+		if(hits[0] < probes.length / 2 || !set.isEmpty())
+			throw new IllegalStateException(set.getClass().getSimpleName() + " produced inconsistent results");
+		return result;
+	}
+
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+}
\ No newline at end of file
@@ -1,6 +1,9 @@
 package testing;
 
-import utils.colls.HashIntSet;
+import java.util.*;
+import java.util.PrimitiveIterator.OfInt;
+
+import utils.colls.*;
 
 /**
  * @author Sam Hooper
@@ -47,6 +50,45 @@ public class IntSetTesting {
 			for(int i = 0; i < 10_000; i++)
 				s.add(i);
 		});
+		
+		testAgainstHashSet(new OpenHashIntSet(0));
+		testAgainstHashSet(new HashIntSet());
+	}
+	
+	/** Applies the same random adds, removes and iterator removes to {@code set} and to a {@link HashSet}, checking that they always agree.
+	 * Values are drawn from a small range so that probe runs collide, wrap around the table, and include {@code 0}. */
+	private static void testAgainstHashSet(IntSet set) {
+		Random random = new Random(25);
+		Set<Integer> expected = new HashSet<>();
+		for(int round = 0; round < 200; round++) {
+			for(int i = 0; i < 100; i++) {
+				int val = random.nextInt(300) - 150;
+				if(random.nextInt(3) == 0)
+					check(set.remove(val) == expected.remove(val));
+				else
+					check(set.add(val) == expected.add(val));
+			}
+			int modulus = 2 + random.nextInt(5);
+			Set<Integer> before = new HashSet<>(expected), seen = new HashSet<>();
+			for(OfInt itr = set.iterator(); itr.hasNext();) {
+				int val = itr.nextInt();
+				check(seen.add(val));
+				if(Math.floorMod(val, modulus) == 0) {
+					itr.remove();
+					expected.remove(val);
+				}
+			}
+			check(seen.equals(before));
+			check(set.size() == expected.size() && set.containsAll(expected) && expected.containsAll(set));
+			for(int val = -160; val < 160; val++)
+				check(set.contains(val) == expected.contains(val));
+		}
+		System.out.printf("%s agrees with HashSet%n", set.getClass().getSimpleName());
+	}
+	
+	private static void check(boolean condition) {
+		if(!condition)
+			throw new AssertionError();
 	}
 	
 }
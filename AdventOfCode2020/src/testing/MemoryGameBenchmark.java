@@ -0,0 +1,29 @@
+package testing;
+
+import java.util.Arrays;
+
+import day15.*;
+
+/**
+ * <p>Measures how many turns per second a {@link MemoryGame} plays, using the day 15 input. The number of turns may be given as the first argument
+ * (default 30,000,000). The first game is a warmup that also allocates the table, so the table's allocation is not timed; the fastest of the next
+ * three games is reported. For JMH measurements at several sizes, see {@code testing.jmh.EngineBenchmark}.</p>
+ * @author Sam Hooper
+ *
+ */
+public class MemoryGameBenchmark {
+
+	public static void main(String[] args) {
+		final int[] seed = Arrays.stream(Solution.INPUT.split(",")).mapToInt(Integer::parseInt).toArray();
+		final int n = args.length > 0 ? Integer.parseInt(args[0]) : 30_000_000;
+		final MemoryGame game = new MemoryGame();
+		final int[] answer = new int[1];
+		final Runnable play = () -> answer[0] = game.nth(seed, n);
+		play.run();
+		long best = Long.MAX_VALUE;
+		for(int i = 0; i < 3; i++)
+			best = Math.min(best, Timing.time(play));
+		System.out.printf("Turn %d: %d in %.3f ms (%.1f million turns per second)%n", n, answer[0], best / 1e6, n * 1e3 / best);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+package testing;
+
+import java.util.*;
+
+import utils.colls.*;
+
+/**
+ * <p>Measures the time and retained memory of the primitive maps in {@link utils.colls} against the boxed {@link HashMap HashMaps} they replaced,
+ * using the workloads of the puzzles that motivated them: the memory game from day 15 (an {@code int -> int} map of "last turn spoken") and the
+ * floating-address memory from day 14 (a {@code long -> long} map of address to value). Both sides of each comparison must produce the same answer.</p>
+ * @author Sam Hooper
+ *
+ */
+public class PrimitiveMapBenchmark {
+
+	private static final int[] DAY15_SEED = {18, 11, 9, 0, 5, 1};
+	private static final int DAY15_TURNS = 30_000_000;
+	private static final int DAY14_WRITES = 2_000_000;
+	private static final long SEED = 2020;
+
+	public static void main(String[] args) {
+		System.out.println("Day 15 memory game, " + DAY15_TURNS + " turns:");
+		final long[] boxed = measure(PrimitiveMapBenchmark::day15Boxed);
+		final long[] primitive = measure(PrimitiveMapBenchmark::day15Primitive);
+		report("HashMap<Integer, Integer>", boxed);
+		report("IntIntMap", primitive);
+		check(boxed[0] == primitive[0]);
+
+		System.out.println("Day 14 style memory, " + DAY14_WRITES + " random writes:");
+		final long[] boxedMemory = measure(PrimitiveMapBenchmark::day14Boxed);
+		final long[] primitiveMemory = measure(PrimitiveMapBenchmark::day14Primitive);
+		report("HashMap<Long, Long>", boxedMemory);
+		report("LongLongMap", primitiveMemory);
+		check(boxedMemory[0] == primitiveMemory[0]);
+	}
+
+	@FunctionalInterface
+	private interface Workload {
+		/** Runs the workload, storing its answer in {@code result[0]} and, just before returning, the approximate number of bytes its map occupies in
+		 * {@code result[2]}. */
+		void run(long[] result);
+	}
+
+	/** Returns the workload's answer, the nanoseconds it took (including the final memory measurement), and the bytes its map retained. */
+	private static long[] measure(Workload workload) {
+		final long[] result = new long[3];
+		System.gc();
+		final long before = usedMemory();
+		result[1] = Timing.time(() -> workload.run(result));
+		result[2] -= before;
+		return result;
+	}
+
+	private static void report(String name, long[] result) {
+		System.out.printf("\t%-26s %6d ms, ~%4d MB retained (answer %d)%n", name, result[1] / 1_000_000, result[2] >> 20, result[0]);
+	}
+
+	private static void day15Boxed(long[] result) {
+		Map<Integer, Integer> lastSpoken = new HashMap<>();
+		int last = DAY15_SEED[DAY15_SEED.length - 1];
+		for(int i = 0; i < DAY15_SEED.length - 1; i++)
+			lastSpoken.put(DAY15_SEED[i], i);
+		for(int turn = DAY15_SEED.length - 1; turn < DAY15_TURNS - 1; turn++) {
+			Integer previous = lastSpoken.put(last, turn);
+			last = previous == null ? 0 : turn - previous;
+		}
+		result[0] = last;
+		result[2] = retainedMemory();
+		lastSpoken.size();
+	}
+
+	private static void day15Primitive(long[] result) {
+		IntIntMap lastSpoken = new IntIntMap();
+		int last = DAY15_SEED[DAY15_SEED.length - 1];
+		for(int i = 0; i < DAY15_SEED.length - 1; i++)
+			lastSpoken.put(DAY15_SEED[i], i);
+		for(int turn = DAY15_SEED.length - 1; turn < DAY15_TURNS - 1; turn++) {
+			int previous = lastSpoken.getAndPut(last, turn, -1);
+			last = previous < 0 ? 0 : turn - previous;
+		}
+		result[0] = last;
+		result[2] = retainedMemory();
+		lastSpoken.size();
+	}
+
+	private static void day14Boxed(long[] result) {
+		Map<Long, Long> memory = new HashMap<>();
+		Random random = new Random(SEED);
+		for(int i = 0; i < DAY14_WRITES; i++)
+			memory.put(random.nextLong() & 0xFFFFFFFFFL, random.nextLong() & 0xFFFFFFFFL);
+		result[0] = memory.values().stream().mapToLong(Long::longValue).sum();
+		result[2] = retainedMemory();
+		memory.size();
+	}
+
+	private static void day14Primitive(long[] result) {
+		LongLongMap memory = new LongLongMap();
+		Random random = new Random(SEED);
+		for(int i = 0; i < DAY14_WRITES; i++)
+			memory.put(random.nextLong() & 0xFFFFFFFFFL, random.nextLong() & 0xFFFFFFFFL);
+		result[0] = memory.values().sum();
+		result[2] = retainedMemory();
+		memory.size();
+	}
+
+	private static long retainedMemory() {
+		System.gc();
+		return usedMemory();
+	}
+
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static void check(boolean condition) {
+		if(!condition)
+			throw new AssertionError("The primitive and boxed maps disagree");
+	}
+
+}
\ No newline at end of file
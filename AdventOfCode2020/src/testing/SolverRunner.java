@@ -0,0 +1,162 @@
+package testing;
+
+import java.lang.management.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import utils.Solver;
+
+/**
+ * <p>Finds every {@link Solver} with a {@link ServiceLoader} and runs them. By default, all of the days are solved concurrently on a work-stealing
+ * pool, and the answers are printed along with the wall-clock and CPU time taken to construct each solver (that is, to read and parse its input) and
+ * to solve each part, followed by the wall-clock time of the whole run.</p>
+ * <p>CPU times are those of the thread that ran the day, so work that a solver hands off to other threads (such as parallel streams) is included
+ * in its wall-clock times but not its CPU times.</p>
+ * <p>Arguments (all optional):</p>
+ * <ul>
+ * <li>{@code --day N} solves only day {@code N}.</li>
+ * <li>{@code --loop K} solves the selected day {@code K} times in a row, on the calling thread, with a fresh solver each time, and prints the
+ * mean and fastest times. This is meant for attaching a profiler; the JMH benchmarks in the {@code jmh} source set measure the solvers properly.
+ * It requires {@code --day}.</li>
+ * <li>{@code --threads N} sets the parallelism of the pool (the default is the number of available processors).</li>
+ * </ul>
+ * <p>Must be run from the project directory, since the solvers read their inputs from {@code src/dayN/input.txt}.</p>
+ * @author Sam Hooper
+ *
+ */
+public class SolverRunner {
+	
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+	
+	public static void main(String[] args) throws InterruptedException, ExecutionException {
+		int day = 0, loops = 0, threads = Runtime.getRuntime().availableProcessors();
+		for(int i = 0; i < args.length; i++) {
+			switch(args[i]) {
+				case "--day" -> day = Integer.parseInt(args[++i]);
+				case "--loop" -> loops = Integer.parseInt(args[++i]);
+				case "--threads" -> threads = Integer.parseInt(args[++i]);
+				default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+			}
+		}
+		if(loops > 0 && day == 0)
+			throw new IllegalArgumentException("--loop requires --day");
+		SortedMap<Integer, Supplier<Solver>> solvers = solvers();
+		if(solvers.isEmpty())
+			throw new IllegalStateException("No solvers found; run this class as part of the adventOfCode2020 module");
+		if(day != 0) {
+			if(!solvers.containsKey(day))
+				throw new IllegalArgumentException("No solver for day " + day);
+			solvers = new TreeMap<>(Map.of(day, solvers.get(day)));
+		}
+		if(loops > 0)
+			loop(day, solvers.get(day), loops);
+		else
+			runAll(solvers, threads);
+	}
+	
+	/** Returns a factory for every {@link Solver} that can be found, keyed by {@link Solver#day() day}. Each call to a factory creates a new solver. */
+	public static SortedMap<Integer, Supplier<Solver>> solvers() {
+		SortedMap<Integer, Supplier<Solver>> solvers = new TreeMap<>();
+		for(ServiceLoader.Provider<Solver> provider : ServiceLoader.load(Solver.class).stream().collect(Collectors.toList())) {
+			final Class<? extends Solver> type = provider.type();
+			Supplier<Solver> factory = () -> {
+				try {
+					return type.getConstructor().newInstance();
+				}
+				catch(ReflectiveOperationException e) {
+					throw new IllegalStateException("Cannot create " + type.getName(), e);
+				}
+			};
+			solvers.put(dayOf(type), factory);
+		}
+		return solvers;
+	}
+	
+	/** Returns the day of the solver class from its package name, so that no input needs to be read just to find out which day it solves. */
+	private static int dayOf(final Class<? extends Solver> type) {
+		return Integer.parseInt(type.getPackageName().substring("day".length()));
+	}
+	
+	private static void runAll(final SortedMap<Integer, Supplier<Solver>> solvers, final int threads) throws InterruptedException, ExecutionException {
+		ExecutorService pool = Executors.newWorkStealingPool(threads);
+		try {
+			final long start = System.nanoTime();
+			Map<Integer, Future<DayResult>> futures = new TreeMap<>();
+			solvers.forEach((day, factory) -> futures.put(day, pool.submit(() -> DayResult.solve(factory))));
+			List<DayResult> results = new ArrayList<>();
+			for(Future<DayResult> future : futures.values())
+				results.add(future.get());
+			final long wall = System.nanoTime() - start;
+			System.out.printf("%-4s %-5s %-48s %12s %12s%n", "Day", "Part", "Answer", "Wall (ms)", "CPU (ms)");
+			long cpu = 0;
+			for(DayResult result : results) {
+				result.print();
+				cpu += result.totalCpu();
+			}
+			System.out.printf("%d days solved in %.3f ms wall-clock time on %d thread%s (%.3f ms CPU time in total)%n", results.size(),
+					wall / 1e6, threads, threads == 1 ? "" : "s", cpu / 1e6);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	private static void loop(final int day, final Supplier<Solver> factory, final int loops) {
+		long total = 0, best = Long.MAX_VALUE;
+		for(int i = 0; i < loops; i++) {
+			final long nanos = Timing.time(() -> {
+				Solver solver = factory.get();
+				solver.part1();
+				solver.part2();
+			});
+			total += nanos;
+			best = Math.min(best, nanos);
+		}
+		System.out.printf("day%d: %d loops, %.3f ms mean, %.3f ms fastest%n", day, loops, total / 1e6 / loops, best / 1e6);
+	}
+	
+	/** The answers and times of one day. Index {@code 0} of the time arrays is construction, {@code 1} is Part 1, and {@code 2} is Part 2. */
+	private static final class DayResult {
+		
+		private final int day;
+		private final Object[] answers = new Object[3];
+		private final long[] wall = new long[3], cpu = new long[3];
+		
+		private DayResult(final int day) {
+			this.day = day;
+		}
+		
+		static DayResult solve(final Supplier<Solver> factory) {
+			long wallStart = System.nanoTime(), cpuStart = THREADS.getCurrentThreadCpuTime();
+			final Solver solver = factory.get();
+			final DayResult result = new DayResult(solver.day());
+			for(int part = 0; part < 3; part++) {
+				if(part == 1)
+					result.answers[part] = solver.part1();
+				else if(part == 2)
+					result.answers[part] = solver.part2();
+				final long wallEnd = System.nanoTime(), cpuEnd = THREADS.getCurrentThreadCpuTime();
+				result.wall[part] = wallEnd - wallStart;
+				result.cpu[part] = cpuEnd - cpuStart;
+				wallStart = wallEnd;
+				cpuStart = cpuEnd;
+			}
+			return result;
+		}
+		
+		long totalCpu() {
+			return cpu[0] + cpu[1] + cpu[2];
+		}
+		
+		void print() {
+			System.out.printf("%-4d %-5s %-48s %12.3f %12.3f%n", day, "input", "", wall[0] / 1e6, cpu[0] / 1e6);
+			for(int part = 1; part <= 2; part++)
+				if(part == 1 || answers[part] != null)
+					System.out.printf("%-4s %-5d %-48s %12.3f %12.3f%n", "", part, answers[part], wall[part] / 1e6, cpu[part] / 1e6);
+		}
+		
+	}
+	
+}
\ No newline at end of file
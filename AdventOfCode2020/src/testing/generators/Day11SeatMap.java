@@ -0,0 +1,41 @@
+package testing.generators;
+
+import java.util.Random;
+
+import day11.SeatingSimulation;
+
+/**
+ * <p>Generates seat layouts for day 11: every position is an empty seat ({@link SeatingSimulation#EMPTY}) with the given probability, and floor
+ * ({@link SeatingSimulation#FLOOR}) otherwise, as in the puzzle inputs.</p>
+ * <p>Unlike the puzzle inputs, a large random layout is not guaranteed to stabilize. At the default density, maps of up to 1000 by 1000 seats
+ * stabilize under both {@link SeatingSimulation.Rules}, but under {@link SeatingSimulation.Rules#ADJACENT} a 1000 by 1000 map of density
+ * {@code 0.6} or more oscillates forever, so simulations of generated maps should use {@link SeatingSimulation#runUntilStable(int)}.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class Day11SeatMap {
+	
+	public static final double DEFAULT_SEAT_DENSITY = 0.5;
+	
+	private Day11SeatMap() {}
+	
+	/**
+	 * <p>Returns {@code rows} lines of {@code cols} characters each.</p>
+	 * @throws IllegalArgumentException if {@code rows} or {@code cols} is not positive, or if {@code seatDensity} is not between {@code 0} and
+	 * {@code 1} (inclusive).
+	 */
+	public static String[] generate(final int rows, final int cols, final double seatDensity, final long seed) {
+		if(rows < 1 || cols < 1 || !(seatDensity >= 0 && seatDensity <= 1))
+			throw new IllegalArgumentException("Invalid dimensions or density");
+		final Random random = new Random(seed);
+		final String[] lines = new String[rows];
+		final char[] line = new char[cols];
+		for(int r = 0; r < rows; r++) {
+			for(int c = 0; c < cols; c++)
+				line[c] = random.nextDouble() < seatDensity ? SeatingSimulation.EMPTY : SeatingSimulation.FLOOR;
+			lines[r] = new String(line);
+		}
+		return lines;
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package testing.generators;
+
+import java.util.*;
+
+/**
+ * <p>Generates expense reports for day 1: one positive integer per line, containing exactly one pair of entries that sum to the target and exactly
+ * one triple of entries that sum to the target. Every other entry is larger than the target, so it cannot be part of either sum.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class Day1Expenses {
+	
+	public static final int DEFAULT_TARGET = 2020;
+	/** The largest filler entry. */
+	private static final int MAX_ENTRY = 999_999;
+	
+	private Day1Expenses() {}
+	
+	/**
+	 * <p>Returns {@code entries} lines, in random order.</p>
+	 * @throws IllegalArgumentException if {@code (entries < 5)} or {@code (target < 12)}, since the pair and the triple need five distinct entries.
+	 */
+	public static String[] generate(final int entries, final int target, final long seed) {
+		if(entries < 5 || target < 12)
+			throw new IllegalArgumentException("entries must be at least 5 and target at least 12");
+		final Random random = new Random(seed);
+		int[] special;
+		do {
+			final int a = 1 + random.nextInt(target - 1), b = 1 + random.nextInt(target - 2), c = 1 + random.nextInt(target - 1 - b);
+			special = new int[] {a, target - a, b, c, target - b - c};
+		} while(!hasUniqueSums(special, target));
+		final List<String> lines = new ArrayList<>(entries);
+		for(int value : special)
+			lines.add(Integer.toString(value));
+		while(lines.size() < entries)
+			lines.add(Integer.toString(target + 1 + random.nextInt(MAX_ENTRY - target)));
+		Collections.shuffle(lines, random);
+		return lines.toArray(String[]::new);
+	}
+	
+	/** Returns {@code true} if the five values are distinct, only the first two sum to {@code target}, and only the last three sum to {@code target}. */
+	private static boolean hasUniqueSums(final int[] values, final int target) {
+		int pairs = 0, triples = 0;
+		for(int i = 0; i < values.length; i++) {
+			for(int j = i + 1; j < values.length; j++) {
+				if(values[i] == values[j])
+					return false;
+				if(values[i] + values[j] == target)
+					pairs++;
+				for(int k = j + 1; k < values.length; k++)
+					if(values[i] + values[j] + values[k] == target)
+						triples++;
+			}
+		}
+		return pairs == 1 && triples == 1;
+	}
+	
+}
\ No newline at end of file
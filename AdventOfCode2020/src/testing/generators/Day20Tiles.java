@@ -0,0 +1,193 @@
+package testing.generators;
+
+import java.util.*;
+import java.util.function.IntUnaryOperator;
+
+import utils.Grids;
+
+/**
+ * <p>Generates camera tiles for day 20. A random image is drawn, with a number of sea monsters stamped into it, and cut into 10x10 tiles that
+ * share their borders with their neighbors. Each tile is then rotated and flipped at random, given a distinct ID, and shuffled.</p>
+ * <p>Each border is chosen so that, read in either direction, it matches no other border in the image, for as long as that is possible. There are only
+ * 528 distinct 10-pixel borders up to reversal, so an image with more borders than that (roughly 16x16 tiles or more) necessarily has borders that
+ * repeat, which the puzzle inputs never do, and its tiles can only be assembled by trying more than one candidate for a side. To keep such images
+ * assemblable (up to about 110x110 tiles), the borders are then spread as evenly as possible over the 528, and the two borders that meet at each
+ * corner of each tile are chosen, as far as possible, to be a pair that meets at no other corner of any tile. A tile with placed neighbors on two
+ * adjacent sides then has only one candidate.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class Day20Tiles {
+	
+	public static final int TILE_SIZE = 10;
+	private static final int STEP = TILE_SIZE - 1, BORDER_MASK = (1 << TILE_SIZE) - 1;
+	private static final String[] MONSTER = {"                  # ", "#    ##    ##    ###", " #  #  #  #  #  #   "};
+	private static final double DENSITY = 0.45;
+	private static final int MIN_ID = 1000;
+	
+	private Day20Tiles() {}
+	
+	/**
+	 * <p>Returns the lines of {@code width * height} tiles, each preceded by a {@code "Tile N:"} line and followed by a blank line (except the last).
+	 * The sea monsters may overlap one another.</p>
+	 * @throws IllegalArgumentException if {@code width} or {@code height} is less than {@code 3} (the image must be wide enough to hold a sea
+	 * monster) or if {@code (monsters < 0)}.
+	 */
+	public static String[] generate(final int width, final int height, final int monsters, final long seed) {
+		if(width < 3 || height < 3 || monsters < 0)
+			throw new IllegalArgumentException("Invalid dimensions or monster count");
+		final Random random = new Random(seed);
+		final boolean[][] image = new boolean[STEP * height + 1][STEP * width + 1];
+		for(boolean[] row : image)
+			for(int c = 0; c < row.length; c++)
+				row[c] = random.nextDouble() < DENSITY;
+		stampMonsters(image, width, height, monsters, random);
+		chooseBorders(image, width, height, random);
+		
+		final List<Integer> ids = new ArrayList<>();
+		for(int id = MIN_ID, end = MIN_ID + Math.max(9000, width * height); id < end; id++)
+			ids.add(id);
+		Collections.shuffle(ids, random);
+		final List<char[][]> tiles = new ArrayList<>(width * height);
+		for(int r = 0; r < height; r++) {
+			for(int c = 0; c < width; c++) {
+				char[][] tile = new char[TILE_SIZE][TILE_SIZE];
+				for(int i = 0; i < TILE_SIZE; i++)
+					for(int j = 0; j < TILE_SIZE; j++)
+						tile[i][j] = image[STEP * r + i][STEP * c + j] ? '#' : '.';
+				for(int turns = random.nextInt(4); turns > 0; turns--)
+					tile = Grids.rotatedClockwise(tile);
+				if(random.nextBoolean())
+					tile = Grids.flippedVertically(tile);
+				tiles.add(tile);
+			}
+		}
+		Collections.shuffle(tiles, random);
+		final List<String> lines = new ArrayList<>(tiles.size() * (TILE_SIZE + 2));
+		for(int i = 0; i < tiles.size(); i++) {
+			if(i > 0)
+				lines.add("");
+			lines.add("Tile " + ids.get(i) + ":");
+			for(char[] row : tiles.get(i))
+				lines.add(new String(row));
+		}
+		return lines.toArray(String[]::new);
+	}
+	
+	/** Stamps {@code monsters} sea monsters at random positions of the image that remains once the tile borders are removed. */
+	private static void stampMonsters(final boolean[][] image, final int width, final int height, final int monsters, final Random random) {
+		final int innerRows = (TILE_SIZE - 2) * height, innerCols = (TILE_SIZE - 2) * width;
+		for(int m = 0; m < monsters; m++) {
+			final int top = random.nextInt(innerRows - MONSTER.length + 1), left = random.nextInt(innerCols - MONSTER[0].length() + 1);
+			for(int r = 0; r < MONSTER.length; r++)
+				for(int c = 0; c < MONSTER[r].length(); c++)
+					if(MONSTER[r].charAt(c) == '#')
+						image[imageIndex(top + r)][imageIndex(left + c)] = true;
+		}
+	}
+	
+	/** Returns the row (or column) of {@code image} that holds the given row (or column) of the image without borders. */
+	private static int imageIndex(final int inner) {
+		return STEP * (inner / (TILE_SIZE - 2)) + 1 + inner % (TILE_SIZE - 2);
+	}
+	
+	/** Redraws the middle of every border, keeping its corners, so that the borders are spread as evenly as possible over the 528 that are distinct
+	 * up to reversal. The horizontal borders are drawn first, and then each vertical border is also chosen to form new
+	 * {@link #cornerKey(int, int) corner pairs} with them. */
+	private static void chooseBorders(final boolean[][] image, final int width, final int height, final Random random) {
+		final int[] uses = new int[1 << TILE_SIZE];
+		final int[][] horizontal = new int[height + 1][width];
+		for(int r = 0; r <= height; r++) {
+			for(int c = 0; c < width; c++) {
+				final int row = STEP * r, col = STEP * c;
+				final int border = bestBorder(ends(image, row, col, 0, 1), random, b -> uses[canonical(b)]);
+				uses[canonical(border)]++;
+				draw(image, row, col, 0, 1, border);
+				horizontal[r][c] = border;
+			}
+		}
+		final boolean[] corners = new boolean[1 << 2 * TILE_SIZE];
+		for(int r = 0; r < height; r++)
+			for(int c = 0; c <= width; c++)
+				chooseVerticalBorder(image, horizontal, r, c, uses, corners, random);
+	}
+	
+	/**
+	 * <p>Redraws the vertical border on the left of the tile in row {@code r} and column {@code c} (or on the right of the last tile in the row, if
+	 * {@code c == width}), given the {@code horizontal} borders, each read left to right. Of the borders that form the fewest used corner pairs, one
+	 * that has been used the fewest times is kept.</p>
+	 */
+	private static void chooseVerticalBorder(final boolean[][] image, final int[][] horizontal, final int r, final int c, final int[] uses,
+			final boolean[] corners, final Random random) {
+		final int row = STEP * r, col = STEP * c, width = horizontal[0].length;
+		//the pairs formed at the top and bottom of the border, each with the border read away from that corner.
+		final int[] tops = new int[2], bottoms = new int[2];
+		int pairs = 0;
+		if(c < width) { //top-left and bottom-left corners of the tile to the right.
+			tops[pairs] = horizontal[r][c];
+			bottoms[pairs++] = horizontal[r + 1][c];
+		}
+		if(c > 0) { //top-right and bottom-right corners of the tile to the left.
+			tops[pairs] = reversed(horizontal[r][c - 1]);
+			bottoms[pairs++] = reversed(horizontal[r + 1][c - 1]);
+		}
+		final int n = pairs;
+		final int border = bestBorder(ends(image, row, col, 1, 0), random, b -> {
+			int used = 0;
+			for(int p = 0; p < n; p++) {
+				final int top = cornerKey(tops[p], b), bottom = cornerKey(bottoms[p], reversed(b));
+				used += (corners[top] ? 1 : 0) + (corners[bottom] || bottom == top ? 1 : 0);
+			}
+			return used * uses.length * uses.length + uses[canonical(b)];
+		});
+		uses[canonical(border)]++;
+		for(int p = 0; p < n; p++) {
+			corners[cornerKey(tops[p], border)] = true;
+			corners[cornerKey(bottoms[p], reversed(border))] = true;
+		}
+		draw(image, row, col, 1, 0, border);
+	}
+	
+	/** Returns the border with the given {@link #ends(boolean[][], int, int, int, int) ends} whose {@code cost} is least, trying every middle from a
+	 * random one, and stopping early at a cost of {@code 0}. */
+	private static int bestBorder(final int ends, final Random random, final IntUnaryOperator cost) {
+		final int middles = 1 << TILE_SIZE - 2, first = random.nextInt(middles);
+		int best = -1, bestCost = Integer.MAX_VALUE;
+		for(int k = 0; k < middles && bestCost > 0; k++) {
+			final int border = ends | ((first + k) & middles - 1) << 1;
+			final int c = cost.applyAsInt(border);
+			if(c < bestCost) {
+				best = border;
+				bestCost = c;
+			}
+		}
+		return best;
+	}
+	
+	/** Returns the first and last pixels of the border that starts at ({@code row}, {@code col}) and goes in the direction ({@code deltaRow},
+	 * {@code deltaCol}), as a border whose middle pixels are all off. */
+	private static int ends(final boolean[][] image, final int row, final int col, final int deltaRow, final int deltaCol) {
+		return (image[row][col] ? 1 << TILE_SIZE - 1 : 0) | (image[row + STEP * deltaRow][col + STEP * deltaCol] ? 1 : 0);
+	}
+	
+	private static void draw(final boolean[][] image, final int row, final int col, final int deltaRow, final int deltaCol, final int border) {
+		for(int i = 0; i < TILE_SIZE; i++)
+			image[row + i * deltaRow][col + i * deltaCol] = (border >>> (TILE_SIZE - 1 - i) & 1) == 1;
+	}
+	
+	/** Returns a number identifying the corner where borders {@code a} and {@code b} meet, each read away from the corner. It is the same for
+	 * {@code (a, b)} and {@code (b, a)}, since a tile may be flipped. */
+	private static int cornerKey(final int a, final int b) {
+		return Math.min(a, b) << TILE_SIZE | Math.max(a, b);
+	}
+	
+	private static int reversed(final int border) {
+		return Integer.reverse(border) >>> (Integer.SIZE - TILE_SIZE) & BORDER_MASK;
+	}
+	
+	/** Returns the lesser of {@code border} and {@code border} read backward. */
+	private static int canonical(final int border) {
+		return Math.min(border, reversed(border));
+	}
+	
+}
\ No newline at end of file
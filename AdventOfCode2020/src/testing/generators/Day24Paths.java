@@ -0,0 +1,36 @@
+package testing.generators;
+
+import java.util.Random;
+
+/**
+ * <p>Generates tile-flipping instructions for day 24: one path per line, each a sequence of the directions {@code e}, {@code se}, {@code sw},
+ * {@code w}, {@code nw}, and {@code ne} with no delimiters.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class Day24Paths {
+	
+	private static final String[] DIRECTIONS = {"e", "se", "sw", "w", "nw", "ne"};
+	
+	private Day24Paths() {}
+	
+	/**
+	 * <p>Returns {@code paths} lines, each made of between {@code minSteps} and {@code maxSteps} (inclusive) directions chosen uniformly at random.</p>
+	 * @throws IllegalArgumentException if {@code (paths < 0)} or {@code (maxSteps < minSteps)}, or if {@code minSteps} is negative.
+	 */
+	public static String[] generate(final int paths, final int minSteps, final int maxSteps, final long seed) {
+		if(paths < 0 || minSteps < 0 || maxSteps < minSteps)
+			throw new IllegalArgumentException("Invalid path count or lengths");
+		final Random random = new Random(seed);
+		final String[] lines = new String[paths];
+		final StringBuilder sb = new StringBuilder(2 * maxSteps);
+		for(int i = 0; i < paths; i++) {
+			sb.setLength(0);
+			for(int step = minSteps + random.nextInt(maxSteps - minSteps + 1); step > 0; step--)
+				sb.append(DIRECTIONS[random.nextInt(DIRECTIONS.length)]);
+			lines[i] = sb.toString();
+		}
+		return lines;
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package testing.generators;
+
+import java.util.*;
+
+/**
+ * <p>Generates luggage rules for day 7. The bags form a directed acyclic graph in which {@code "shiny gold"} is one of the last
+ * {@link #SHINY_GOLD_DEPTH} bags, so the number of bags inside it (Part 2) always fits in a {@code long}, while the number of bags that can
+ * eventually contain it (Part 1) grows with the size of the input.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class Day7BagRules {
+	
+	public static final String TARGET_COLOR = "shiny gold";
+	/** The greatest number of bags that may be nested inside {@link #TARGET_COLOR}, counting from the innermost. Inside it, each bag directly contains
+	 * at most two kinds of bag, two of each, so there are fewer than {@code 4^(SHINY_GOLD_DEPTH + 1)} bags in total. */
+	static final int SHINY_GOLD_DEPTH = 25;
+	
+	private static final String[] ADJECTIVES = {"bright", "clear", "dark", "dim", "dotted", "drab", "dull", "faded", "light", "mirrored", "muted",
+			"pale", "plaid", "posh", "shiny", "striped", "vibrant", "wavy"};
+	private static final int MAX_KINDS = 4, MAX_COUNT = 5, MAX_KINDS_INSIDE_TARGET = 2, MAX_COUNT_INSIDE_TARGET = 2;
+	
+	private Day7BagRules() {}
+	
+	/**
+	 * <p>Returns one rule for each of {@code bags} distinct colors, in random order.</p>
+	 * @throws IllegalArgumentException if {@code (bags < 1)}.
+	 */
+	public static String[] generate(final int bags, final long seed) {
+		if(bags < 1)
+			throw new IllegalArgumentException("bags < 1");
+		final Random random = new Random(seed);
+		final String[] colors = colors(bags);
+		final int target = Math.max(0, bags - 1 - SHINY_GOLD_DEPTH);
+		colors[target] = TARGET_COLOR;
+		final List<String> rules = new ArrayList<>(bags);
+		for(int i = 0; i < bags; i++) {
+			final int later = bags - 1 - i; //bag i may only contain bags that come after it, so the graph has no cycles.
+			final boolean insideTarget = i >= target;
+			final int kinds = Math.min(later, random.nextInt(1 + (insideTarget ? MAX_KINDS_INSIDE_TARGET : MAX_KINDS)));
+			final StringBuilder rule = new StringBuilder(colors[i]).append(" bags contain ");
+			if(kinds == 0) {
+				rules.add(rule.append("no other bags.").toString());
+				continue;
+			}
+			final Set<Integer> contents = new LinkedHashSet<>();
+			while(contents.size() < kinds)
+				contents.add(i + 1 + random.nextInt(later));
+			boolean first = true;
+			for(int content : contents) {
+				final int count = 1 + random.nextInt(insideTarget ? MAX_COUNT_INSIDE_TARGET : MAX_COUNT);
+				rule.append(first ? "" : ", ").append(count).append(' ').append(colors[content]).append(count == 1 ? " bag" : " bags");
+				first = false;
+			}
+			rules.add(rule.append('.').toString());
+		}
+		Collections.shuffle(rules, random);
+		return rules.toArray(String[]::new);
+	}
+	
+	/** Returns {@code count} distinct two-word colors, none of which is {@link #TARGET_COLOR}. */
+	private static String[] colors(final int count) {
+		final String[] colors = new String[count];
+		for(int i = 0, n = 0; i < count; n++) {
+			final String color = ADJECTIVES[n % ADJECTIVES.length] + " " + word(n / ADJECTIVES.length);
+			if(!color.equals(TARGET_COLOR))
+				colors[i++] = color;
+		}
+		return colors;
+	}
+	
+	/** Returns a distinct lowercase word of at least three letters for every non-negative {@code n}. */
+	private static String word(int n) {
+		final StringBuilder sb = new StringBuilder();
+		do {
+			sb.append((char) ('a' + n % 26));
+			n /= 26;
+		} while(n > 0 || sb.length() < 3);
+		return sb.toString();
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package testing.generators;
+
+import java.util.*;
+
+import utils.colls.IntList;
+
+/**
+ * <p>Generates boot code for day 8 that loops forever as written and terminates once exactly one {@code jmp} is changed to a {@code nop}.</p>
+ * <p>The corrupted instruction, at index {@code c}, jumps backward to an instruction that has already been executed. Every instruction before it that
+ * could transfer control (a {@code jmp}, or a {@code nop} were it swapped) targets an index no greater than {@code c}, and every {@code jmp} points
+ * forward, so every path from the start reaches {@code c} and no other single swap can avoid it. Every {@code jmp} after {@code c} also points
+ * forward, so once {@code c} is fixed the program runs off its end.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class Day8Program {
+	
+	private static final int MAX_ACC = 50;
+	
+	private Day8Program() {}
+	
+	/**
+	 * <p>Returns a program of {@code instructions} instructions, one per line.</p>
+	 * @throws IllegalArgumentException if {@code (instructions < 2)}.
+	 */
+	public static String[] generate(final int instructions, final long seed) {
+		if(instructions < 2)
+			throw new IllegalArgumentException("instructions < 2");
+		final Random random = new Random(seed);
+		final int corrupted = 1 + random.nextInt(instructions - 1);
+		final String[] program = new String[instructions];
+		for(int i = 0; i < instructions; i++) {
+			if(i == corrupted)
+				continue;
+			final int limit = i < corrupted ? corrupted : instructions; //the greatest index that control may pass to from i.
+			program[i] = switch(random.nextInt(4)) {
+				case 0 -> instruction("jmp", 1 + random.nextInt(limit - i));
+				case 1 -> instruction("nop", -i + random.nextInt(limit + 1));
+				default -> instruction("acc", random.nextInt(2 * MAX_ACC + 1) - MAX_ACC);
+			};
+		}
+		final IntList executed = new IntList();
+		for(int pc = 0; pc < corrupted; pc = pc + (program[pc].startsWith("jmp") ? Integer.parseInt(program[pc], 4, program[pc].length(), 10) : 1))
+			executed.add(pc);
+		program[corrupted] = instruction("jmp", executed.get(random.nextInt(executed.size())) - corrupted);
+		return program;
+	}
+	
+	private static String instruction(final String op, final int arg) {
+		return op + (arg < 0 ? " " : " +") + arg;
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package testing.generators;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * <p>Writes a generated puzzle input to a file (or to standard output). Usage:</p>
+ * <pre>
+ * day1  ENTRIES [TARGET]
+ * day7  BAGS
+ * day8  INSTRUCTIONS
+ * day11 ROWS COLS [SEAT_DENSITY]
+ * day20 WIDTH HEIGHT [MONSTERS]
+ * day24 PATHS MIN_STEPS MAX_STEPS
+ * </pre>
+ * <p>followed optionally by {@code --seed S} (the default is {@value #DEFAULT_SEED}) and {@code --out FILE}. For example,
+ * {@code day8 1000000 --out big8.txt} writes a program of a million instructions.</p>
+ * <p>Unlike the puzzle inputs, some generated inputs are not guaranteed to be solvable:</p>
+ * <ul>
+ * <li>A day 11 map denser than the default {@code SEAT_DENSITY} of {@value Day11SeatMap#DEFAULT_SEAT_DENSITY} may never stabilize.</li>
+ * <li>A day 20 image of more than about 16x16 tiles has borders that repeat, which the puzzle rules out, and past about 110x110 tiles the
+ * borders repeat so often that {@link day20.Jigsaw} gives up on assembling them.</li>
+ * </ul>
+ * @author Sam Hooper
+ *
+ */
+public class Generate {
+	
+	public static final long DEFAULT_SEED = 2020;
+	
+	public static void main(String[] args) throws IOException {
+		long seed = DEFAULT_SEED;
+		String out = null;
+		List<String> positional = new ArrayList<>();
+		for(int i = 0; i < args.length; i++) {
+			switch(args[i]) {
+				case "--seed" -> seed = Long.parseLong(args[++i]);
+				case "--out" -> out = args[++i];
+				default -> positional.add(args[i]);
+			}
+		}
+		if(positional.isEmpty())
+			throw new IllegalArgumentException("No day given");
+		final String[] lines = generate(positional.get(0), positional.subList(1, positional.size()), seed);
+		try(Writer writer = out == null ? new OutputStreamWriter(System.out) : Files.newBufferedWriter(Path.of(out))) {
+			for(int i = 0; i < lines.length; i++) {
+				if(i > 0)
+					writer.write('\n');
+				writer.write(lines[i]);
+			}
+		}
+	}
+	
+	/**
+	 * <p>Returns the lines of an input for {@code day} (such as {@code "day20"}), given the same arguments as on the command line.</p>
+	 * @throws IllegalArgumentException if {@code day} has no generator or the wrong number of arguments is given.
+	 */
+	public static String[] generate(final String day, final List<String> args, final long seed) {
+		return switch(day) {
+			case "day1" -> Day1Expenses.generate(integer(args, 0, 1, 2), args.size() > 1 ? integer(args, 1) : Day1Expenses.DEFAULT_TARGET, seed);
+			case "day7" -> Day7BagRules.generate(integer(args, 0, 1, 1), seed);
+			case "day8" -> Day8Program.generate(integer(args, 0, 1, 1), seed);
+			case "day11" -> Day11SeatMap.generate(integer(args, 0, 2, 3), integer(args, 1),
+					args.size() > 2 ? Double.parseDouble(args.get(2)) : Day11SeatMap.DEFAULT_SEAT_DENSITY, seed);
+			case "day20" -> {
+				final int width = integer(args, 0, 2, 3), height = integer(args, 1);
+				yield Day20Tiles.generate(width, height, args.size() > 2 ? integer(args, 2) : width * height / 8, seed);
+			}
+			case "day24" -> Day24Paths.generate(integer(args, 0, 3, 3), integer(args, 1), integer(args, 2), seed);
+			default -> throw new IllegalArgumentException("No generator for " + day);
+		};
+	}
+	
+	/** Returns {@code args.get(index)} as an {@code int}, after checking that there are between {@code min} and {@code max} arguments. */
+	private static int integer(final List<String> args, final int index, final int min, final int max) {
+		if(args.size() < min || args.size() > max)
+			throw new IllegalArgumentException("Expected between " + min + " and " + max + " arguments, but got " + args.size());
+		return integer(args, index);
+	}
+	
+	private static int integer(final List<String> args, final int index) {
+		return Integer.parseInt(args.get(index));
+	}
+	
+}
\ No newline at end of file
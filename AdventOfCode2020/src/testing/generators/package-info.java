@@ -0,0 +1,7 @@
+/**
+ * <p>Seeded generators of puzzle inputs of any size, for stress-testing and benchmarking the solutions. Every generator is deterministic: the same
+ * arguments and seed always produce the same input. {@link testing.generators.Generate} writes any of them to a file.</p>
+ * @author Sam Hooper
+ *
+ */
+package testing.generators;
\ No newline at end of file
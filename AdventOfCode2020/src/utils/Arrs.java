@@ -984,17 +984,13 @@ public final class Arrs {
 	}
 
 	/**
-	 * <p>Returns an {@link IntPair} of any two numbers in the given array that sum to {@code target}. If no such two numbers exist,
-	 * {@code null} is returned. This method does not modify the given {@code int[]}.</p>
+	 * <p>Returns an {@link IntPair} of any two numbers from distinct indices between {@code startInclusive} and {@code endExclusive} in the given array
+	 * that sum to {@code target}. If no such two numbers exist, {@code null} is returned. This method does not modify the given {@code int[]}.</p>
+	 * @see KSum
 	 */
 	public static IntPair sum2ToTarget(final int[] arr, final int target, final int startInclusive, final int endExclusive) {
-		IntSet set = new HashIntSet(arr.length);
-		for(int i = startInclusive; i < endExclusive; i++)
-			set.add(arr[i]);
-		for(int i = startInclusive; i < endExclusive; i++)
-			if(set.contains(target - arr[i]))
-				return IntPair.of(arr[i], target - arr[i]);
-		return null;
+		final int[] pair = KSum.find(arr, startInclusive, endExclusive, 2, target, KSum.Strategy.AUTO, false);
+		return pair == null ? null : IntPair.of(pair[0], pair[1]);
 	}
 
 	/**
@@ -1009,14 +1005,11 @@ public final class Arrs {
 	 * <p>Returns an {@link IntStream} containing, in no specific order, three {@code ints} that appear between indices {@code startInclusive}
 	 * and {@code endExclusive} in {@code arr} that sum to {@code target},
 	 * or {@code null} if no such trio exists. The three {@code ints} will be from unique indices.</p>
+	 * @see KSum
 	 */
 	public static IntStream sum3ToTarget(final int[] arr, final int target, int startInclusive, int endExclusive) {
-		for(int i = startInclusive; i < endExclusive; i++) {
-			IntPair pair = sum2ToTarget(arr, target - arr[i], i + 1, endExclusive);
-			if(pair != null)
-				return IntStream.of(arr[i], pair.firstInt(), pair.secondInt());
-		}
-		return null;
+		final int[] trio = KSum.find(arr, startInclusive, endExclusive, 3, target, KSum.Strategy.AUTO, false);
+		return trio == null ? null : IntStream.of(trio);
 	}
 	
 	/** Returns a {@link StringBuilder} containing the elements of {@code arr} (after being converted to {@code Strings} via {@link Object#toString()})
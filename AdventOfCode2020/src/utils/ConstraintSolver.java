@@ -0,0 +1,181 @@
+package utils;
+
+import java.util.*;
+
+/**
+ * <p>Assigns each of a number of variables a different value, where each variable may only take values from its own set of candidates. Variables
+ * and values are numbered from {@code 0}, and the candidates of each variable are a bitset (bit {@code (x & 63)} of word {@code (x >>> 6)} stands
+ * for value {@code x}).</p>
+ * <p>{@link #solve()} first propagates singletons: a worklist holds the variables with exactly one candidate, and assigning one removes its value
+ * from every other variable that had it, which may in turn leave those with one candidate. Which variables have a given value is looked up in an
+ * index built once, so each removal is found directly rather than by scanning. Whatever propagation leaves undecided is then settled by a single
+ * bipartite matching pass (augmenting paths, searched iteratively), so an assignment is found whenever one exists.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class ConstraintSolver {
+
+	private final int variableCount, valueCount, words;
+	/** The candidates of variable {@code v} are the {@link #words} {@code longs} starting at {@code candidates[v * words]}. */
+	private final long[] candidates;
+
+	/**
+	 * <p>Creates a {@link ConstraintSolver} in which every variable may take any value.</p>
+	 * @throws IllegalArgumentException if either argument is negative.
+	 */
+	public ConstraintSolver(final int variableCount, final int valueCount) {
+		if(variableCount < 0 || valueCount < 0)
+			throw new IllegalArgumentException("Negative count");
+		this.variableCount = variableCount;
+		this.valueCount = valueCount;
+		this.words = Math.max(1, (valueCount + 63) >>> 6);
+		this.candidates = new long[variableCount * words];
+		final long lastWord = (valueCount & 63) == 0 ? -1L : (1L << valueCount) - 1;
+		for(int v = 0; v < variableCount; v++) {
+			Arrays.fill(candidates, v * words, (v + 1) * words, -1L);
+			candidates[(v + 1) * words - 1] = valueCount == 0 ? 0 : lastWord;
+		}
+	}
+
+	public int variableCount() {
+		return variableCount;
+	}
+
+	public int valueCount() {
+		return valueCount;
+	}
+
+	/** Returns the number of {@code longs} in a bitset of values. */
+	public int words() {
+		return words;
+	}
+
+	/**
+	 * <p>Removes from the candidates of {@code variable} every value not in the bitset {@code allowed}, which must have at least {@link #words()}
+	 * elements.</p>
+	 */
+	public void restrict(final int variable, final long[] allowed) {
+		final int base = variable * words;
+		for(int w = 0; w < words; w++)
+			candidates[base + w] &= allowed[w];
+	}
+
+	/** Removes {@code value} from the candidates of {@code variable}. */
+	public void remove(final int variable, final int value) {
+		candidates[variable * words + (value >>> 6)] &= ~(1L << value);
+	}
+
+	public boolean isCandidate(final int variable, final int value) {
+		return (candidates[variable * words + (value >>> 6)] & (1L << value)) != 0;
+	}
+
+	/** Returns the smallest candidate of {@code variable} that is at least {@code from}, or {@code -1} if there is none. */
+	private int nextCandidate(final int variable, final int from) {
+		if(from >= valueCount)
+			return -1;
+		final int base = variable * words;
+		int w = from >>> 6;
+		long bits = candidates[base + w] & (-1L << from);
+		while(bits == 0) {
+			if(++w == words)
+				return -1;
+			bits = candidates[base + w];
+		}
+		return (w << 6) + Long.numberOfTrailingZeros(bits);
+	}
+
+	/**
+	 * <p>Returns an array whose element {@code v} is the value assigned to variable {@code v}. No two variables are assigned the same value. If more
+	 * than one assignment fits, any of them may be returned. The candidates are narrowed by singleton propagation as a side effect.</p>
+	 * @throws IllegalStateException if there is no such assignment.
+	 */
+	public int[] solve() {
+		final int[] counts = new int[variableCount];
+		for(int v = 0; v < variableCount; v++)
+			for(int w = v * words, end = w + words; w < end; w++)
+				counts[v] += Long.bitCount(candidates[w]);
+
+		//holders of value x are holders[holdersStart[x]] (inclusive) through holders[holdersStart[x + 1]] (exclusive).
+		final int[] holdersStart = new int[valueCount + 1];
+		for(int v = 0; v < variableCount; v++)
+			for(int x = nextCandidate(v, 0); x >= 0; x = nextCandidate(v, x + 1))
+				holdersStart[x + 1]++;
+		for(int x = 0; x < valueCount; x++)
+			holdersStart[x + 1] += holdersStart[x];
+		final int[] holders = new int[holdersStart[valueCount]], fill = Arrays.copyOf(holdersStart, valueCount);
+		for(int v = 0; v < variableCount; v++)
+			for(int x = nextCandidate(v, 0); x >= 0; x = nextCandidate(v, x + 1))
+				holders[fill[x]++] = v;
+
+		final int[] assignment = new int[variableCount], owner = new int[valueCount];
+		Arrays.fill(assignment, -1);
+		Arrays.fill(owner, -1);
+		final int[] worklist = new int[variableCount];
+		int size = 0;
+		for(int v = 0; v < variableCount; v++) {
+			if(counts[v] == 0)
+				throw new IllegalStateException("Variable " + v + " has no candidates");
+			if(counts[v] == 1)
+				worklist[size++] = v;
+		}
+		while(size > 0) {
+			final int v = worklist[--size];
+			final int x = nextCandidate(v, 0);
+			if(owner[x] >= 0)
+				throw new IllegalStateException("Variables " + owner[x] + " and " + v + " can only take the same value");
+			assignment[v] = x;
+			owner[x] = v;
+			for(int k = holdersStart[x], end = holdersStart[x + 1]; k < end; k++) {
+				final int u = holders[k];
+				if(u == v || assignment[u] >= 0 || !isCandidate(u, x))
+					continue;
+				remove(u, x);
+				if(--counts[u] == 0)
+					throw new IllegalStateException("Variable " + u + " has no candidates left");
+				if(counts[u] == 1)
+					worklist[size++] = u; //at most once per variable, since its count only passes 1 once.
+			}
+		}
+
+		final int[] pathVariables = new int[variableCount + 1], pathValues = new int[variableCount + 1], cursors = new int[variableCount + 1];
+		final int[] stamps = new int[valueCount];
+		int stamp = 0;
+		for(int root = 0; root < variableCount; root++) {
+			if(assignment[root] >= 0)
+				continue;
+			stamp++;
+			int depth = 0;
+			pathVariables[0] = root;
+			cursors[0] = 0;
+			boolean augmented = false;
+			while(depth >= 0 && !augmented) {
+				final int x = nextCandidate(pathVariables[depth], cursors[depth]);
+				if(x < 0) {
+					depth--;
+					continue;
+				}
+				cursors[depth] = x + 1;
+				if(stamps[x] == stamp)
+					continue;
+				stamps[x] = stamp;
+				pathValues[depth] = x;
+				if(owner[x] < 0) {
+					for(int d = depth; d >= 0; d--) {
+						assignment[pathVariables[d]] = pathValues[d];
+						owner[pathValues[d]] = pathVariables[d];
+					}
+					augmented = true;
+				}
+				else {
+					depth++;
+					pathVariables[depth] = owner[x];
+					cursors[depth] = 0;
+				}
+			}
+			if(!augmented)
+				throw new IllegalStateException("No assignment exists");
+		}
+		return assignment;
+	}
+
+}
\ No newline at end of file
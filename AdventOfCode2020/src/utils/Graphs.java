@@ -1,9 +1,14 @@
 package utils;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 /**
+ * <p>Utilities for graphs. The older methods build adjacency {@link Map Maps} of arbitrary objects; the rest work on {@link IntGraph IntGraphs},
+ * whose nodes are {@code ints} and whose edges are stored in compressed-sparse-row form. Sets of nodes of an {@code IntGraph} are bitsets: node
+ * {@code v} is in the set {@code s} if bit {@code (v & 63)} of {@code s[v >>> 6]} is set.</p>
  * @author Sam Hooper
  *
  */
@@ -77,6 +82,333 @@ public final class Graphs {
 			map.get(edge[1]).add(edge[0]);
 		return map;
 	}
+
+	/**
+	 * <p>A breadth-first traversal of an {@link IntGraph}, which returns the nodes in the order they are visited. It allocates its arrays once, when it is
+	 * created; after that, {@link #start(int)} and {@link #nextInt()} allocate nothing, so one {@code BreadthFirst} may be reused for any number of
+	 * traversals of the same graph.</p>
+	 */
+	public static final class BreadthFirst implements PrimitiveIterator.OfInt {
+		
+		private final IntGraph graph;
+		private final int[] queue, distances;
+		/** Node {@code v} has been discovered by the current traversal if {@code (stamps[v] == stamp)}, so starting over needs no clearing. */
+		private final int[] stamps;
+		private int stamp, head, tail;
+		
+		public BreadthFirst(final IntGraph graph) {
+			this.graph = graph;
+			this.queue = new int[graph.nodeCount()];
+			this.distances = new int[graph.nodeCount()];
+			this.stamps = new int[graph.nodeCount()];
+		}
+		
+		/** Starts a new traversal from {@code source}, forgetting the previous one. Returns this {@code BreadthFirst}. */
+		public BreadthFirst start(final int source) {
+			newStamp();
+			discover(source, 0);
+			return this;
+		}
+		
+		/** Starts a new traversal from every node in {@code sources}, forgetting the previous one. Returns this {@code BreadthFirst}. */
+		public BreadthFirst start(final int... sources) {
+			newStamp();
+			for(int source : sources)
+				if(stamps[source] != stamp)
+					discover(source, 0);
+			return this;
+		}
+		
+		private void newStamp() {
+			if(++stamp == 0) { //wrapped around, so old stamps could be mistaken for current ones.
+				Arrays.fill(stamps, 0);
+				stamp = 1;
+			}
+			head = tail = 0;
+		}
+		
+		private void discover(final int node, final int distance) {
+			stamps[node] = stamp;
+			distances[node] = distance;
+			queue[tail++] = node;
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return head < tail;
+		}
+		
+		@Override
+		public int nextInt() {
+			if(head == tail)
+				throw new NoSuchElementException();
+			final int node = queue[head++], distance = distances[node] + 1;
+			for(int e = graph.outStart(node), end = graph.outEnd(node); e < end; e++) {
+				final int target = graph.target(e);
+				if(stamps[target] != stamp)
+					discover(target, distance);
+			}
+			return node;
+		}
+		
+		/** Returns {@code true} if the current traversal has discovered {@code node}, whether or not it has been returned yet. */
+		public boolean isDiscovered(final int node) {
+			return stamp != 0 && stamps[node] == stamp;
+		}
+		
+		/** Returns the number of edges from the nearest source to {@code node}, or {@code -1} if {@code node} has not been discovered. */
+		public int distance(final int node) {
+			return isDiscovered(node) ? distances[node] : -1;
+		}
+		
+	}
 	
+	/**
+	 * <p>A depth-first traversal of an {@link IntGraph}, which returns the nodes in preorder. It uses an explicit stack rather than recursion, so it
+	 * can go as deep as the graph does. Like {@link BreadthFirst}, it allocates its arrays once and may be reused.</p>
+	 */
+	public static final class DepthFirst implements PrimitiveIterator.OfInt {
+		
+		private final IntGraph graph;
+		/** The path from the current source to the most recently discovered node, and the next edge to try out of each node on it. */
+		private final int[] pathNodes, pathEdges;
+		private final int[] stamps;
+		private int stamp, depth;
+		private int[] sources;
+		private int nextSource;
+		/** The node {@link #nextInt()} will return, or {@code -1} if the traversal is over. */
+		private int pending = -1;
+		
+		public DepthFirst(final IntGraph graph) {
+			this.graph = graph;
+			this.pathNodes = new int[graph.nodeCount()];
+			this.pathEdges = new int[graph.nodeCount()];
+			this.stamps = new int[graph.nodeCount()];
+		}
+		
+		/** Starts a new traversal from {@code source}, forgetting the previous one. Returns this {@code DepthFirst}. */
+		public DepthFirst start(final int source) {
+			newStamp();
+			sources = null;
+			push(source);
+			return this;
+		}
+		
+		/** Starts a new traversal from each node of {@code sources} in turn (skipping those already visited), forgetting the previous one. Returns this
+		 * {@code DepthFirst}. */
+		public DepthFirst start(final int... sources) {
+			newStamp();
+			this.sources = sources;
+			nextSource = 0;
+			pending = -1;
+			advanceToNextSource();
+			return this;
+		}
+		
+		private void newStamp() {
+			if(++stamp == 0) {
+				Arrays.fill(stamps, 0);
+				stamp = 1;
+			}
+			depth = 0;
+		}
+		
+		private void push(final int node) {
+			stamps[node] = stamp;
+			pathNodes[depth] = node;
+			pathEdges[depth++] = graph.outStart(node);
+			pending = node;
+		}
+		
+		private void advanceToNextSource() {
+			while(sources != null && nextSource < sources.length) {
+				final int source = sources[nextSource++];
+				if(stamps[source] != stamp) {
+					push(source);
+					return;
+				}
+			}
+			pending = -1;
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return pending >= 0;
+		}
+		
+		@Override
+		public int nextInt() {
+			if(pending < 0)
+				throw new NoSuchElementException();
+			final int node = pending;
+			while(depth > 0) {
+				final int top = depth - 1, end = graph.outEnd(pathNodes[top]);
+				while(pathEdges[top] < end) {
+					final int target = graph.target(pathEdges[top]++);
+					if(stamps[target] != stamp) {
+						push(target);
+						return node;
+					}
+				}
+				depth--;
+			}
+			advanceToNextSource();
+			return node;
+		}
+		
+		/** Returns {@code true} if the current traversal has returned {@code node}, or is about to. */
+		public boolean isDiscovered(final int node) {
+			return stamp != 0 && stamps[node] == stamp;
+		}
+		
+	}
+	
+	/**
+	 * <p>Returns the nodes of {@code graph} in topological order: every edge goes from a node to one that comes later. If {@code graph} has cycles,
+	 * the nodes on them, and every node reachable from them, are left out, so the result has fewer than {@link IntGraph#nodeCount()} elements; the
+	 * nodes that remain are still in topological order.</p>
+	 */
+	public static int[] topologicalOrder(final IntGraph graph) {
+		final int n = graph.nodeCount();
+		final int[] remainingIn = new int[n], order = new int[n];
+		int head = 0, tail = 0;
+		for(int v = 0; v < n; v++)
+			if((remainingIn[v] = graph.inDegree(v)) == 0)
+				order[tail++] = v;
+		while(head < tail) {
+			final int node = order[head++];
+			for(int e = graph.outStart(node), end = graph.outEnd(node); e < end; e++)
+				if(--remainingIn[graph.target(e)] == 0)
+					order[tail++] = graph.target(e);
+		}
+		return tail == n ? order : Arrays.copyOf(order, tail);
+	}
+	
+	/** Returns {@code true} if {@code graph} has no cycles (including edges from a node to itself). */
+	public static boolean isAcyclic(final IntGraph graph) {
+		return topologicalOrder(graph).length == graph.nodeCount();
+	}
+	
+	/**
+	 * <p>Finds the strongly connected components of {@code graph} with an iterative version of Tarjan's algorithm. Returns an array whose element
+	 * {@code v} is the number of the component containing node {@code v}. Components are numbered from {@code 0} in reverse topological order: if
+	 * an edge goes from component {@code a} to a different component {@code b}, then {@code (a > b)}.</p>
+	 */
+	public static int[] stronglyConnectedComponents(final IntGraph graph) {
+		final int n = graph.nodeCount();
+		final int[] component = new int[n], index = new int[n], lowLink = new int[n];
+		final int[] pathNodes = new int[n], pathEdges = new int[n], stack = new int[n];
+		Arrays.fill(index, -1);
+		int nextIndex = 0, componentCount = 0, stackSize = 0;
+		for(int root = 0; root < n; root++) {
+			if(index[root] >= 0)
+				continue;
+			int depth = 0;
+			index[root] = lowLink[root] = nextIndex++;
+			stack[stackSize++] = root;
+			pathNodes[depth] = root;
+			pathEdges[depth++] = graph.outStart(root);
+			while(depth > 0) {
+				final int node = pathNodes[depth - 1];
+				if(pathEdges[depth - 1] < graph.outEnd(node)) {
+					final int target = graph.target(pathEdges[depth - 1]++);
+					if(index[target] < 0) {
+						index[target] = lowLink[target] = nextIndex++;
+						stack[stackSize++] = target;
+						pathNodes[depth] = target;
+						pathEdges[depth++] = graph.outStart(target);
+					}
+					else if(component[target] == 0) { //discovered but not yet assigned a component, so still on the stack.
+						lowLink[node] = Math.min(lowLink[node], index[target]);
+					}
+					continue;
+				}
+				depth--;
+				if(depth > 0) {
+					final int parent = pathNodes[depth - 1];
+					lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+				}
+				if(lowLink[node] == index[node]) {
+					componentCount++;
+					int member;
+					do {
+						member = stack[--stackSize];
+						component[member] = componentCount; //stored plus one, so that 0 means "not yet assigned".
+					} while(member != node);
+				}
+			}
+		}
+		for(int v = 0; v < n; v++)
+			component[v]--;
+		return component;
+	}
+	
+	/**
+	 * <p>Returns the set of nodes reachable from any of {@code sources} by following one or more edges of {@code graph}, as a bitset. A source is
+	 * only in the set if it is reachable from a source, such as by a cycle. To follow the edges backward (to find the nodes from which the sources
+	 * are reachable), pass {@link IntGraph#reversed()}.</p>
+	 */
+	public static long[] reachable(final IntGraph graph, final int... sources) {
+		final long[] visited = new long[(graph.nodeCount() + 63) >>> 6];
+		final int[] queue = new int[graph.nodeCount() + sources.length];
+		int head = 0, tail = 0;
+		for(int source : sources)
+			queue[tail++] = source;
+		while(head < tail) {
+			final int node = queue[head++];
+			for(int e = graph.outStart(node), end = graph.outEnd(node); e < end; e++) {
+				final int target = graph.target(e);
+				if((visited[target >>> 6] & (1L << target)) == 0) {
+					visited[target >>> 6] |= 1L << target;
+					queue[tail++] = target;
+				}
+			}
+		}
+		return visited;
+	}
+	
+	/**
+	 * <p>Returns the same set as {@link #reachable(IntGraph, int...)}, but searches one level at a time, expanding the nodes of each level in parallel.
+	 * Nodes are claimed with an atomic compare-and-set on their word of the bitset, so each is expanded exactly once. Only worthwhile for large
+	 * graphs whose levels are wide.</p>
+	 */
+	public static long[] parallelReachable(final IntGraph graph, final int... sources) {
+		final AtomicLongArray visited = new AtomicLongArray((graph.nodeCount() + 63) >>> 6);
+		int[] frontier = sources.clone();
+		while(frontier.length > 0) {
+			final int[] current = frontier;
+			frontier = IntStream.range(0, current.length).parallel().flatMap(i -> {
+				final int node = current[i];
+				return IntStream.range(graph.outStart(node), graph.outEnd(node)).map(graph::target).filter(t -> claim(visited, t));
+			}).toArray();
+		}
+		final long[] result = new long[visited.length()];
+		for(int i = 0; i < result.length; i++)
+			result[i] = visited.get(i);
+		return result;
+	}
+	
+	/** Sets the bit for {@code node} in {@code bits}. Returns {@code true} if this call set it, {@code false} if it was already set. */
+	private static boolean claim(final AtomicLongArray bits, final int node) {
+		final int word = node >>> 6;
+		final long mask = 1L << node;
+		for(long old = bits.get(word); (old & mask) == 0; old = bits.get(word))
+			if(bits.compareAndSet(word, old, old | mask))
+				return true;
+		return false;
+	}
+	
+	/** Returns the number of nodes in the bitset {@code nodes}. */
+	public static int count(final long[] nodes) {
+		int count = 0;
+		for(long word : nodes)
+			count += Long.bitCount(word);
+		return count;
+	}
+	
+	/** Returns {@code true} if {@code node} is in the bitset {@code nodes}. */
+	public static boolean contains(final long[] nodes, final int node) {
+		return (nodes[node >>> 6] & (1L << node)) != 0;
+	}
 	
 }
@@ -13,13 +13,22 @@ public final class IO {
 	private IO() {}
 	
 	/**
-	 * Returns a {@link Stream Stream}{@code<String>} containing the lines in the file, as if given by {@link BufferedReader#lines()}.
+	 * Returns a {@link Stream Stream}{@code<String>} containing the lines in the file, as if given by {@link BufferedReader#lines()}. Closing the
+	 * returned {@code Stream} closes the file.
 	 * @param fileName the name of the file as it should be passed to {@link FileReader#FileReader(String)}.
 	 * @throws A {@link RuntimeException} if getting the lines fails for any reason.
 	 */
 	public static Stream<String> lines(final String fileName) {
 		try {
-			return new BufferedReader(new FileReader(fileName)).lines();
+			final BufferedReader reader = new BufferedReader(new FileReader(fileName));
+			return reader.lines().onClose(() -> {
+				try {
+					reader.close();
+				}
+				catch(IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
 		}
 		catch (IOException e) {
 			throw new RuntimeException(e);
@@ -54,6 +63,30 @@ public final class IO {
 		return lines(fileName).collect(Collectors.joining(lineTerminator));
 	}
 	
+	/**
+	 * Returns the named file {@link MappedText mapped into memory}, so that its lines can be read without creating a {@code String} for each one.
+	 * @throws UncheckedIOException if the file cannot be opened or mapped.
+	 */
+	public static MappedText map(final String fileName) {
+		return new MappedText(fileName);
+	}
+	
+	/**
+	 * Returns the value of each line of the named file, parsed as an {@code int} directly from the {@link #map(String) mapped} bytes. Equivalent to
+	 * {@code lines(fileName).mapToInt(Integer::parseInt)}, but creates no {@code Strings}.
+	 */
+	public static IntStream ints(final String fileName) {
+		return map(fileName).ints();
+	}
+	
+	/**
+	 * Returns the value of each line of the named file, parsed as a {@code long} directly from the {@link #map(String) mapped} bytes. Equivalent to
+	 * {@code lines(fileName).mapToLong(Long::parseLong)}, but creates no {@code Strings}.
+	 */
+	public static LongStream longs(final String fileName) {
+		return map(fileName).longs();
+	}
+	
 	public static Stream<String> splitOnBlanks(final String fileName) {
 		return Regex.TWO_LINE_FEEDS.splitAsStream(text(fileName));
 	}
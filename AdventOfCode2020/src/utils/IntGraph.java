@@ -0,0 +1,212 @@
+package utils;
+
+import java.util.*;
+
+import utils.colls.IntList;
+
+/**
+ * <p>An immutable directed graph whose nodes are the {@code ints} {@code 0} (inclusive) through {@link #nodeCount()} (exclusive), stored in
+ * compressed-sparse-row form in both directions. Each edge has an {@code int} weight (which is {@code 1} unless the {@link Builder} was given
+ * another).</p>
+ * <p>Edges are numbered, and are visited without allocating anything using the idiom:
+ * <pre>{@code for(int e = graph.outStart(node), end = graph.outEnd(node); e < end; e++)
+ * 	//graph.target(e), graph.weight(e)...}
+ * </pre>
+ * The edges into a node are visited in the same way with {@link #inStart(int)}, {@link #inEnd(int)}, {@link #source(int)}, and
+ * {@link #inWeight(int)}; those edges have their own numbering. {@link #reversed()} swaps the two directions without copying anything.
+ * The algorithms that work on these graphs are in {@link Graphs}.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class IntGraph {
+
+	/**
+	 * <p>Builds an {@link IntGraph}. Nodes may be given as labels of type {@code T}, which are interned to consecutive IDs in the order they are
+	 * first seen, or directly as IDs. The builder keeps its labels after {@link #build()}, so they can be used to look up the nodes of the graph.</p>
+	 * @author Sam Hooper
+	 *
+	 */
+	public static final class Builder<T> {
+
+		private final Map<T, Integer> ids = new HashMap<>();
+		/** The label of each node, or {@code null} if it was added by {@link #addNodes(int)}. */
+		private final List<T> labels = new ArrayList<>();
+		private final IntList from = new IntList(), to = new IntList(), weights = new IntList();
+
+		/** Returns the ID of {@code label}, adding a node for it if there is none yet. */
+		public int node(final T label) {
+			final Integer id = ids.putIfAbsent(label, labels.size());
+			if(id != null)
+				return id;
+			labels.add(label);
+			return labels.size() - 1;
+		}
+
+		/** Adds {@code count} nodes that have no label and returns the ID of the first one. */
+		public int addNodes(final int count) {
+			if(count < 0)
+				throw new IllegalArgumentException("count < 0");
+			final int first = labels.size();
+			for(int i = 0; i < count; i++)
+				labels.add(null);
+			return first;
+		}
+
+		/** Returns the ID of {@code label}, or {@code -1} if there is no node for it. */
+		public int idOf(final T label) {
+			final Integer id = ids.get(label);
+			return id == null ? -1 : id;
+		}
+
+		/** Returns the label of node {@code id}, or {@code null} if it has none. */
+		public T label(final int id) {
+			return labels.get(id);
+		}
+
+		public int nodeCount() {
+			return labels.size();
+		}
+
+		public Builder<T> addEdge(final T from, final T to) {
+			return addEdge(node(from), node(to), 1);
+		}
+
+		public Builder<T> addEdge(final T from, final T to, final int weight) {
+			return addEdge(node(from), node(to), weight);
+		}
+
+		public Builder<T> addEdge(final int from, final int to) {
+			return addEdge(from, to, 1);
+		}
+
+		/**
+		 * @throws IllegalArgumentException if {@code from} or {@code to} is not the ID of a node.
+		 */
+		public Builder<T> addEdge(final int from, final int to, final int weight) {
+			if(from < 0 || from >= labels.size() || to < 0 || to >= labels.size())
+				throw new IllegalArgumentException("No such node: " + (from < 0 || from >= labels.size() ? from : to));
+			this.from.add(from);
+			this.to.add(to);
+			this.weights.add(weight);
+			return this;
+		}
+
+		/** Returns a new {@link IntGraph} of the nodes and edges added so far. Edges leave (and enter) each node in the order they were added. */
+		public IntGraph build() {
+			final int nodeCount = labels.size(), edgeCount = from.size();
+			final int[] outStart = new int[nodeCount + 1], inStart = new int[nodeCount + 1];
+			for(int e = 0; e < edgeCount; e++) {
+				outStart[from.get(e) + 1]++;
+				inStart[to.get(e) + 1]++;
+			}
+			for(int v = 0; v < nodeCount; v++) {
+				outStart[v + 1] += outStart[v];
+				inStart[v + 1] += inStart[v];
+			}
+			final int[] targets = new int[edgeCount], outWeights = new int[edgeCount], sources = new int[edgeCount], inWeights = new int[edgeCount];
+			final int[] outFill = Arrays.copyOf(outStart, nodeCount), inFill = Arrays.copyOf(inStart, nodeCount);
+			for(int e = 0; e < edgeCount; e++) {
+				final int f = from.get(e), t = to.get(e), w = weights.get(e);
+				final int out = outFill[f]++, in = inFill[t]++;
+				targets[out] = t;
+				outWeights[out] = w;
+				sources[in] = f;
+				inWeights[in] = w;
+			}
+			return new IntGraph(nodeCount, outStart, targets, outWeights, inStart, sources, inWeights);
+		}
+
+	}
+
+	public static <T> Builder<T> builder() {
+		return new Builder<>();
+	}
+
+	private final int nodeCount;
+	/** The edges out of node {@code v} are {@code outStart[v]} (inclusive) through {@code outStart[v + 1]} (exclusive); edge {@code e} goes to
+	 * {@code targets[e]} and has weight {@code outWeights[e]}. The other three arrays hold the edges into each node in the same way. */
+	private final int[] outStart, targets, outWeights, inStart, sources, inWeights;
+	private IntGraph reversed;
+
+	private IntGraph(final int nodeCount, final int[] outStart, final int[] targets, final int[] outWeights, final int[] inStart,
+			final int[] sources, final int[] inWeights) {
+		this.nodeCount = nodeCount;
+		this.outStart = outStart;
+		this.targets = targets;
+		this.outWeights = outWeights;
+		this.inStart = inStart;
+		this.sources = sources;
+		this.inWeights = inWeights;
+	}
+
+	public int nodeCount() {
+		return nodeCount;
+	}
+
+	public int edgeCount() {
+		return targets.length;
+	}
+
+	/** Returns the number of the first edge out of {@code node}. */
+	public int outStart(final int node) {
+		return outStart[node];
+	}
+
+	/** Returns one more than the number of the last edge out of {@code node}. */
+	public int outEnd(final int node) {
+		return outStart[node + 1];
+	}
+
+	public int outDegree(final int node) {
+		return outStart[node + 1] - outStart[node];
+	}
+
+	/** Returns the node that edge {@code edge} (numbered as by {@link #outStart(int)}) goes to. */
+	public int target(final int edge) {
+		return targets[edge];
+	}
+
+	/** Returns the weight of edge {@code edge} (numbered as by {@link #outStart(int)}). */
+	public int weight(final int edge) {
+		return outWeights[edge];
+	}
+
+	/** Returns the number of the first edge into {@code node}. */
+	public int inStart(final int node) {
+		return inStart[node];
+	}
+
+	/** Returns one more than the number of the last edge into {@code node}. */
+	public int inEnd(final int node) {
+		return inStart[node + 1];
+	}
+
+	public int inDegree(final int node) {
+		return inStart[node + 1] - inStart[node];
+	}
+
+	/** Returns the node that edge {@code edge} (numbered as by {@link #inStart(int)}) comes from. */
+	public int source(final int edge) {
+		return sources[edge];
+	}
+
+	/** Returns the weight of edge {@code edge} (numbered as by {@link #inStart(int)}). */
+	public int inWeight(final int edge) {
+		return inWeights[edge];
+	}
+
+	/** Returns this graph with every edge turned around. The two graphs share their arrays. */
+	public IntGraph reversed() {
+		if(reversed == null) {
+			reversed = new IntGraph(nodeCount, inStart, sources, inWeights, outStart, targets, outWeights);
+			reversed.reversed = this;
+		}
+		return reversed;
+	}
+
+	@Override
+	public String toString() {
+		return "IntGraph[nodes=" + nodeCount + ", edges=" + edgeCount() + "]";
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,361 @@
+package utils;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import utils.colls.LongLongMap;
+
+/**
+ * <p>Finds {@code k} elements of an {@code int[]}, at distinct indices, that sum to a target. Sums are computed as {@code longs}, so they never
+ * overflow for any {@code k} that is practical. Three {@link Strategy strategies} are available, and by default one is picked based on the input.
+ * All of them first reduce the input so that no value occurs more than {@code k} times, since further copies can never be used.</p>
+ * <p>None of the strategies box the elements, and the result is returned as an {@code int[]} of the chosen values in ascending order, or
+ * {@code null} if there is no solution. If there are several solutions, which one is returned is unspecified.</p>
+ * <p>All methods throw a {@link NullPointerException} if a parameter is {@code null}.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class KSum {
+
+	private KSum() {}
+
+	public enum Strategy {
+		/** Picks {@link #BITSET} if the range of values is small compared to the number of values, {@link #MEET_IN_THE_MIDDLE} if {@code (k >= 4)}
+		 * and its table would be small enough, and {@link #SORT_TWO_POINTER} otherwise. */
+		AUTO,
+		/** Sorts the values, fixes the first {@code (k - 2)} of them with nested loops, and finds the last two with two pointers moving inward.
+		 * {@code O(n^(k-1))} time and no extra space beyond the sorted copy. */
+		SORT_TWO_POINTER,
+		/** Hashes the sums of every combination of {@code (k / 2)} values, then probes the table with the sums of every combination of the
+		 * remaining {@code (k - k / 2)}. {@code O(n^ceil(k/2))} time, but {@code O(n^floor(k/2))} space. */
+		MEET_IN_THE_MIDDLE,
+		/** Records which values are present in a bitset indexed by {@code (value - min)}, so no sorting is needed: the distinct values come out of
+		 * the bitset in order. The first {@code (k - 1)} values are fixed with nested loops and the last is a single bit test. Only usable when
+		 * {@code (max - min)} is at most {@link KSum#MAX_BITSET_RANGE}. */
+		BITSET;
+	}
+
+	/** The largest {@code (max - min + 1)} for which {@link Strategy#BITSET} may be used. */
+	public static final long MAX_BITSET_RANGE = 1L << 27;
+	/** The most table entries {@link Strategy#AUTO} will let {@link Strategy#MEET_IN_THE_MIDDLE} allocate. */
+	public static final long MAX_AUTO_TABLE_SIZE = 1L << 22;
+
+	/**
+	 * <p>Equivalent to {@code find(arr, k, target, Strategy.AUTO, false)}.</p>
+	 * @throws IllegalArgumentException if {@code (k < 1)}.
+	 */
+	public static int[] find(final int[] arr, final int k, final long target) {
+		return find(arr, k, target, Strategy.AUTO, false);
+	}
+
+	/**
+	 * <p>Equivalent to {@code find(arr, 0, arr.length, k, target, strategy, parallel)}.</p>
+	 * @throws IllegalArgumentException if {@code (k < 1)}, or if {@code strategy} cannot handle the input.
+	 */
+	public static int[] find(final int[] arr, final int k, final long target, final Strategy strategy, final boolean parallel) {
+		return find(arr, 0, arr.length, k, target, strategy, parallel);
+	}
+
+	/**
+	 * <p>Returns {@code k} values from distinct indices between {@code startInclusive} and {@code endExclusive} in {@code arr} that sum to {@code target},
+	 * in ascending order, or {@code null} if there are none. {@code arr} is not modified.</p>
+	 * <p>If {@code parallel}, the outermost loop of the search is split across the common {@link java.util.concurrent.ForkJoinPool} (and sorting, if
+	 * any, uses {@link Arrays#parallelSort(int[])}). The table built by {@link Strategy#MEET_IN_THE_MIDDLE} is always filled sequentially; only
+	 * probing it is parallel.</p>
+	 * @throws IllegalArgumentException if {@code (k < 1)}, if the range is invalid, if {@code strategy} is {@link Strategy#BITSET} and the range of values
+	 * exceeds {@link #MAX_BITSET_RANGE}, or if {@code strategy} is {@link Strategy#MEET_IN_THE_MIDDLE} and there are too many values to index.
+	 */
+	public static int[] find(final int[] arr, final int startInclusive, final int endExclusive, final int k, final long target, final Strategy strategy,
+			final boolean parallel) {
+		Objects.requireNonNull(strategy);
+		if(k < 1)
+			throw new IllegalArgumentException("k < 1");
+		Objects.checkFromToIndex(startInclusive, endExclusive, arr.length);
+		if(endExclusive - startInclusive < k)
+			return null;
+		int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+		for(int i = startInclusive; i < endExclusive; i++) {
+			min = Math.min(min, arr[i]);
+			max = Math.max(max, arr[i]);
+		}
+		if(target < (long) k * min || target > (long) k * max)
+			return null;
+		final long range = (long) max - min + 1;
+		final int n = endExclusive - startInclusive;
+		return switch(strategy == Strategy.AUTO ? choose(n, k, range) : strategy) {
+			case BITSET -> {
+				if(range > MAX_BITSET_RANGE)
+					throw new IllegalArgumentException("The range of values is too large for a bitset: " + range);
+				yield new BitsetSearch(arr, startInclusive, endExclusive, min, (int) range, k).find(target, parallel);
+			}
+			case MEET_IN_THE_MIDDLE -> meetInTheMiddle(sortedCapped(arr, startInclusive, endExclusive, k, parallel), k, target, parallel);
+			default -> twoPointer(sortedCapped(arr, startInclusive, endExclusive, k, parallel), k, target, parallel);
+		};
+	}
+
+	private static Strategy choose(final int n, final int k, final long range) {
+		if(range <= MAX_BITSET_RANGE && range <= 64L * n)
+			return Strategy.BITSET;
+		if(k >= 4 && combinations(n, k / 2) <= MAX_AUTO_TABLE_SIZE)
+			return Strategy.MEET_IN_THE_MIDDLE;
+		return Strategy.SORT_TWO_POINTER;
+	}
+
+	/** Returns {@code (n choose r)}, or {@link Long#MAX_VALUE} if it exceeds {@link #MAX_AUTO_TABLE_SIZE}. */
+	private static long combinations(final int n, final int r) {
+		long result = 1;
+		for(int i = 0; i < r; i++) {
+			result = result * (n - i) / (i + 1);
+			if(result > MAX_AUTO_TABLE_SIZE)
+				return Long.MAX_VALUE;
+		}
+		return result;
+	}
+
+	/** Returns a sorted copy of the range in which no value occurs more than {@code k} times. */
+	private static int[] sortedCapped(final int[] arr, final int startInclusive, final int endExclusive, final int k, final boolean parallel) {
+		final int[] sorted = Arrays.copyOfRange(arr, startInclusive, endExclusive);
+		if(parallel)
+			Arrays.parallelSort(sorted);
+		else
+			Arrays.sort(sorted);
+		int length = 0;
+		for(int i = 0; i < sorted.length; i++)
+			if(length < k || sorted[length - k] != sorted[i])
+				sorted[length++] = sorted[i];
+		return length == sorted.length ? sorted : Arrays.copyOf(sorted, length);
+	}
+
+	private static int[] valuesAt(final int[] sorted, final int[] indices) {
+		final int[] values = new int[indices.length];
+		for(int i = 0; i < indices.length; i++)
+			values[i] = sorted[indices[i]];
+		Arrays.sort(values);
+		return values;
+	}
+
+	private static int[] twoPointer(final int[] sorted, final int k, final long target, final boolean parallel) {
+		if(!parallel || k < 3) {
+			final int[] chosen = new int[k];
+			return twoPointer(sorted, 0, k, target, chosen, 0) ? valuesAt(sorted, chosen) : null;
+		}
+		return IntStream.rangeClosed(0, sorted.length - k).parallel()
+				.filter(i -> i == 0 || sorted[i] != sorted[i - 1])
+				.mapToObj(i -> {
+					final int[] chosen = new int[k];
+					chosen[0] = i;
+					return twoPointer(sorted, i + 1, k - 1, target - sorted[i], chosen, 1) ? valuesAt(sorted, chosen) : null;
+				})
+				.filter(Objects::nonNull).findAny().orElse(null);
+	}
+
+	/**
+	 * <p>Searches {@code sorted[from..]} for {@code j} values at increasing indices that sum to {@code target}, storing their indices in
+	 * {@code chosen[depth..(depth + j)]}. Returns {@code true} if they were found.</p>
+	 */
+	private static boolean twoPointer(final int[] sorted, final int from, final int j, final long target, final int[] chosen, final int depth) {
+		final int n = sorted.length;
+		if(n - from < j)
+			return false;
+		if(j == 1) {
+			if(target < Integer.MIN_VALUE || target > Integer.MAX_VALUE)
+				return false;
+			final int index = Arrays.binarySearch(sorted, from, n, (int) target);
+			chosen[depth] = index;
+			return index >= 0;
+		}
+		if(j == 2) {
+			for(int lo = from, hi = n - 1; lo < hi;) {
+				final long sum = (long) sorted[lo] + sorted[hi];
+				if(sum == target) {
+					chosen[depth] = lo;
+					chosen[depth + 1] = hi;
+					return true;
+				}
+				if(sum < target)
+					lo++;
+				else
+					hi--;
+			}
+			return false;
+		}
+		long largestRest = 0; //the sum of the (j - 1) largest values.
+		for(int i = n - j + 1; i < n; i++)
+			largestRest += sorted[i];
+		for(int i = from; i <= n - j; i++) {
+			if(i > from && sorted[i] == sorted[i - 1])
+				continue;
+			long smallest = sorted[i];
+			for(int m = i + 1; m < i + j; m++)
+				smallest += sorted[m];
+			if(smallest > target)
+				break;
+			if(sorted[i] + largestRest < target)
+				continue;
+			chosen[depth] = i;
+			if(twoPointer(sorted, i + 1, j - 1, target - sorted[i], chosen, depth + 1))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * <p>Splits the {@code k} values into a left group of {@code (k / 2)} and a right group of the rest. Every left combination is put in a table keyed
+	 * by its sum, in order of its largest index, keeping only the first combination for each sum: the one whose largest index is smallest. A right
+	 * combination whose smallest index is {@code c} then completes a solution if and only if the table's combination for the remaining sum has a largest
+	 * index less than {@code c}, so the two groups never share an index. The table is read-only once built, so the right combinations can be
+	 * probed in parallel.</p>
+	 */
+	private static int[] meetInTheMiddle(final int[] sorted, final int k, final long target, final boolean parallel) {
+		if(k == 1)
+			return twoPointer(sorted, 1, target, false);
+		final int left = k / 2, right = k - left, n = sorted.length;
+		final int bits = Long.SIZE / left - 1; //the number of bits used to store each index of a left combination.
+		if(bits < 31 && n > 1 << bits)
+			throw new IllegalArgumentException("Too many values to index: " + n);
+		final LongLongMap table = new LongLongMap();
+		final int[] indices = new int[left];
+		for(int last = left - 1; last < n; last++) {
+			indices[left - 1] = last;
+			forEachCombination(sorted, indices, 0, left - 1, 0, last, sorted[last], (sum, combination) -> {
+				if(!table.containsKey(sum)) {
+					long packed = 0;
+					for(int i = 0; i < left; i++)
+						packed |= (long) combination[i] << (bits * i);
+					table.put(sum, packed);
+				}
+				return false;
+			});
+		}
+		final long mask = (1L << bits) - 1;
+		final IntStream firsts = IntStream.range(left, n - right + 1);
+		return (parallel ? firsts.parallel() : firsts).mapToObj(first -> {
+			final int[] combination = new int[k];
+			combination[left] = first;
+			final boolean found = forEachCombination(sorted, combination, left + 1, k, first + 1, n, sorted[first], (sum, c) -> {
+				final long packed = table.getOrDefault(target - sum, -1);
+				if(packed < 0 || (packed >>> (bits * (left - 1)) & mask) >= first)
+					return false;
+				for(int i = 0; i < left; i++)
+					c[i] = (int) (packed >>> (bits * i) & mask);
+				return true;
+			});
+			return found ? valuesAt(sorted, combination) : null;
+		}).filter(Objects::nonNull).findAny().orElse(null);
+	}
+
+	@FunctionalInterface
+	private interface CombinationVisitor {
+
+		/** Returns {@code true} to stop the enumeration. */
+		boolean visit(long sum, int[] combination);
+
+	}
+
+	/**
+	 * <p>Fills {@code combination[depth..end)} with every increasing sequence of indices in {@code [from, to)}, passing each one (and {@code partialSum}
+	 * plus the values at those indices) to {@code visitor}. Returns {@code true} if {@code visitor} stopped the enumeration.</p>
+	 */
+	private static boolean forEachCombination(final int[] sorted, final int[] combination, final int depth, final int end, final int from, final int to,
+			final long partialSum, final CombinationVisitor visitor) {
+		if(depth == end)
+			return visitor.visit(partialSum, combination);
+		for(int i = from; i <= to - (end - depth); i++) {
+			combination[depth] = i;
+			if(forEachCombination(sorted, combination, depth + 1, end, i + 1, to, partialSum + sorted[i], visitor))
+				return true;
+		}
+		return false;
+	}
+
+	private static final class BitsetSearch {
+
+		private final int k, min;
+		/** Bit {@code (v - min)} is set if {@code v} is present. */
+		private final long[] present;
+		/** The distinct values in ascending order, and how many times each occurs (at most {@code k}). */
+		private final int[] values, counts;
+
+		BitsetSearch(final int[] arr, final int startInclusive, final int endExclusive, final int min, final int range, final int k) {
+			this.k = k;
+			this.min = min;
+			//layer j has bit (v - min) set if v occurs more than j times.
+			final long[][] layers = new long[k][(range + 63) >>> 6];
+			this.present = layers[0];
+			int distinct = 0;
+			for(int i = startInclusive; i < endExclusive; i++) {
+				final int offset = arr[i] - min;
+				for(int j = 0; j < k; j++) {
+					final long[] layer = layers[j];
+					if((layer[offset >>> 6] & (1L << offset)) == 0) {
+						layer[offset >>> 6] |= 1L << offset;
+						if(j == 0)
+							distinct++;
+						break;
+					}
+				}
+			}
+			this.values = new int[distinct];
+			this.counts = new int[distinct];
+			int index = 0;
+			for(int word = 0; word < present.length; word++) {
+				for(long bits = present[word]; bits != 0; bits &= bits - 1) {
+					final int offset = (word << 6) + Long.numberOfTrailingZeros(bits);
+					int count = 1;
+					while(count < k && (layers[count][word] & (1L << offset)) != 0)
+						count++;
+					values[index] = min + offset;
+					counts[index++] = count;
+				}
+			}
+		}
+
+		int[] find(final long target, final boolean parallel) {
+			if(!parallel || k < 2) {
+				final int[] chosen = new int[k];
+				return search(chosen, 0, 0, 0, target) ? chosen : null;
+			}
+			return IntStream.range(0, values.length).parallel().mapToObj(i -> {
+				final int[] chosen = new int[k];
+				chosen[0] = values[i];
+				return search(chosen, 1, i, 1, target - values[i]) ? chosen : null;
+			}).filter(Objects::nonNull).findAny().orElse(null);
+		}
+
+		/**
+		 * <p>Chooses {@code chosen[depth..k)} in ascending order, none smaller than {@code values[start]}, of which {@code used} copies have already been
+		 * chosen. Returns {@code true} if they sum to {@code remaining}.</p>
+		 */
+		private boolean search(final int[] chosen, final int depth, final int start, final int used, final long remaining) {
+			final int left = k - depth;
+			if(left == 1) {
+				if(remaining < values[start] || remaining > values[values.length - 1])
+					return false;
+				final boolean found = remaining == values[start] ? counts[start] > used : isPresent((int) remaining);
+				chosen[depth] = (int) remaining;
+				return found;
+			}
+			final long max = values[values.length - 1];
+			for(int i = start; i < values.length; i++) {
+				final int usedOfValue = i == start ? used : 0;
+				if(counts[i] <= usedOfValue)
+					continue;
+				if((long) values[i] * left > remaining)
+					break;
+				if(values[i] + max * (left - 1) < remaining)
+					continue;
+				chosen[depth] = values[i];
+				if(search(chosen, depth + 1, i, usedOfValue + 1, remaining - values[i]))
+					return true;
+			}
+			return false;
+		}
+
+		private boolean isPresent(final int value) {
+			final int offset = value - min;
+			return (present[offset >>> 6] & (1L << offset)) != 0;
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,242 @@
+package utils;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+import utils.function.LongIntConsumer;
+
+/**
+ * <p>A text file mapped into memory with {@link FileChannel#map(FileChannel.MapMode, long, long)}, whose lines can be visited without copying them
+ * into {@link String Strings}. Files larger than 2 GB are mapped in several chunks of {@link #CHUNK_BYTES} bytes, and a line may span two
+ * chunks.</p>
+ * <p>Every byte is treated as one {@code char} (that is, the file is read as ISO-8859-1, which agrees with ASCII and UTF-8 for the plain ASCII puzzle
+ * inputs). Lines are terminated by LF, CR, or CRLF, as in {@link BufferedReader#readLine()}, and the terminators are not part of the lines.</p>
+ * <p>Obtain instances through {@link IO#map(String)}.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class MappedText {
+	
+	/** {@code 2^30} bytes, or 1 GB per mapping. */
+	static final int CHUNK_SHIFT = 30, CHUNK_BYTES = 1 << CHUNK_SHIFT, CHUNK_MASK = CHUNK_BYTES - 1;
+	
+	private static final byte LF = '\n', CR = '\r';
+	private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.NONNULL;
+	
+	private final MappedByteBuffer[] chunks;
+	private final long size;
+	
+	/**
+	 * @throws UncheckedIOException if the file cannot be opened or mapped.
+	 */
+	MappedText(final String fileName) {
+		try(FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+			this.size = channel.size();
+			this.chunks = new MappedByteBuffer[(int) ((size + CHUNK_MASK) >>> CHUNK_SHIFT)];
+			for(int i = 0; i < chunks.length; i++) {
+				final long start = (long) i << CHUNK_SHIFT;
+				chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(CHUNK_BYTES, size - start));
+			}
+		}
+		catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/** Returns the length of the file, in bytes. */
+	public long size() {
+		return size;
+	}
+	
+	/** Returns the byte at the given offset from the start of the file. */
+	public byte byteAt(final long offset) {
+		return chunks[(int) (offset >>> CHUNK_SHIFT)].get((int) (offset & CHUNK_MASK));
+	}
+	
+	/** Returns the offset of the first line terminator at or after {@code from}, or {@link #size()} if there is none. */
+	private long lineEnd(long from) {
+		while(from < size) {
+			final long chunkStart = from & ~(long) CHUNK_MASK;
+			final MappedByteBuffer chunk = chunks[(int) (from >>> CHUNK_SHIFT)];
+			for(int i = (int) (from & CHUNK_MASK), stop = chunk.limit(); i < stop; i++) {
+				final byte b = chunk.get(i);
+				if(b == LF || b == CR)
+					return chunkStart + i;
+			}
+			from = chunkStart + chunk.limit();
+		}
+		return size;
+	}
+	
+	/**
+	 * <p>Passes the offset and length (in bytes) of every line, in order, to {@code action}. No objects are created.</p>
+	 * @throws IllegalStateException if a line is longer than {@link Integer#MAX_VALUE} bytes.
+	 */
+	public void forEachLine(final LongIntConsumer action) {
+		final LineCursor cursor = new LineCursor();
+		while(cursor.advance())
+			action.acceptLongInt(cursor.start, cursor.length);
+	}
+	
+	/**
+	 * <p>Returns the lines of the file as {@link CharSequence} views over the mapped bytes. Each view is a small object holding an offset and a
+	 * length; no characters are copied unless {@link CharSequence#toString()} is called.</p>
+	 */
+	public Stream<CharSequence> lines() {
+		final LineCursor cursor = new LineCursor();
+		return StreamSupport.stream(new Spliterators.AbstractSpliterator<CharSequence>(Long.MAX_VALUE, CHARACTERISTICS) {
+			@Override
+			public boolean tryAdvance(final Consumer<? super CharSequence> action) {
+				if(!cursor.advance())
+					return false;
+				action.accept(new Line(cursor.start, cursor.length));
+				return true;
+			}
+		}, false);
+	}
+	
+	/**
+	 * <p>Returns the value of each line, parsed as a signed decimal {@code int} directly from the mapped bytes. The lines must be valid as if by
+	 * {@link Integer#parseInt(String)}.</p>
+	 * @throws NumberFormatException (when the stream is consumed) if a line is not a valid {@code int}.
+	 */
+	public IntStream ints() {
+		final LineCursor cursor = new LineCursor();
+		return StreamSupport.intStream(new Spliterators.AbstractIntSpliterator(Long.MAX_VALUE, CHARACTERISTICS) {
+			@Override
+			public boolean tryAdvance(final IntConsumer action) {
+				if(!cursor.advance())
+					return false;
+				action.accept(parseInt(cursor.start, cursor.length));
+				return true;
+			}
+		}, false);
+	}
+	
+	/**
+	 * <p>Returns the value of each line, parsed as a signed decimal {@code long} directly from the mapped bytes. The lines must be valid as if by
+	 * {@link Long#parseLong(String)}.</p>
+	 * @throws NumberFormatException (when the stream is consumed) if a line is not a valid {@code long}.
+	 */
+	public LongStream longs() {
+		final LineCursor cursor = new LineCursor();
+		return StreamSupport.longStream(new Spliterators.AbstractLongSpliterator(Long.MAX_VALUE, CHARACTERISTICS) {
+			@Override
+			public boolean tryAdvance(final LongConsumer action) {
+				if(!cursor.advance())
+					return false;
+				action.accept(parseLong(cursor.start, cursor.length));
+				return true;
+			}
+		}, false);
+	}
+	
+	/** Walks the lines of the file one at a time. After each successful {@link #advance()}, {@link #start} and {@link #length} describe the current
+	 * line. */
+	private final class LineCursor {
+		
+		private long next = 0, start;
+		private int length;
+		
+		/**
+		 * @throws IllegalStateException if the next line is longer than {@link Integer#MAX_VALUE} bytes.
+		 */
+		boolean advance() {
+			if(next >= size)
+				return false;
+			final long end = lineEnd(next);
+			if(end - next > Integer.MAX_VALUE)
+				throw new IllegalStateException("Line at offset " + next + " is too long");
+			start = next;
+			length = (int) (end - next);
+			next = end >= size ? size : byteAt(end) == CR && end + 1 < size && byteAt(end + 1) == LF ? end + 2 : end + 1;
+			return true;
+		}
+		
+	}
+	
+	/** Parses the line at {@code offset} as an {@code int}, with the same accepted syntax and overflow behavior as {@link Integer#parseInt(String)}. */
+	private int parseInt(final long offset, final int length) {
+		final long value = parseLong(offset, length);
+		if(value != (int) value)
+			throw new NumberFormatException("For input string: \"" + new Line(offset, length) + "\"");
+		return (int) value;
+	}
+	
+	/** Parses the line at {@code offset} as a {@code long}, with the same accepted syntax and overflow behavior as {@link Long#parseLong(String)}. */
+	private long parseLong(final long offset, final int length) {
+		if(length == 0)
+			throw new NumberFormatException("For input string: \"\"");
+		MappedByteBuffer chunk = chunks[(int) (offset >>> CHUNK_SHIFT)];
+		int index = (int) (offset & CHUNK_MASK);
+		final byte first = chunk.get(index);
+		final boolean negative = first == '-';
+		int i = 0;
+		if(negative || first == '+') {
+			if(length == 1)
+				throw new NumberFormatException("For input string: \"" + new Line(offset, length) + "\"");
+			i++;
+			index++;
+		}
+		final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long result = 0; //accumulated negatively, as in Long.parseLong, so that Long.MIN_VALUE can be represented.
+		for(; i < length; i++, index++) {
+			if(index == CHUNK_BYTES) { //the line continues into the next mapping.
+				chunk = chunks[(int) ((offset + i) >>> CHUNK_SHIFT)];
+				index = 0;
+			}
+			final int digit = chunk.get(index) - '0';
+			if(digit < 0 || digit > 9 || result < limit / 10 || (result *= 10) < limit + digit)
+				throw new NumberFormatException("For input string: \"" + new Line(offset, length) + "\"");
+			result -= digit;
+		}
+		return negative ? result : -result;
+	}
+	
+	/** A view of one line of the file. */
+	private final class Line implements CharSequence {
+		
+		private final long offset;
+		private final int length;
+		
+		Line(final long offset, final int length) {
+			this.offset = offset;
+			this.length = length;
+		}
+		
+		@Override
+		public int length() {
+			return length;
+		}
+		
+		@Override
+		public char charAt(final int index) {
+			if(index < 0 || index >= length)
+				throw new IndexOutOfBoundsException(index);
+			return (char) (byteAt(offset + index) & 0xFF);
+		}
+		
+		@Override
+		public CharSequence subSequence(final int start, final int end) {
+			if(start < 0 || end > length || start > end)
+				throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+			return new Line(offset + start, end - start);
+		}
+		
+		@Override
+		public String toString() {
+			final byte[] bytes = new byte[length];
+			for(int i = 0; i < length; i++)
+				bytes[i] = byteAt(offset + i);
+			return new String(bytes, StandardCharsets.ISO_8859_1);
+		}
+		
+	}
+	
+}
\ No newline at end of file
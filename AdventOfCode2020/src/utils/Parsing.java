@@ -1,16 +1,23 @@
 package utils;
 
-import java.util.regex.MatchResult;
+import java.util.*;
+import java.util.function.*;
 import java.util.stream.*;
 
-import utils.math.Maths;
+import utils.colls.*;
 
+/**
+ * <p>Utilities for pulling numbers out of text. The numbers are found by a single scan over the characters, which parses each number as it goes and
+ * creates no objects per number.</p>
+ * @author Sam Hooper
+ *
+ */
 public final class Parsing {
 	
 	private Parsing() {}
 	
-	/** <p>Returns the {@code ints} in the given {@link String}. The "{@code ints} in the {@code String}" are integers in
-	 * the {@code String} that are between {@link Integer#MIN_VALUE} and {@link Integer#MAX_VALUE} (inclusive) and are separated by
+	/** <p>Returns the {@code ints} in the given {@link CharSequence}. The "{@code ints} in the {@code CharSequence}" are integers in
+	 * the {@code CharSequence} that are between {@link Integer#MIN_VALUE} and {@link Integer#MAX_VALUE} (inclusive) and are separated by
 	 * one or more non-digit (and non-negative sign) characters. The returned {@link IntStream} is ordered.</p>
 	 * 
 	 * <h1>Examples:</h1>
@@ -19,12 +26,19 @@ public final class Parsing {
 	 * <li><code>ints("1 9223372036854775807 -3")</code> returns <code>[1, -3]</code></li>
 	 * </ul>
 	 * */
-	public static IntStream ints(String input) {
-		return Regex.INTEGERS.matcher(input).results().map(MatchResult::group).filter(Maths::isint).mapToInt(Integer::parseInt);
+	public static IntStream ints(CharSequence input) {
+		return intStream(new NumberScanner(input, true, INT_DIGITS, Integer.MAX_VALUE));
 	}
 	
-	/** <p>Returns the positive {@code ints} in the given {@link String}. The "positive {@code ints} in the {@code String}" are integers in
-	 * the {@code String} that are between {@code 0} and {@link Integer#MAX_VALUE} (inclusive) and are separated by
+	/** <p>Adds the {@link #ints(CharSequence) ints in the given CharSequence} to {@code out}, in order.</p> */
+	public static void ints(CharSequence input, IntList out) {
+		NumberScanner scanner = new NumberScanner(input, true, INT_DIGITS, Integer.MAX_VALUE);
+		while(scanner.next())
+			out.add((int) scanner.value);
+	}
+	
+	/** <p>Returns the positive {@code ints} in the given {@link CharSequence}. The "positive {@code ints} in the {@code CharSequence}" are integers in
+	 * the {@code CharSequence} that are between {@code 0} and {@link Integer#MAX_VALUE} (inclusive) and are separated by
 	 * one or more non-digit characters. The returned {@link IntStream} is ordered.</p>
 	 * 
 	 * <h1>Examples:</h1>
@@ -33,12 +47,19 @@ public final class Parsing {
 	 * <li><code>ints("1 9223372036854775807 -3")</code> returns <code>[1, 3]</code></li>
 	 * </ul>
 	 * */
-	public static IntStream positiveints(String input) {
-		return Regex.DIGITS.matcher(input).results().map(MatchResult::group).filter(Maths::isint).mapToInt(Integer::parseInt);
+	public static IntStream positiveints(CharSequence input) {
+		return intStream(new NumberScanner(input, false, INT_DIGITS, Integer.MAX_VALUE));
+	}
+	
+	/** <p>Adds the {@link #positiveints(CharSequence) positive ints in the given CharSequence} to {@code out}, in order.</p> */
+	public static void positiveints(CharSequence input, IntList out) {
+		NumberScanner scanner = new NumberScanner(input, false, INT_DIGITS, Integer.MAX_VALUE);
+		while(scanner.next())
+			out.add((int) scanner.value);
 	}
 	
-	/** <p>Returns the {@code longs} in the given {@link String}. The "{@code longs} in the {@code String}" are integers in
-	 * the {@code String} that are between {@link Long#MIN_VALUE} and {@link Long#MAX_VALUE} (inclusive) and are separated by
+	/** <p>Returns the {@code longs} in the given {@link CharSequence}. The "{@code longs} in the {@code CharSequence}" are integers in
+	 * the {@code CharSequence} that are between {@link Long#MIN_VALUE} and {@link Long#MAX_VALUE} (inclusive) and are separated by
 	 * one or more non-digit (and non-negative sign) characters. The returned {@link LongStream} is ordered.</p>
 	 * 
 	 * <h1>Examples:</h1>
@@ -47,12 +68,19 @@ public final class Parsing {
 	 * <li><code>ints("1 9223372036854775807 -3")</code> returns <code>[1, 9223372036854775807, -3]</code></li>
 	 * </ul>
 	 * */
-	public static LongStream longs(String input) {
-		return Regex.INTEGERS.matcher(input).results().map(MatchResult::group).filter(Maths::islong).mapToLong(Long::parseLong);
+	public static LongStream longs(CharSequence input) {
+		return longStream(new NumberScanner(input, true, LONG_DIGITS, Long.MAX_VALUE));
 	}
 	
-	/** <p>Returns the positive {@code longs} in the given {@link String}. The "positive {@code longs} in the {@code String}" are integers in
-	 * the {@code String} that are between {@code 0} and {@link Long#MAX_VALUE} (inclusive) and are separated by
+	/** <p>Adds the {@link #longs(CharSequence) longs in the given CharSequence} to {@code out}, in order.</p> */
+	public static void longs(CharSequence input, LongList out) {
+		NumberScanner scanner = new NumberScanner(input, true, LONG_DIGITS, Long.MAX_VALUE);
+		while(scanner.next())
+			out.add(scanner.value);
+	}
+	
+	/** <p>Returns the positive {@code longs} in the given {@link CharSequence}. The "positive {@code longs} in the {@code CharSequence}" are integers in
+	 * the {@code CharSequence} that are between {@code 0} and {@link Long#MAX_VALUE} (inclusive) and are separated by
 	 * one or more non-digit characters. The returned {@link LongStream} is ordered.</p>
 	 * 
 	 * <h1>Examples:</h1>
@@ -61,8 +89,101 @@ public final class Parsing {
 	 * <li><code>ints("1 9223372036854775807 -3")</code> returns <code>[1, 9223372036854775807, 3]</code></li>
 	 * </ul>
 	 * */
-	public static LongStream positivelongs(String input) {
-		return Regex.DIGITS.matcher(input).results().map(MatchResult::group).filter(Maths::islong).mapToLong(Long::parseLong);
+	public static LongStream positivelongs(CharSequence input) {
+		return longStream(new NumberScanner(input, false, LONG_DIGITS, Long.MAX_VALUE));
+	}
+	
+	/** <p>Adds the {@link #positivelongs(CharSequence) positive longs in the given CharSequence} to {@code out}, in order.</p> */
+	public static void positivelongs(CharSequence input, LongList out) {
+		NumberScanner scanner = new NumberScanner(input, false, LONG_DIGITS, Long.MAX_VALUE);
+		while(scanner.next())
+			out.add(scanner.value);
+	}
+	
+	/** The number of characters in {@link Integer#MAX_VALUE} and {@link Long#MAX_VALUE}. A run of more digits than this is never accepted, even if
+	 * it has leading zeros, in keeping with {@link utils.math.Maths#isint(String)} and {@link utils.math.Maths#islong(String)}. */
+	private static final int INT_DIGITS = 10, LONG_DIGITS = 19;
+	private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+	
+	private static IntStream intStream(final NumberScanner scanner) {
+		return StreamSupport.intStream(new Spliterators.AbstractIntSpliterator(Long.MAX_VALUE, CHARACTERISTICS) {
+			@Override
+			public boolean tryAdvance(final IntConsumer action) {
+				if(!scanner.next())
+					return false;
+				action.accept((int) scanner.value);
+				return true;
+			}
+		}, false);
+	}
+	
+	private static LongStream longStream(final NumberScanner scanner) {
+		return StreamSupport.longStream(new Spliterators.AbstractLongSpliterator(Long.MAX_VALUE, CHARACTERISTICS) {
+			@Override
+			public boolean tryAdvance(final LongConsumer action) {
+				if(!scanner.next())
+					return false;
+				action.accept(scanner.value);
+				return true;
+			}
+		}, false);
+	}
+	
+	/**
+	 * <p>Finds the numbers in a {@link CharSequence} one at a time. A number is a maximal run of the digits {@code 0-9}; if the scanner is
+	 * {@code signed} and the run is immediately preceded by a {@code '-'}, the number is negative. (This is exactly what the regular expressions
+	 * {@code -?\d+} and {@code \d+} match.) A number is skipped if its run has more than {@code maxDigits} digits or if its value is outside of
+	 * {@code [-max - 1, max]} (or {@code [0, max]} if not {@code signed}).</p>
+	 */
+	private static final class NumberScanner {
+		
+		private final CharSequence input;
+		private final boolean signed;
+		private final int maxDigits;
+		private final long max;
+		private int pos;
+		/** The number found by the last successful call to {@link #next()}. */
+		long value;
+		
+		NumberScanner(final CharSequence input, final boolean signed, final int maxDigits, final long max) {
+			this.input = input;
+			this.signed = signed;
+			this.maxDigits = maxDigits;
+			this.max = max;
+		}
+		
+		/** Advances to the next number, storing it in {@link #value}. Returns {@code false} if there are no more numbers. */
+		boolean next() {
+			final CharSequence input = this.input;
+			final int length = input.length();
+			while(pos < length) {
+				if(!isDigit(input.charAt(pos))) {
+					pos++;
+					continue;
+				}
+				final int start = pos;
+				final boolean negative = signed && start > 0 && input.charAt(start - 1) == '-';
+				final long limit = negative ? -max - 1 : -max;
+				long result = 0; //accumulated negatively, as in Long.parseLong, so that Long.MIN_VALUE can be represented.
+				boolean inRange = true;
+				do {
+					final int digit = input.charAt(pos) - '0';
+					if(inRange && (result < limit / 10 || (result *= 10) < limit + digit))
+						inRange = false;
+					result -= digit;
+				} while(++pos < length && isDigit(input.charAt(pos)));
+				if(inRange && pos - start <= maxDigits) {
+					value = negative ? result : -result;
+					return true;
+				}
+			}
+			return false;
+		}
+		
+		private static boolean isDigit(final char c) {
+			return c >= '0' && c <= '9';
+		}
+		
 	}
 	
 }
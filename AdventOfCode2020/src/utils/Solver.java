@@ -0,0 +1,34 @@
+package utils;
+
+import java.util.ServiceLoader;
+
+/**
+ * <p>The solution to one day's puzzle. Every {@code dayN.Solution} implements this interface and is registered as a provider of it in
+ * {@code module-info.java}, so all of them can be found with a {@link ServiceLoader}.</p>
+ * <p>A {@code Solver} reads and parses its input when it is constructed. {@link #part1()} and then {@link #part2()} may each be called once;
+ * a fresh instance should be created to solve the puzzle again.</p>
+ * @author Sam Hooper
+ *
+ */
+public interface Solver {
+	
+	/** Returns the day of the puzzle this solves, from {@code 1} to {@code 25}. */
+	int day();
+	
+	/** Returns the answer to Part 1. */
+	Object part1();
+	
+	/** Returns the answer to Part 2, or {@code null} if the puzzle has no Part 2. */
+	default Object part2() {
+		return null;
+	}
+	
+	/** Prints the answer to each part of the given puzzle on its own line. */
+	static void printAnswers(final Solver solver) {
+		System.out.println(solver.part1());
+		final Object part2 = solver.part2();
+		if(part2 != null)
+			System.out.println(part2);
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package utils.colls;
+
+/**
+ * <p>Hashing and sizing helpers shared by the open-addressing collections in this package ({@link OpenHashIntSet}, {@link IntIntMap},
+ * {@link IntLongMap}, {@link LongIntMap}, {@link LongLongMap}, and {@link OpenHashLongSet}). All of them use power-of-two tables, so hashes are reduced to a slot with a mask rather than
+ * a modulus.</p>
+ * @author Sam Hooper
+ *
+ */
+final class HashCommon {
+	
+	private HashCommon() {}
+	
+	/** The largest table length any of the open-addressing collections will allocate. */
+	static final int MAX_TABLE_SIZE = 1 << 30;
+	
+	/** Scrambles the bits of {@code val} so that consecutive and patterned keys spread evenly over a power-of-two table. */
+	static int mix(final int val) {
+		final int h = val * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+	
+	/** Scrambles the bits of {@code val} so that consecutive and patterned keys spread evenly over a power-of-two table. */
+	static int mix(final long val) {
+		long h = val * 0x9E3779B97F4A7C15L;
+		h ^= h >>> 32;
+		return (int) (h ^ (h >>> 16));
+	}
+	
+	/** Returns the smallest power of two that can hold {@code expected} elements without exceeding the given load factor. */
+	static int tableSizeFor(final int expected, final float loadFactor) {
+		long needed = (long) Math.ceil(expected / loadFactor) + 1;
+		if(needed > MAX_TABLE_SIZE)
+			return MAX_TABLE_SIZE;
+		return Math.max(2, Integer.highestOneBit((int) needed - 1) << 1);
+	}
+	
+	/** Returns the number of elements a table of the given length may hold before it must grow. */
+	static int maxFill(final int tableSize, final float loadFactor) {
+		return Math.min(tableSize - 1, (int) (tableSize * loadFactor));
+	}
+	
+	/** Returns the doubled length of a table that has become full, throwing an {@link IllegalStateException} if it cannot grow any further. */
+	static int grow(final int tableSize) {
+		if(tableSize >= MAX_TABLE_SIZE)
+			throw new IllegalStateException("Cannot grow a hash table beyond " + MAX_TABLE_SIZE + " slots");
+		return tableSize << 1;
+	}
+	
+	/** Checks the arguments passed to the constructor of an open-addressing collection. */
+	static void checkArgs(final int capacity, final float loadFactor) {
+		if(capacity < 0)
+			throw new IllegalArgumentException("capacity < 0");
+		if(!(loadFactor > 0 && loadFactor < 1))
+			throw new IllegalArgumentException("loadFactor must be strictly between 0 and 1");
+	}
+	
+	/** Returns {@code true} if an element whose home slot is {@code home} may be moved from slot {@code pos} back to the emptied slot {@code last}
+	 * during backward-shift deletion. */
+	static boolean canShift(final int last, final int home, final int pos) {
+		return last <= pos ? last >= home || home > pos : last >= home && home > pos;
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,248 @@
+package utils.colls;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import utils.function.IntBiConsumer;
+
+/**
+ * <p>A map from {@code int} keys to {@code int} values backed by two parallel flat arrays using open addressing with linear probing. No objects
+ * are allocated by {@link #put(int, int)} or any of the lookup methods; the only allocation happens when the table grows.</p>
+ * <p>Like {@link OpenHashIntSet}, the table length is always a power of two, key {@code 0} marks an empty slot (the mapping for the key
+ * {@code 0} itself is stored separately), and removal uses backward-shift deletion.</p>
+ * @author Sam Hooper
+ *
+ */
+public class IntIntMap {
+
+	public static final int DEFAULT_CAPACITY = 16;
+	public static final float DEFAULT_LOAD_FACTOR = .75f;
+
+	private static final int EMPTY_KEY = 0;
+
+	private int[] keys;
+	private int[] values;
+	/** Always equal to {@code (keys.length - 1)}. */
+	private int mask;
+	/** {@code true} if this map contains a mapping for {@link #EMPTY_KEY}. That mapping is never stored in {@link #keys}. */
+	private boolean hasEmptyKey;
+	private int emptyKeyValue;
+	/** The number of mappings in this map, including the one for {@link #EMPTY_KEY} if it is present. */
+	private int size;
+	private int maxFill;
+	private final float loadFactor;
+
+	public IntIntMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @throws IllegalArgumentException if {@code (capacity < 0)}.
+	 */
+	public IntIntMap(final int capacity) {
+		this(capacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * <p>Creates an empty {@link IntIntMap} that can hold {@code capacity} mappings before it needs to grow.</p>
+	 * @throws IllegalArgumentException if {@code (capacity < 0)} or if {@code loadFactor} is not strictly between {@code 0} and {@code 1}.
+	 */
+	public IntIntMap(final int capacity, final float loadFactor) {
+		HashCommon.checkArgs(capacity, loadFactor);
+		this.loadFactor = loadFactor;
+		allocate(HashCommon.tableSizeFor(capacity, loadFactor));
+	}
+
+	private void allocate(final int tableSize) {
+		keys = new int[tableSize];
+		values = new int[tableSize];
+		mask = tableSize - 1;
+		maxFill = HashCommon.maxFill(tableSize, loadFactor);
+	}
+
+	/** Returns the slot holding {@code key}, or {@code -(insertionSlot + 1)} if {@code key} is absent. {@code key} must not be {@link #EMPTY_KEY}. */
+	private int find(final int key) {
+		int pos = HashCommon.mix(key) & mask;
+		for(int cur; (cur = keys[pos]) != EMPTY_KEY; pos = (pos + 1) & mask)
+			if(cur == key)
+				return pos;
+		return -pos - 1;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean containsKey(final int key) {
+		return key == EMPTY_KEY ? hasEmptyKey : find(key) >= 0;
+	}
+
+	/** Returns the value mapped to {@code key}, or {@code defaultValue} if there is no such mapping. */
+	public int getOrDefault(final int key, final int defaultValue) {
+		if(key == EMPTY_KEY)
+			return hasEmptyKey ? emptyKeyValue : defaultValue;
+		final int pos = find(key);
+		return pos >= 0 ? values[pos] : defaultValue;
+	}
+
+	/** Maps {@code key} to {@code value}. Returns {@code true} if there was no previous mapping for {@code key}, {@code false} if one was replaced. */
+	public boolean put(final int key, final int value) {
+		if(key == EMPTY_KEY) {
+			final boolean added = !hasEmptyKey;
+			if(added) {
+				hasEmptyKey = true;
+				size++;
+			}
+			emptyKeyValue = value;
+			return added;
+		}
+		final int pos = find(key);
+		if(pos >= 0) {
+			values[pos] = value;
+			return false;
+		}
+		insertAt(-pos - 1, key, value);
+		return true;
+	}
+
+	/** Maps {@code key} to {@code value}, returning the value {@code key} was previously mapped to, or {@code defaultValue} if it was not mapped.
+	 * This only probes the table once, so it is faster than a {@link #getOrDefault(int, int)} followed by a {@link #put(int, int)}. */
+	public int getAndPut(final int key, final int value, final int defaultValue) {
+		if(key == EMPTY_KEY) {
+			final int old = hasEmptyKey ? emptyKeyValue : defaultValue;
+			if(!hasEmptyKey) {
+				hasEmptyKey = true;
+				size++;
+			}
+			emptyKeyValue = value;
+			return old;
+		}
+		final int pos = find(key);
+		if(pos >= 0) {
+			final int old = values[pos];
+			values[pos] = value;
+			return old;
+		}
+		insertAt(-pos - 1, key, value);
+		return defaultValue;
+	}
+
+	/** Adds {@code increment} to the value mapped to {@code key}, treating an absent mapping as {@code 0}. Returns the new value. */
+	public int addTo(final int key, final int increment) {
+		if(key == EMPTY_KEY) {
+			if(!hasEmptyKey) {
+				hasEmptyKey = true;
+				size++;
+			}
+			return emptyKeyValue += increment;
+		}
+		final int pos = find(key);
+		if(pos >= 0)
+			return values[pos] += increment;
+		insertAt(-pos - 1, key, increment);
+		return increment;
+	}
+
+	private void insertAt(final int pos, final int key, final int value) {
+		keys[pos] = key;
+		values[pos] = value;
+		if(++size - (hasEmptyKey ? 1 : 0) > maxFill)
+			rehash(HashCommon.grow(keys.length));
+	}
+
+	private void rehash(final int newTableSize) {
+		final int[] oldKeys = keys, oldValues = values;
+		allocate(newTableSize);
+		for(int i = 0; i < oldKeys.length; i++) {
+			final int key = oldKeys[i];
+			if(key == EMPTY_KEY)
+				continue;
+			int pos = HashCommon.mix(key) & mask;
+			while(keys[pos] != EMPTY_KEY)
+				pos = (pos + 1) & mask;
+			keys[pos] = key;
+			values[pos] = oldValues[i];
+		}
+	}
+
+	/** Removes the mapping for {@code key}. Returns {@code true} if there was such a mapping, {@code false} otherwise. */
+	public boolean remove(final int key) {
+		if(key == EMPTY_KEY) {
+			if(!hasEmptyKey)
+				return false;
+			hasEmptyKey = false;
+			emptyKeyValue = 0;
+			size--;
+			return true;
+		}
+		final int pos = find(key);
+		if(pos < 0)
+			return false;
+		shiftKeys(pos);
+		size--;
+		return true;
+	}
+
+	/** Empties the slot at {@code pos}, moving later entries of the same probe run backward so that every key stays reachable. */
+	private void shiftKeys(int pos) {
+		for(;;) {
+			final int last = pos;
+			int cur;
+			for(;;) {
+				pos = (pos + 1) & mask;
+				if((cur = keys[pos]) == EMPTY_KEY) {
+					keys[last] = EMPTY_KEY;
+					values[last] = 0;
+					return;
+				}
+				if(HashCommon.canShift(last, HashCommon.mix(cur) & mask, pos))
+					break;
+			}
+			keys[last] = cur;
+			values[last] = values[pos];
+		}
+	}
+
+	public void clear() {
+		if(size == 0)
+			return;
+		Arrays.fill(keys, EMPTY_KEY);
+		Arrays.fill(values, 0);
+		hasEmptyKey = false;
+		emptyKeyValue = 0;
+		size = 0;
+	}
+
+	/** Passes every key and its value to {@code action}, in no particular order. */
+	public void forEach(final IntBiConsumer action) {
+		if(hasEmptyKey)
+			action.acceptInts(EMPTY_KEY, emptyKeyValue);
+		for(int i = 0; i < keys.length; i++)
+			if(keys[i] != EMPTY_KEY)
+				action.acceptInts(keys[i], values[i]);
+	}
+
+	/** Returns the values in this map, in no particular order. */
+	public IntStream values() {
+		final int[] result = new int[size];
+		int index = 0;
+		if(hasEmptyKey)
+			result[index++] = emptyKeyValue;
+		for(int i = 0; i < keys.length; i++)
+			if(keys[i] != EMPTY_KEY)
+				result[index++] = values[i];
+		return Arrays.stream(result);
+	}
+
+	@Override
+	public String toString() {
+		StringJoiner j = new StringJoiner(", ", "{", "}");
+		forEach((k, v) -> j.add(k + "=" + v));
+		return j.toString();
+	}
+
+}
\ No newline at end of file
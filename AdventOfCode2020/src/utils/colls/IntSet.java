@@ -10,7 +10,7 @@ import java.util.stream.IntStream;
  */
 public interface IntSet extends Set<Integer> {
 	
-	IntSet EMPTY = unmodifiable(new HashIntSet(0));
+	IntSet EMPTY = unmodifiable(new OpenHashIntSet(0));
 	
 	public static IntSet unmodifiable(final IntSet set) {
 		return new IntSet() {
@@ -151,7 +151,7 @@ public interface IntSet extends Set<Integer> {
 	}
 	
 	public static IntSet of(int... items) {
-		HashIntSet hash = new HashIntSet();
+		OpenHashIntSet hash = new OpenHashIntSet();
 		hash.addAll(items);
 		return unmodifiable(hash);
 	}
@@ -161,12 +161,12 @@ public interface IntSet extends Set<Integer> {
 	}
 	
 	public static IntSet from(final IntStream stream) {
-		return stream.collect(HashIntSet::new, HashIntSet::add, HashIntSet::addAll);
+		return stream.collect(OpenHashIntSet::new, OpenHashIntSet::add, OpenHashIntSet::addAll);
 	}
 	
 	/**The returned {@link IntSet} is modifiable, but its type is unspecified.*/
 	public static IntSet union(IntSet a, IntSet b) {
-		IntSet union = new HashIntSet(Math.max(a.size(), b.size()));
+		IntSet union = new OpenHashIntSet(Math.max(a.size(), b.size()));
 		union.addAll(a);
 		union.addAll(b);
 		return union;
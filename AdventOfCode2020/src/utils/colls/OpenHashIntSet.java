@@ -0,0 +1,275 @@
+package utils.colls;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * <p>An {@link IntSet} backed by a single flat {@code int[]} using open addressing with linear probing. Unlike {@link HashIntSet}, adding an
+ * element never allocates an object; the only allocation happens when the table grows.</p>
+ * <p>The capacity of the table is always a power of two. Empty slots hold {@link #EMPTY_SLOT}; whether the set contains that value itself
+ * is tracked separately. Removal uses backward-shift deletion, so there are no tombstones and lookups never degrade after many removals.</p>
+ * @author Sam Hooper
+ *
+ */
+public class OpenHashIntSet implements IntSet {
+
+	public static final int DEFAULT_CAPACITY = 16;
+	public static final float DEFAULT_LOAD_FACTOR = .75f;
+
+	/** The value stored in unused slots of {@link #table}. */
+	static final int EMPTY_SLOT = 0;
+
+	private int[] table;
+	/** Always equal to {@code (table.length - 1)}. */
+	private int mask;
+	/** {@code true} if this set contains {@link #EMPTY_SLOT}. That value is never stored in {@link #table}. */
+	private boolean containsEmptySlotValue;
+	/** The number of elements in this set, including {@link #EMPTY_SLOT} if it is present. */
+	private int size;
+	/** The number of elements {@link #table} can hold before it must grow. */
+	private int maxFill;
+	private final float loadFactor;
+
+	public OpenHashIntSet() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @throws IllegalArgumentException if {@code (capacity < 0)}.
+	 */
+	public OpenHashIntSet(final int capacity) {
+		this(capacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * <p>Creates an empty {@link OpenHashIntSet} that can hold {@code capacity} elements before it needs to grow.</p>
+	 * @throws IllegalArgumentException if {@code (capacity < 0)} or if {@code loadFactor} is not strictly between {@code 0} and {@code 1}.
+	 */
+	public OpenHashIntSet(final int capacity, final float loadFactor) {
+		HashCommon.checkArgs(capacity, loadFactor);
+		this.loadFactor = loadFactor;
+		allocate(HashCommon.tableSizeFor(capacity, loadFactor));
+	}
+
+	public OpenHashIntSet(final IntSet copyFrom) {
+		this(copyFrom.size());
+		addAll(copyFrom);
+	}
+
+	private void allocate(final int tableSize) {
+		table = new int[tableSize];
+		mask = tableSize - 1;
+		maxFill = HashCommon.maxFill(tableSize, loadFactor);
+	}
+
+	@Override
+	public boolean add(final int val) {
+		if(val == EMPTY_SLOT) {
+			if(containsEmptySlotValue)
+				return false;
+			containsEmptySlotValue = true;
+			size++;
+			return true;
+		}
+		int pos = HashCommon.mix(val) & mask;
+		for(int cur; (cur = table[pos]) != EMPTY_SLOT; pos = (pos + 1) & mask)
+			if(cur == val)
+				return false;
+		table[pos] = val;
+		if(++size - (containsEmptySlotValue ? 1 : 0) > maxFill)
+			rehash(HashCommon.grow(table.length));
+		return true;
+	}
+
+	private void rehash(final int newTableSize) {
+		final int[] oldTable = table;
+		allocate(newTableSize);
+		for(int val : oldTable) {
+			if(val == EMPTY_SLOT)
+				continue;
+			int pos = HashCommon.mix(val) & mask;
+			while(table[pos] != EMPTY_SLOT)
+				pos = (pos + 1) & mask;
+			table[pos] = val;
+		}
+	}
+
+	@Override
+	public boolean contains(final int val) {
+		if(val == EMPTY_SLOT)
+			return containsEmptySlotValue;
+		for(int pos = HashCommon.mix(val) & mask, cur; (cur = table[pos]) != EMPTY_SLOT; pos = (pos + 1) & mask)
+			if(cur == val)
+				return true;
+		return false;
+	}
+
+	@Override
+	public boolean remove(final int val) {
+		if(val == EMPTY_SLOT) {
+			if(!containsEmptySlotValue)
+				return false;
+			containsEmptySlotValue = false;
+			size--;
+			return true;
+		}
+		for(int pos = HashCommon.mix(val) & mask, cur; (cur = table[pos]) != EMPTY_SLOT; pos = (pos + 1) & mask) {
+			if(cur == val) {
+				shiftKeys(pos, null);
+				size--;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * <p>Empties the slot at {@code pos} and moves later elements of the same probe run backward so that every element stays reachable from its
+	 * home slot. If {@code wrapped} is not {@code null}, every element moved from a lower index to a higher index (that is, one that wrapped around the
+	 * end of the table) is appended to it; {@link #iterator()} uses this to avoid missing such elements.</p>
+	 */
+	private void shiftKeys(int pos, final IntList wrapped) {
+		for(;;) {
+			final int last = pos;
+			int cur;
+			for(;;) {
+				pos = (pos + 1) & mask;
+				if((cur = table[pos]) == EMPTY_SLOT) {
+					table[last] = EMPTY_SLOT;
+					return;
+				}
+				if(HashCommon.canShift(last, HashCommon.mix(cur) & mask, pos))
+					break;
+			}
+			if(wrapped != null && pos < last)
+				wrapped.add(cur);
+			table[last] = cur;
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		if(size == 0)
+			return;
+		Arrays.fill(table, EMPTY_SLOT);
+		containsEmptySlotValue = false;
+		size = 0;
+	}
+
+	@Override
+	public void forEachInt(final IntConsumer action) {
+		if(containsEmptySlotValue)
+			action.accept(EMPTY_SLOT);
+		for(int i = table.length - 1; i >= 0; i--)
+			if(table[i] != EMPTY_SLOT)
+				action.accept(table[i]);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <b>All behavior of the returned {@link Iterator} is undefined if this {@link OpenHashIntSet} is modified in any way after this method is invoked,
+	 * except through the iterator's own methods.</b>
+	 */
+	@Override
+	public PrimitiveIterator.OfInt iterator() {
+		return new PrimitiveIterator.OfInt() {
+			/** The slots are visited from the highest index down so that backward shifts caused by {@link #remove()} only move elements
+			 * that have already been returned, with the exception of those that wrap around the end of the table (see {@link #wrapped}). */
+			int pos = table.length;
+			/** The number of elements left to return. */
+			int remaining = size;
+			/** {@code true} if {@link OpenHashIntSet#EMPTY_SLOT} has yet to be returned. */
+			boolean mustReturnEmptySlotValue = containsEmptySlotValue;
+			/** Elements that were moved past {@link #pos} by a removal and so must be returned separately. Lazily created. */
+			IntList wrapped;
+			/** The slot of the last element returned, {@code -1} if it came from {@link #wrapped} or if there is no such element. */
+			int last = -1;
+			int lastValue;
+			boolean canRemove;
+
+			@Override
+			public boolean hasNext() {
+				return remaining > 0;
+			}
+
+			@Override
+			public int nextInt() {
+				if(remaining == 0)
+					throw new NoSuchElementException();
+				remaining--;
+				canRemove = true;
+				if(mustReturnEmptySlotValue) {
+					mustReturnEmptySlotValue = false;
+					last = -1;
+					return lastValue = EMPTY_SLOT;
+				}
+				for(;;) {
+					if(--pos < 0) {
+						last = -1;
+						return lastValue = wrapped.get(-pos - 1);
+					}
+					if(table[pos] != EMPTY_SLOT)
+						return lastValue = table[last = pos];
+				}
+			}
+
+			@Override
+			public void remove() {
+				if(!canRemove)
+					throw new IllegalStateException();
+				canRemove = false;
+				if(last >= 0) {
+					if(wrapped == null)
+						wrapped = new IntList(2);
+					shiftKeys(last, wrapped);
+					size--;
+				}
+				else {
+					OpenHashIntSet.this.remove(lastValue);
+				}
+			}
+
+		};
+	}
+
+	@Override
+	public String toString() {
+		StringJoiner j = new StringJoiner(", ", "[", "]");
+		forEachInt(i -> j.add(Integer.toString(i)));
+		return j.toString();
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		return o instanceof Integer && remove(((Integer) o).intValue());
+	}
+
+	@Override
+	public int hashCode() {
+		int sum = 0;
+		for(int val : table)
+			sum += val;
+		return sum;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if(this == o)
+			return true;
+		if(!(o instanceof IntSet))
+			return false;
+		IntSet set = (IntSet) o;
+		return size() == set.size() && containsAll(set);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,184 @@
+package utils.colls;
+
+import java.util.*;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * <p>A set of {@code longs} backed by a single flat {@code long[]} using open addressing with linear probing, in the same way as
+ * {@link OpenHashIntSet}. It is meant for packed keys (such as several small coordinates combined into one {@code long}), so unlike
+ * {@link IntSet} it does not implement {@link Set}; elements are only ever handled as primitives.</p>
+ * @author Sam Hooper
+ *
+ */
+public class OpenHashLongSet {
+
+	public static final int DEFAULT_CAPACITY = 16;
+	public static final float DEFAULT_LOAD_FACTOR = .75f;
+
+	private static final long EMPTY_SLOT = 0;
+
+	private long[] table;
+	/** Always equal to {@code (table.length - 1)}. */
+	private int mask;
+	/** {@code true} if this set contains {@link #EMPTY_SLOT}. That value is never stored in {@link #table}. */
+	private boolean containsEmptySlotValue;
+	/** The number of elements in this set, including {@link #EMPTY_SLOT} if it is present. */
+	private int size;
+	private int maxFill;
+	private final float loadFactor;
+
+	public OpenHashLongSet() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @throws IllegalArgumentException if {@code (capacity < 0)}.
+	 */
+	public OpenHashLongSet(final int capacity) {
+		this(capacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * <p>Creates an empty {@link OpenHashLongSet} that can hold {@code capacity} elements before it needs to grow.</p>
+	 * @throws IllegalArgumentException if {@code (capacity < 0)} or if {@code loadFactor} is not strictly between {@code 0} and {@code 1}.
+	 */
+	public OpenHashLongSet(final int capacity, final float loadFactor) {
+		HashCommon.checkArgs(capacity, loadFactor);
+		this.loadFactor = loadFactor;
+		allocate(HashCommon.tableSizeFor(capacity, loadFactor));
+	}
+
+	private void allocate(final int tableSize) {
+		table = new long[tableSize];
+		mask = tableSize - 1;
+		maxFill = HashCommon.maxFill(tableSize, loadFactor);
+	}
+
+	/** Returns {@code true} if {@code val} was added, {@code false} if it was already present. */
+	public boolean add(final long val) {
+		if(val == EMPTY_SLOT) {
+			if(containsEmptySlotValue)
+				return false;
+			containsEmptySlotValue = true;
+			size++;
+			return true;
+		}
+		int pos = HashCommon.mix(val) & mask;
+		for(long cur; (cur = table[pos]) != EMPTY_SLOT; pos = (pos + 1) & mask)
+			if(cur == val)
+				return false;
+		table[pos] = val;
+		if(++size - (containsEmptySlotValue ? 1 : 0) > maxFill)
+			rehash(HashCommon.grow(table.length));
+		return true;
+	}
+
+	private void rehash(final int newTableSize) {
+		final long[] oldTable = table;
+		allocate(newTableSize);
+		for(long val : oldTable) {
+			if(val == EMPTY_SLOT)
+				continue;
+			int pos = HashCommon.mix(val) & mask;
+			while(table[pos] != EMPTY_SLOT)
+				pos = (pos + 1) & mask;
+			table[pos] = val;
+		}
+	}
+
+	public boolean contains(final long val) {
+		if(val == EMPTY_SLOT)
+			return containsEmptySlotValue;
+		for(int pos = HashCommon.mix(val) & mask; table[pos] != EMPTY_SLOT; pos = (pos + 1) & mask)
+			if(table[pos] == val)
+				return true;
+		return false;
+	}
+
+	/** Returns {@code true} if {@code val} was present and has been removed, {@code false} otherwise. */
+	public boolean remove(final long val) {
+		if(val == EMPTY_SLOT) {
+			if(!containsEmptySlotValue)
+				return false;
+			containsEmptySlotValue = false;
+			size--;
+			return true;
+		}
+		for(int pos = HashCommon.mix(val) & mask; table[pos] != EMPTY_SLOT; pos = (pos + 1) & mask) {
+			if(table[pos] == val) {
+				shiftKeys(pos);
+				size--;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** Empties the slot at {@code pos}, moving later elements of the same probe run backward so that every element stays reachable. */
+	private void shiftKeys(int pos) {
+		for(;;) {
+			final int last = pos;
+			long cur;
+			for(;;) {
+				pos = (pos + 1) & mask;
+				if((cur = table[pos]) == EMPTY_SLOT) {
+					table[last] = EMPTY_SLOT;
+					return;
+				}
+				if(HashCommon.canShift(last, HashCommon.mix(cur) & mask, pos))
+					break;
+			}
+			table[last] = cur;
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public void clear() {
+		if(size == 0)
+			return;
+		Arrays.fill(table, EMPTY_SLOT);
+		containsEmptySlotValue = false;
+		size = 0;
+	}
+
+	/** Passes every element to {@code action}, in no particular order. */
+	public void forEach(final LongConsumer action) {
+		if(containsEmptySlotValue)
+			action.accept(EMPTY_SLOT);
+		for(long val : table)
+			if(val != EMPTY_SLOT)
+				action.accept(val);
+	}
+
+	/** Returns a freshly allocated array containing the elements of this set, in no particular order. */
+	public long[] toArray() {
+		final long[] result = new long[size];
+		int index = 0;
+		if(containsEmptySlotValue)
+			result[index++] = EMPTY_SLOT;
+		for(long val : table)
+			if(val != EMPTY_SLOT)
+				result[index++] = val;
+		return result;
+	}
+
+	public LongStream stream() {
+		return Arrays.stream(toArray());
+	}
+
+	@Override
+	public String toString() {
+		StringJoiner j = new StringJoiner(", ", "[", "]");
+		forEach(val -> j.add(Long.toString(val)));
+		return j.toString();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package utils.function;
+
+import java.util.function.BiConsumer;
+
+/**
+ * <p>A {@link BiConsumer} specialized to accept an {@code int} and a {@code long}. The functional method is {@link #acceptIntLong(int, long)}.</p>
+ * @author Sam Hooper
+ *
+ */
+@FunctionalInterface
+public interface IntLongConsumer extends BiConsumer<Integer, Long> {
+	
+	void acceptIntLong(int a, long b);
+	
+	@Override
+	default void accept(Integer a, Long b) {
+		acceptIntLong(a, b);
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package utils.function;
+
+import java.util.function.BiConsumer;
+
+/**
+ * <p>A {@link BiConsumer} specialized to accept two {@code longs}. The functional method is {@link #acceptLongs(long, long)}.</p>
+ * @author Sam Hooper
+ *
+ */
+@FunctionalInterface
+public interface LongBiConsumer extends BiConsumer<Long, Long> {
+	
+	void acceptLongs(long a, long b);
+	
+	@Override
+	default void accept(Long a, Long b) {
+		acceptLongs(a, b);
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package utils.function;
+
+import java.util.function.BiConsumer;
+
+/**
+ * <p>A {@link BiConsumer} specialized to accept a {@code long} and an {@code int}. The functional method is {@link #acceptLongInt(long, int)}.</p>
+ * @author Sam Hooper
+ *
+ */
+@FunctionalInterface
+public interface LongIntConsumer extends BiConsumer<Long, Integer> {
+	
+	void acceptLongInt(long a, int b);
+	
+	@Override
+	default void accept(Long a, Integer b) {
+		acceptLongInt(a, b);
+	}
+	
+}
\ No newline at end of file